@@ -0,0 +1,71 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingDtoWithBookerId;
+import ru.practicum.shareit.booking.dto.BookingShort;
+import ru.practicum.shareit.booking.dto.InputBookingDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.service.BookingMapper;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BookingMapperBenchmark {
+    @Param({"100"})
+    private int pageSize;
+
+    private List<Booking> page;
+    private List<BookingShort> shorts;
+    private Map<Long, Item> itemsById;
+    private List<InputBookingDto> inputs;
+
+    @Setup
+    public void setUp() {
+        SyntheticData data = new SyntheticData(100, 1000, pageSize * 10, 0);
+        page = data.bookings.subList(0, pageSize);
+        shorts = data.lastBookings.subList(0, Math.min(pageSize, data.lastBookings.size()));
+        itemsById = data.items.stream().collect(Collectors.toMap(Item::getId, Function.identity()));
+        inputs = page.stream()
+                .map(booking -> new InputBookingDto(booking.getStart(), booking.getEnd(), booking.getItem().getId()))
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<BookingDto> toBookingDto() {
+        return page.stream()
+                .map(BookingMapper::toBookingDto)
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<BookingDtoWithBookerId> toBookingDtoWithBookerId() {
+        return page.stream()
+                .map(BookingMapper::toBookingDtoWithBookerID)
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<BookingDtoWithBookerId> shortToBookingDtoWithBookerId() {
+        return shorts.stream()
+                .map(booking -> BookingMapper.toBookingDtoWithBookerID(booking, itemsById.get(booking.getItemId())))
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<Booking> toBooking() {
+        return inputs.stream()
+                .map(input -> BookingMapper.toBooking(input, itemsById.get(input.getItemId()), null))
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,92 @@
+package ru.practicum.shareit.benchmark;
+
+import org.h2.tools.Server;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// one operation saves `rows` users and an item of each in one transaction; H2 runs behind its TCP server,
+// in-process every statement would be a plain method call and there would be no round trips to save
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BulkSeedBenchmark {
+    @Param({"1", "50"})
+    private int allocationSize;
+
+    @Param({"1", "50"})
+    private int batchSize;
+
+    @Param({"500"})
+    private int rows;
+
+    private Server database;
+    private ConfigurableApplicationContext context;
+    private TransactionTemplate transactionTemplate;
+    private UserRepository userRepository;
+    private ItemRepository itemRepository;
+    private final AtomicLong counter = new AtomicLong();
+
+    @Setup
+    public void setUp() throws SQLException {
+        database = Server.createTcpServer("-tcpPort", "0", "-ifNotExists").start();
+        // arguments, not builder properties, the test profile would override those
+        context = new SpringApplicationBuilder(ShareItServer.class)
+                .profiles("test")
+                .web(WebApplicationType.NONE)
+                .run(
+                        "--spring.datasource.url=jdbc:h2:" + database.getURL() + "/mem:seed",
+                        "--shareit.id.allocation-size=" + allocationSize,
+                        "--spring.jpa.properties.hibernate.jdbc.batch_size=" + batchSize,
+                        "--logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=warn"
+                );
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        userRepository = context.getBean(UserRepository.class);
+        itemRepository = context.getBean(ItemRepository.class);
+    }
+
+    @TearDown(Level.Iteration)
+    public void cleanUp() {
+        itemRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+        database.stop();
+    }
+
+    @Benchmark
+    public int seed() {
+        return transactionTemplate.execute(status -> {
+            List<User> users = new ArrayList<>(rows);
+            List<Item> items = new ArrayList<>(rows);
+            for (int i = 0; i < rows; i++) {
+                long n = counter.getAndIncrement();
+                User user = new User(null, "user " + n, "user" + n + "@shareit.ru");
+                users.add(user);
+                items.add(new Item(null, "item " + n, "seeded", true, user, null));
+            }
+            userRepository.saveAll(users);
+            return itemRepository.saveAll(items).size();
+        });
+    }
+}
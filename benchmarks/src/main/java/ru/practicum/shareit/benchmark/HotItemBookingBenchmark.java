@@ -0,0 +1,84 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.booking.dto.InputBookingDto;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.exception.ConflictException;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// every two consecutive operations book and approve the same period of one item, so half of the approvals conflict
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(8)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HotItemBookingBenchmark {
+    @Param({"16"})
+    private int bookerCount;
+
+    private ConfigurableApplicationContext context;
+    private BookingService bookingService;
+    private long ownerId;
+    private long itemId;
+    private List<Long> bookerIds;
+    private LocalDateTime start;
+    private final AtomicLong counter = new AtomicLong();
+    private final AtomicLong conflicts = new AtomicLong();
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(ShareItServer.class)
+                .profiles("test")
+                .web(WebApplicationType.NONE)
+                .run();
+        bookingService = context.getBean(BookingService.class);
+        UserService userService = context.getBean(UserService.class);
+        ItemService itemService = context.getBean(ItemService.class);
+
+        ownerId = userService.addUser(new UserDto(null, "owner", "owner@shareit.ru")).getId();
+        itemId = itemService.createItem(ownerId, new ItemDto(null, "hot item", "everybody wants it", true, null, null))
+                .getId();
+        bookerIds = new ArrayList<>(bookerCount);
+        for (int i = 0; i < bookerCount; i++) {
+            bookerIds.add(userService.addUser(new UserDto(null, "booker" + i, "booker" + i + "@shareit.ru")).getId());
+        }
+        start = LocalDateTime.now().plusDays(1);
+    }
+
+    @TearDown
+    public void tearDown() {
+        System.out.printf("%nconflicts: %d of %d operations%n", conflicts.get(), counter.get());
+        context.close();
+    }
+
+    @Benchmark
+    public boolean bookAndApprove() {
+        long op = counter.getAndIncrement();
+        LocalDateTime periodStart = start.plusHours(op / 2);
+        long bookerId = bookerIds.get((int) (op % bookerCount));
+        try {
+            long bookingId = bookingService.addBooking(bookerId,
+                    new InputBookingDto(periodStart, periodStart.plusMinutes(30), itemId)).getId();
+            bookingService.changeBookingStatus(ownerId, bookingId, true);
+            return true;
+        } catch (ConflictException e) {
+            conflicts.incrementAndGet();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package ru.practicum.shareit.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import ru.practicum.shareit.item.dto.ItemDtoWithBookingsAndComments;
+import ru.practicum.shareit.item.service.ItemMapper;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// the owner listing response body, serialised the way the server's message converter does it
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ItemDtoSerializationBenchmark {
+    @Param({"10", "100"})
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+    private List<ItemDtoWithBookingsAndComments> page;
+
+    @Setup
+    public void setUp() {
+        SyntheticData data = new SyntheticData(100, 1000, 50000, 5000);
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        page = ItemMapper.toItemDtoWithBookingsAndCommentsList(data.items.subList(0, pageSize), data.comments,
+                data.lastBookings, data.nextBookings);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+}
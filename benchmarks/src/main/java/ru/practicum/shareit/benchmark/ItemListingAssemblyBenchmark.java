@@ -0,0 +1,90 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import ru.practicum.shareit.booking.dto.BookingDtoWithBookerId;
+import ru.practicum.shareit.booking.dto.BookingShort;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.service.BookingMapper;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemDtoWithBookingsAndComments;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.service.CommentMapper;
+import ru.practicum.shareit.item.service.ItemMapper;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ItemListingAssemblyBenchmark {
+    @Param({"1000"})
+    private int itemCount;
+    @Param({"50000"})
+    private int bookingCount;
+    @Param({"5000"})
+    private int commentCount;
+
+    private List<Item> items;
+    private List<Comment> comments;
+    private List<Booking> bookings;
+    private List<BookingShort> lastBookings;
+    private List<BookingShort> nextBookings;
+    private LocalDateTime now;
+
+    @Setup
+    public void setUp() {
+        SyntheticData data = new SyntheticData(100, itemCount, bookingCount, commentCount);
+        items = data.items;
+        comments = data.comments;
+        bookings = data.bookings;
+        lastBookings = data.lastBookings;
+        nextBookings = data.nextBookings;
+        now = SyntheticData.NOW;
+    }
+
+    @Benchmark
+    public List<ItemDtoWithBookingsAndComments> projected() {
+        return ItemMapper.toItemDtoWithBookingsAndCommentsList(items, comments, lastBookings, nextBookings);
+    }
+
+    @Benchmark
+    public List<ItemDtoWithBookingsAndComments> nestedScan() {
+        List<ItemDtoWithBookingsAndComments> resultList = new ArrayList<>();
+        for (Item item : items) {
+            List<CommentDto> commentDtos = new ArrayList<>();
+            for (Comment comment : comments) {
+                if (comment.getItem().equals(item)) {
+                    commentDtos.add(CommentMapper.toCommentDto(comment));
+                }
+            }
+            List<Booking> pastOrCurrentBooking = bookings.stream()
+                    .filter(booking -> booking.getItem().equals(item))
+                    .filter(booking -> booking.getStart().isBefore(now))
+                    .limit(1)
+                    .collect(Collectors.toList());
+            BookingDtoWithBookerId lastBooking = null;
+            if (pastOrCurrentBooking.size() != 0) {
+                lastBooking = BookingMapper.toBookingDtoWithBookerID(pastOrCurrentBooking.get(0));
+            }
+            List<Booking> futureBooking = bookings.stream()
+                    .filter(booking -> booking.getItem().equals(item))
+                    .filter(booking -> booking.getStart().isAfter(now))
+                    .limit(1)
+                    .collect(Collectors.toList());
+            BookingDtoWithBookerId nextBooking = null;
+            if (futureBooking.size() != 0) {
+                nextBooking = BookingMapper.toBookingDtoWithBookerID(futureBooking.get(0));
+            }
+            resultList.add(ItemMapper.toItemDtoWithBookingsAndComments(item, commentDtos, lastBooking, nextBooking));
+        }
+        return resultList;
+    }
+}
@@ -0,0 +1,62 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemDtoForRequests;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.service.ItemMapper;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserMapper;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ItemMapperBenchmark {
+    @Param({"100"})
+    private int pageSize;
+
+    private List<Item> page;
+    private List<ItemDto> dtos;
+    private List<Item> requestedItems;
+
+    @Setup
+    public void setUp() {
+        SyntheticData data = new SyntheticData(100, pageSize * 10, 0, 0);
+        page = data.items.subList(0, pageSize);
+        dtos = page.stream().map(ItemMapper::itemToDto).collect(Collectors.toList());
+        requestedItems = data.itemsForRequests();
+    }
+
+    @Benchmark
+    public List<ItemDto> itemToDto() {
+        return page.stream()
+                .map(ItemMapper::itemToDto)
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<Item> toItem() {
+        return dtos.stream()
+                .map(dto -> ItemMapper.toItem(dto, dto.getOwner(), null))
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<ItemDtoForRequests> toItemDtoForRequestsList() {
+        return ItemMapper.toItemDtoForRequestsList(requestedItems);
+    }
+
+    @Benchmark
+    public List<UserDto> ownerToUserDto() {
+        return page.stream()
+                .map(item -> UserMapper.toUserDto(item.getOwner()))
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,52 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import ru.practicum.shareit.item.dto.ItemDtoForRequests;
+import ru.practicum.shareit.item.service.ItemMapper;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.dto.ItemRequestDtoWithItems;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.service.ItemRequestMapper;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ItemRequestMapperBenchmark {
+    @Param({"100"})
+    private int pageSize;
+
+    private List<ItemRequest> page;
+    private Map<Long, List<ItemDtoForRequests>> itemsByRequestId;
+
+    @Setup
+    public void setUp() {
+        SyntheticData data = new SyntheticData(100, pageSize * 4, 0, 0);
+        page = data.requests.subList(0, pageSize);
+        itemsByRequestId = data.itemsForRequests().stream()
+                .map(ItemMapper::toItemDtoForRequests)
+                .collect(Collectors.groupingBy(ItemDtoForRequests::getRequestId));
+    }
+
+    @Benchmark
+    public List<ItemRequestDto> itemRequestToDto() {
+        return page.stream()
+                .map(ItemRequestMapper::itemRequestToDto)
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<ItemRequestDtoWithItems> itemRequestToDtoWithItems() {
+        return page.stream()
+                .map(request -> ItemRequestMapper.itemRequestToDtoWithItems(request,
+                        itemsByRequestId.getOrDefault(request.getId(), List.of())))
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,99 @@
+package ru.practicum.shareit.benchmark;
+
+import ru.practicum.shareit.booking.dto.BookingShort;
+import ru.practicum.shareit.booking.dto.BookingStatus;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+// seeded, so every fork and every release benchmarks the same data
+public class SyntheticData {
+    public static final LocalDateTime NOW = LocalDateTime.of(2022, 11, 1, 12, 0);
+
+    public final List<User> users;
+    public final List<ItemRequest> requests;
+    public final List<Item> items;
+    public final List<Booking> bookings;
+    public final List<Comment> comments;
+    public final List<BookingShort> lastBookings;
+    public final List<BookingShort> nextBookings;
+
+    public SyntheticData(int userCount, int itemCount, int bookingCount, int commentCount) {
+        Random random = new Random(42);
+
+        users = new ArrayList<>(userCount);
+        for (long i = 1; i <= userCount; i++) {
+            users.add(new User(i, "user " + i, "user" + i + "@shareit.ru"));
+        }
+        requests = new ArrayList<>(itemCount / 4);
+        for (long i = 1; i <= itemCount / 4; i++) {
+            requests.add(new ItemRequest(i, "looking for thing " + i, randomOf(users, random),
+                    NOW.minusHours(random.nextInt(24 * 365))));
+        }
+        items = new ArrayList<>(itemCount);
+        for (long i = 1; i <= itemCount; i++) {
+            ItemRequest request = random.nextInt(4) == 0 && !requests.isEmpty() ? randomOf(requests, random) : null;
+            items.add(new Item(i, "item " + i, "description of item " + i, random.nextInt(10) != 0,
+                    randomOf(users, random), request));
+        }
+        comments = new ArrayList<>(commentCount);
+        for (long i = 1; i <= commentCount; i++) {
+            comments.add(new Comment(i, "comment " + i, randomOf(items, random), randomOf(users, random),
+                    NOW.minusDays(random.nextInt(365))));
+        }
+        bookings = new ArrayList<>(bookingCount);
+        for (long i = 1; i <= bookingCount; i++) {
+            LocalDateTime start = NOW.plusHours(random.nextInt(24 * 365 * 2) - 24 * 365);
+            bookings.add(new Booking(i, start, start.plusHours(1 + random.nextInt(72)), randomOf(items, random),
+                    randomOf(users, random), BookingStatus.values()[random.nextInt(BookingStatus.values().length)]));
+        }
+        bookings.sort(Comparator.comparing(Booking::getEnd));
+
+        // what BookingRepository.findLastBookingsByItemIds / findNextBookingsByItemIds return for the same data
+        Map<Long, Booking> lastByItemId = new HashMap<>();
+        Map<Long, Booking> nextByItemId = new HashMap<>();
+        for (Booking booking : bookings) {
+            if (booking.getStart().isBefore(NOW)) {
+                lastByItemId.merge(booking.getItem().getId(), booking,
+                        (a, b) -> a.getEnd().isAfter(b.getEnd()) ? a : b);
+            } else if (booking.getStart().isAfter(NOW)) {
+                nextByItemId.merge(booking.getItem().getId(), booking,
+                        (a, b) -> a.getStart().isBefore(b.getStart()) ? a : b);
+            }
+        }
+        lastBookings = lastByItemId.values().stream().map(SyntheticData::toShort).collect(Collectors.toList());
+        nextBookings = nextByItemId.values().stream().map(SyntheticData::toShort).collect(Collectors.toList());
+    }
+
+    public List<Item> itemsOwnedBy(User owner) {
+        return items.stream()
+                .filter(item -> item.getOwner().equals(owner))
+                .collect(Collectors.toList());
+    }
+
+    public List<Item> itemsForRequests() {
+        return items.stream()
+                .filter(item -> item.getRequest() != null)
+                .collect(Collectors.toList());
+    }
+
+    private static BookingShort toShort(Booking booking) {
+        return new BookingShort(booking.getId(), booking.getItem().getId(), booking.getBooker().getId(),
+                booking.getStart(), booking.getEnd(), booking.getStatus());
+    }
+
+    private static <T> T randomOf(List<T> list, Random random) {
+        return list.get(random.nextInt(list.size()));
+    }
+}
@@ -1,59 +1,86 @@
 package ru.practicum.shareit.booking;
 
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import ru.practicum.shareit.booking.dto.BookingDecision;
 import ru.practicum.shareit.booking.dto.BookingState;
 import ru.practicum.shareit.booking.dto.InputBookingDto;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ServerTransport;
 
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @Service
 public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
 
-    @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public BookingClient(ServerTransport transport) {
+        super(transport, API_PREFIX);
     }
 
-    public ResponseEntity<Object> bookItem(long userId, InputBookingDto inputBookingDto) {
+    public Mono<ResponseEntity<byte[]>> bookItem(long userId, InputBookingDto inputBookingDto) {
         return post("", userId, inputBookingDto);
     }
 
-    public ResponseEntity<Object> patchItem(long userId, long bookingId, boolean approved) {
-        return patch("/" + bookingId + "?approved=" + approved, userId);
+    public Mono<ResponseEntity<byte[]>> bookItems(long userId, List<InputBookingDto> inputBookingDtos) {
+        return post("/batch", userId, inputBookingDtos);
     }
 
-    public ResponseEntity<Object> getBooking(long userId, long bookingId) {
-        return get("/" + bookingId, userId);
+    public Mono<ResponseEntity<byte[]>> patchBookings(long userId, List<BookingDecision> decisions) {
+        return patch("/batch", userId, decisions);
     }
 
-    public ResponseEntity<Object> getBookings(long userId, BookingState state, int from, int size) {
-        Map<String, Object> parameters = Map.of(
+    public Mono<ResponseEntity<byte[]>> patchItem(long userId, long bookingId, boolean approved) {
+        return patch("/{bookingId}?approved={approved}", userId,
+                Map.of("bookingId", bookingId, "approved", approved), null);
+    }
+
+    public Mono<ResponseEntity<byte[]>> getBooking(long userId, long bookingId, @Nullable String expand) {
+        Map<String, Object> parameters = new HashMap<>(Map.of("bookingId", bookingId));
+        return get(withParameter("/{bookingId}", parameters, "expand", expand), userId, parameters);
+    }
+
+    public Mono<ResponseEntity<byte[]>> getBookings(long userId, BookingState state, int from, int size,
+                                                    @Nullable String cursor, @Nullable String expand,
+                                                    @Nullable String fields) {
+        Map<String, Object> parameters = new HashMap<>(Map.of(
                 "state", state.name(),
                 "from", from,
                 "size", size
-        );
-        return get("?state={state}&from={from}&size={size}", userId, parameters);
+        ));
+        String path = withCursor("?state={state}&from={from}&size={size}", parameters, cursor);
+        path = withParameter(path, parameters, "expand", expand);
+        return get(withParameter(path, parameters, "fields", fields), userId, parameters);
     }
 
-    public ResponseEntity<Object> getOwnerBookings(long userId, BookingState state, int from, int size) {
-        Map<String, Object> parameters = Map.of(
+    public Mono<ResponseEntity<byte[]>> getOwnerBookings(long userId, BookingState state, int from, int size,
+                                                         @Nullable String cursor, @Nullable String expand,
+                                                         @Nullable String fields) {
+        Map<String, Object> parameters = new HashMap<>(Map.of(
                 "state", state.name(),
                 "from", from,
                 "size", size
-        );
-        return get("/owner?state={state}&from={from}&size={size}", userId, parameters);
+        ));
+        String path = withCursor("/owner?state={state}&from={from}&size={size}", parameters, cursor);
+        path = withParameter(path, parameters, "expand", expand);
+        return get(withParameter(path, parameters, "fields", fields), userId, parameters);
+    }
+
+    public void exportBookings(long userId, @Nullable String expand, HttpServletResponse response)
+            throws IOException {
+        Map<String, Object> parameters = new HashMap<>();
+        stream(withParameter("/export", parameters, "expand", expand), userId, parameters, response);
+    }
+
+    public void exportOwnerBookings(long userId, @Nullable String expand, HttpServletResponse response)
+            throws IOException {
+        Map<String, Object> parameters = new HashMap<>();
+        stream(withParameter("/owner/export", parameters, "expand", expand), userId, parameters, response);
     }
 }
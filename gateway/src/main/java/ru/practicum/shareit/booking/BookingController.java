@@ -5,12 +5,18 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.booking.dto.BookingDecision;
 import ru.practicum.shareit.booking.dto.BookingState;
 import ru.practicum.shareit.booking.dto.InputBookingDto;
 
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import javax.validation.constraints.Size;
+import java.io.IOException;
+import java.util.List;
 
 @RestController
 @RequestMapping(path = "/bookings")
@@ -18,18 +24,37 @@ import javax.validation.constraints.PositiveOrZero;
 @Slf4j
 @Validated
 public class BookingController {
+	private static final int MAX_BATCH_SIZE = 500;
+
 	private final BookingClient bookingClient;
 
 	@PostMapping
-	public ResponseEntity<Object> bookItem(@RequestHeader("X-Sharer-User-Id") long userId,
-										   @RequestBody @Valid InputBookingDto inputBookingDto) {
+	public Mono<ResponseEntity<byte[]>> bookItem(@RequestHeader("X-Sharer-User-Id") long userId,
+												 @RequestBody @Valid InputBookingDto inputBookingDto) {
 		validateStartEndOfBooking(inputBookingDto);
 		log.info("Creating booking {}, userId={}", inputBookingDto, userId);
 		return bookingClient.bookItem(userId, inputBookingDto);
 	}
 
+	@PostMapping("/batch")
+	public Mono<ResponseEntity<byte[]>> bookItems(@RequestHeader("X-Sharer-User-Id") long userId,
+												  @RequestBody @Size(min = 1, max = MAX_BATCH_SIZE)
+												  List<@Valid InputBookingDto> inputBookingDtos) {
+		inputBookingDtos.forEach(this::validateStartEndOfBooking);
+		log.info("Creating {} bookings, userId={}", inputBookingDtos.size(), userId);
+		return bookingClient.bookItems(userId, inputBookingDtos);
+	}
+
+	@PatchMapping("/batch")
+	public Mono<ResponseEntity<byte[]>> patchBookings(@RequestHeader("X-Sharer-User-Id") long id,
+													  @RequestBody @Size(min = 1, max = MAX_BATCH_SIZE)
+													  List<@Valid BookingDecision> decisions) {
+		log.info("We have request for setting {} booking statuses by user with id {}.", decisions.size(), id);
+		return bookingClient.patchBookings(id, decisions);
+	}
+
 	@PatchMapping("/{bookingId}")
-	public ResponseEntity<Object> patchBooking(@RequestHeader("X-Sharer-User-Id") long id,
+	public Mono<ResponseEntity<byte[]>> patchBooking(@RequestHeader("X-Sharer-User-Id") long id,
 											@PathVariable long bookingId,
 											@RequestParam boolean approved) {
 		log.info("We have request for setting status {} by user with id {} for item {}.",
@@ -40,36 +65,64 @@ public class BookingController {
 	}
 
 	@GetMapping("/{bookingId}")
-	public ResponseEntity<Object> getBooking(@RequestHeader("X-Sharer-User-Id") long userId,
-											 @PathVariable Long bookingId) {
-		log.info("Get booking {}, userId={}", bookingId, userId);
-		return bookingClient.getBooking(userId, bookingId);
+	public Mono<ResponseEntity<byte[]>> getBooking(@RequestHeader("X-Sharer-User-Id") long userId,
+												   @PathVariable Long bookingId,
+												   @RequestParam(name = "expand", required = false) String expand) {
+		log.info("Get booking {}, userId={}, expand={}", bookingId, userId, expand);
+		return bookingClient.getBooking(userId, bookingId, expand);
 	}
 
 	@GetMapping
-	public ResponseEntity<Object> getBookings(@RequestHeader("X-Sharer-User-Id") long id,
+	public Mono<ResponseEntity<byte[]>> getBookings(@RequestHeader("X-Sharer-User-Id") long id,
 		@RequestParam(name = "state", defaultValue = "all") String stateParam,
 		@PositiveOrZero @RequestParam(name = "from", defaultValue = "0") int from,
-		@Positive @RequestParam(name = "size", defaultValue = "10") int size) {
+		@Positive @RequestParam(name = "size", defaultValue = "10") int size,
+		@RequestParam(name = "cursor", required = false) String cursor,
+		@RequestParam(name = "expand", required = false) String expand,
+		@RequestParam(name = "fields", required = false) String fields) {
 		BookingState state = BookingState.from(stateParam)
 				.orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
-		log.info("Get request for bookings with state {}, userId={}, from={}, size={}", stateParam, id, from, size);
-		return bookingClient.getBookings(id, state, from, size);
+		log.info("Get request for bookings with state {}, userId={}, from={}, size={}, cursor={}, expand={}, "
+				+ "fields={}", stateParam, id, from, size, cursor, expand, fields);
+		return bookingClient.getBookings(id, state, from, size, cursor, expand, fields);
 	}
 
 	@GetMapping("/owner")
-	public ResponseEntity<Object> getOwnerBookings(@RequestHeader("X-Sharer-User-Id") Long userId,
-												   @RequestParam(name = "state", defaultValue = "ALL")
-												   String stateParam,
-												   @PositiveOrZero @RequestParam(name = "from", defaultValue = "0")
-												   Integer from,
-												   @Positive @RequestParam(name = "size", defaultValue = "10")
-												   Integer size) {
+	public Mono<ResponseEntity<byte[]>> getOwnerBookings(@RequestHeader("X-Sharer-User-Id") Long userId,
+														 @RequestParam(name = "state", defaultValue = "ALL")
+														 String stateParam,
+														 @PositiveOrZero @RequestParam(name = "from", defaultValue = "0")
+														 Integer from,
+														 @Positive @RequestParam(name = "size", defaultValue = "10")
+														 Integer size,
+														 @RequestParam(name = "cursor", required = false)
+														 String cursor,
+														 @RequestParam(name = "expand", required = false)
+														 String expand,
+														 @RequestParam(name = "fields", required = false)
+														 String fields) {
 		BookingState state = BookingState.from(stateParam)
 				.orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
-		log.info("Get request for bookings by owner with state {}, by userId={}, from={}, size={}",
-				stateParam, userId, from, size);
-		return bookingClient.getOwnerBookings(userId, state, from, size);
+		log.info("Get request for bookings by owner with state {}, by userId={}, from={}, size={}, cursor={}, "
+				+ "expand={}, fields={}", stateParam, userId, from, size, cursor, expand, fields);
+		return bookingClient.getOwnerBookings(userId, state, from, size, cursor, expand, fields);
+	}
+
+	// NDJSON, one booking per line, streamed from the server without buffering
+	@GetMapping("/export")
+	public void exportBookings(@RequestHeader("X-Sharer-User-Id") long userId,
+							   @RequestParam(name = "expand", required = false) String expand,
+							   HttpServletResponse response) throws IOException {
+		log.info("Export bookings of userId={}, expand={}", userId, expand);
+		bookingClient.exportBookings(userId, expand, response);
+	}
+
+	@GetMapping("/owner/export")
+	public void exportOwnerBookings(@RequestHeader("X-Sharer-User-Id") long userId,
+									@RequestParam(name = "expand", required = false) String expand,
+									HttpServletResponse response) throws IOException {
+		log.info("Export bookings of items owned by userId={}, expand={}", userId, expand);
+		bookingClient.exportOwnerBookings(userId, expand, response);
 	}
 
 	private void validateStartEndOfBooking(InputBookingDto inputBookingDto) {
@@ -0,0 +1,17 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.*;
+
+import javax.validation.constraints.NotNull;
+
+@Setter
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+@EqualsAndHashCode
+public class BookingDecision {
+    @NotNull(message = "Booking cannot be null")
+    private Long bookingId;
+    private boolean approved;
+}
@@ -0,0 +1,42 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.method.support.HandlerMethodReturnValueHandler;
+import org.springframework.web.servlet.mvc.method.annotation.HttpEntityMethodProcessor;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// the blocking transport answers with a completed Mono, it is written as a plain ResponseEntity
+// instead of going through Spring MVC's async dispatch for reactive return values
+@Configuration
+@ConditionalOnProperty(name = "shareit-server.client", havingValue = "blocking", matchIfMissing = true)
+public class BlockingResponseConfig {
+    @Bean
+    public static BeanPostProcessor completedMonoReturnValueHandler() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof RequestMappingHandlerAdapter) {
+                    registerFirst((RequestMappingHandlerAdapter) bean);
+                }
+                return bean;
+            }
+        };
+    }
+
+    private static void registerFirst(RequestMappingHandlerAdapter adapter) {
+        List<HandlerMethodReturnValueHandler> handlers = new ArrayList<>(adapter.getReturnValueHandlers());
+        HttpEntityMethodProcessor entityProcessor = handlers.stream()
+                .filter(HttpEntityMethodProcessor.class::isInstance)
+                .map(HttpEntityMethodProcessor.class::cast)
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("No HttpEntityMethodProcessor in " + handlers));
+        handlers.add(0, new CompletedMonoReturnValueHandler(entityProcessor));
+        adapter.setReturnValueHandlers(handlers);
+    }
+}
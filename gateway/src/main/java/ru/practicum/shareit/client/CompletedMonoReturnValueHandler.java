@@ -0,0 +1,31 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodReturnValueHandler;
+import org.springframework.web.method.support.ModelAndViewContainer;
+import org.springframework.web.servlet.mvc.method.annotation.HttpEntityMethodProcessor;
+import reactor.core.publisher.Mono;
+
+// unwraps Mono<ResponseEntity<?>> on the servlet thread, only for transports whose Mono is already completed
+public class CompletedMonoReturnValueHandler implements HandlerMethodReturnValueHandler {
+    private final HttpEntityMethodProcessor entityProcessor;
+
+    public CompletedMonoReturnValueHandler(HttpEntityMethodProcessor entityProcessor) {
+        this.entityProcessor = entityProcessor;
+    }
+
+    @Override
+    public boolean supportsReturnType(MethodParameter returnType) {
+        return Mono.class.isAssignableFrom(returnType.getParameterType())
+                && ResponseEntity.class.isAssignableFrom(returnType.nested().getNestedParameterType());
+    }
+
+    @Override
+    public void handleReturnValue(Object returnValue, MethodParameter returnType,
+                                  ModelAndViewContainer mavContainer, NativeWebRequest webRequest) throws Exception {
+        Object entity = returnValue != null ? ((Mono<?>) returnValue).block() : null;
+        entityProcessor.handleReturnValue(entity, returnType.nested(), mavContainer, webRequest);
+    }
+}
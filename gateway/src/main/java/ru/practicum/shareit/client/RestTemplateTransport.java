@@ -0,0 +1,80 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Map;
+
+// holds the servlet thread for the whole round trip, the Mono is completed before the controller returns
+// and BlockingResponseConfig writes it without an async dispatch
+@Component
+@ConditionalOnProperty(name = "shareit-server.client", havingValue = "blocking", matchIfMissing = true)
+public class RestTemplateTransport implements ServerTransport {
+    private final RestTemplate rest;
+
+    public RestTemplateTransport(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                                 ClientHttpRequestFactory requestFactory) {
+        this.rest = builder
+                .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl))
+                .requestFactory(() -> requestFactory)
+                .build();
+    }
+
+    @Override
+    public <T> Mono<ResponseEntity<byte[]>> exchange(HttpMethod method, String path, @Nullable Long userId,
+                                                     @Nullable Map<String, Object> parameters, @Nullable T body) {
+        HttpEntity<T> requestEntity = new HttpEntity<>(body, ServerTransport.defaultHeaders(userId));
+
+        ResponseEntity<byte[]> shareitServerResponse;
+        try {
+            if (parameters != null) {
+                shareitServerResponse = rest.exchange(path, method, requestEntity, byte[].class, parameters);
+            } else {
+                shareitServerResponse = rest.exchange(path, method, requestEntity, byte[].class);
+            }
+        } catch (HttpStatusCodeException e) {
+            return Mono.just(ResponseEntity.status(e.getRawStatusCode())
+                    .headers(e.getResponseHeaders() != null
+                            ? ServerTransport.responseHeaders(e.getResponseHeaders())
+                            : null)
+                    .body(e.getResponseBodyAsByteArray()));
+        }
+        return Mono.just(ResponseEntity.status(shareitServerResponse.getStatusCodeValue())
+                .headers(ServerTransport.responseHeaders(shareitServerResponse.getHeaders()))
+                .body(shareitServerResponse.getBody()));
+    }
+
+    @Override
+    public void stream(String path, @Nullable Long userId, Map<String, Object> parameters,
+                       HttpServletResponse response) throws IOException {
+        try {
+            rest.execute(path, HttpMethod.GET,
+                    request -> request.getHeaders().addAll(ServerTransport.defaultHeaders(userId)),
+                    serverResponse -> {
+                        ServerTransport.writeStatusAndHeaders(
+                                serverResponse.getRawStatusCode(), serverResponse.getHeaders(), response);
+                        StreamUtils.copy(serverResponse.getBody(), response.getOutputStream());
+                        return null;
+                    }, parameters);
+        } catch (HttpStatusCodeException e) {
+            ServerTransport.writeStatusAndHeaders(e.getRawStatusCode(),
+                    e.getResponseHeaders() != null ? e.getResponseHeaders() : new HttpHeaders(), response);
+            response.getOutputStream().write(e.getResponseBodyAsByteArray());
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import reactor.core.publisher.Mono;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// shareit-server.client=blocking (RestTemplate, default) or reactive (WebClient)
+// responses are passed through as bytes with their status and end-to-end headers, the body is never parsed
+public interface ServerTransport {
+    // Content-Length is recomputed for the gateway's own response
+    Set<String> HOP_BY_HOP_HEADERS = Set.of("connection", "keep-alive", "transfer-encoding", "te", "trailer",
+            "upgrade", "proxy-authenticate", "proxy-authorization", "content-length");
+
+    <T> Mono<ResponseEntity<byte[]>> exchange(HttpMethod method, String path, @Nullable Long userId,
+                                              @Nullable Map<String, Object> parameters, @Nullable T body);
+
+    // GET whose body is copied to the client as it arrives, for responses too large to hold in memory.
+    // Holds the servlet thread until the copy is done in either mode.
+    void stream(String path, @Nullable Long userId, Map<String, Object> parameters, HttpServletResponse response)
+            throws IOException;
+
+    static void writeStatusAndHeaders(int status, HttpHeaders serverHeaders, HttpServletResponse response) {
+        response.setStatus(status);
+        responseHeaders(serverHeaders).forEach((name, values) ->
+                values.forEach(value -> response.addHeader(name, value)));
+    }
+
+    static HttpHeaders responseHeaders(HttpHeaders serverHeaders) {
+        HttpHeaders headers = new HttpHeaders();
+        serverHeaders.forEach((name, values) -> {
+            if (!HOP_BY_HOP_HEADERS.contains(name.toLowerCase())) {
+                headers.addAll(name, values);
+            }
+        });
+        return headers;
+    }
+
+    static HttpHeaders defaultHeaders(@Nullable Long userId) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+        if (userId != null) {
+            headers.set("X-Sharer-User-Id", String.valueOf(userId));
+        }
+        return headers;
+    }
+}
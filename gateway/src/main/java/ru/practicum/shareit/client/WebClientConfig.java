@@ -0,0 +1,48 @@
+package ru.practicum.shareit.client;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+// the same limits as HttpClientConfig, applied to a Reactor Netty pool
+@Configuration
+@ConditionalOnProperty(name = "shareit-server.client", havingValue = "reactive")
+@EnableConfigurationProperties(HttpClientProperties.class)
+public class WebClientConfig {
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider shareitServerConnectionProvider(HttpClientProperties properties) {
+        return ConnectionProvider.builder("shareit-server")
+                .maxConnections(properties.getMaxTotal())
+                .pendingAcquireMaxCount(properties.getMaxPending())
+                .pendingAcquireTimeout(properties.getConnectionRequestTimeout())
+                .maxIdleTime(properties.getIdleTimeout())
+                .maxLifeTime(properties.getKeepAlive())
+                .evictInBackground(properties.getIdleTimeout())
+                // reactor.netty.connection.provider.{active,idle,pending,total}.connections
+                .metrics(true)
+                .build();
+    }
+
+    @Bean
+    public WebClient shareitServerWebClient(@Value("${shareit-server.url}") String serverUrl,
+                                            WebClient.Builder builder,
+                                            ConnectionProvider shareitServerConnectionProvider,
+                                            HttpClientProperties properties) {
+        HttpClient httpClient = HttpClient.create(shareitServerConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) properties.getConnectTimeout().toMillis())
+                .responseTimeout(properties.getReadTimeout());
+
+        return builder
+                .uriBuilderFactory(new DefaultUriBuilderFactory(serverUrl))
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+    }
+}
@@ -0,0 +1,77 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Map;
+
+// the servlet thread is released while the server works, Spring MVC finishes the request asynchronously
+@Component
+@ConditionalOnProperty(name = "shareit-server.client", havingValue = "reactive")
+public class WebClientTransport implements ServerTransport {
+    private static final int BUFFERS_IN_FLIGHT = 8;
+
+    private final WebClient webClient;
+
+    public WebClientTransport(WebClient shareitServerWebClient) {
+        this.webClient = shareitServerWebClient;
+    }
+
+    @Override
+    public <T> Mono<ResponseEntity<byte[]>> exchange(HttpMethod method, String path, @Nullable Long userId,
+                                                     @Nullable Map<String, Object> parameters, @Nullable T body) {
+        WebClient.RequestBodySpec request = webClient.method(method)
+                .uri(path, parameters != null ? parameters : Map.of())
+                .headers(headers -> headers.addAll(ServerTransport.defaultHeaders(userId)));
+        WebClient.RequestHeadersSpec<?> spec = body != null ? request.bodyValue(body) : request;
+
+        return spec.exchangeToMono(response -> response.toEntity(byte[].class)
+                .map(entity -> ResponseEntity.status(entity.getStatusCodeValue())
+                        .headers(ServerTransport.responseHeaders(entity.getHeaders()))
+                        .body(entity.getBody())));
+    }
+
+    @Override
+    public void stream(String path, @Nullable Long userId, Map<String, Object> parameters,
+                       HttpServletResponse response) throws IOException {
+        ResponseEntity<Flux<DataBuffer>> entity;
+        try {
+            entity = webClient.get()
+                    .uri(path, parameters)
+                    .headers(headers -> headers.addAll(ServerTransport.defaultHeaders(userId)))
+                    .retrieve()
+                    .toEntityFlux(DataBuffer.class)
+                    .block();
+        } catch (WebClientResponseException e) {
+            ServerTransport.writeStatusAndHeaders(e.getRawStatusCode(), e.getHeaders(), response);
+            response.getOutputStream().write(e.getResponseBodyAsByteArray());
+            return;
+        }
+        ServerTransport.writeStatusAndHeaders(entity.getStatusCodeValue(), entity.getHeaders(), response);
+        if (entity.getBody() == null) {
+            return;
+        }
+        // buffers are pulled onto this thread a few at a time, the event loop never blocks on the client
+        OutputStream out = response.getOutputStream();
+        for (DataBuffer buffer : entity.getBody().toIterable(BUFFERS_IN_FLIGHT)) {
+            try {
+                StreamUtils.copy(buffer.asInputStream(), out);
+            } finally {
+                DataBufferUtils.release(buffer);
+            }
+        }
+    }
+}
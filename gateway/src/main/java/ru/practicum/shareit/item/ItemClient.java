@@ -1,70 +1,67 @@
 package ru.practicum.shareit.item;
 
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ServerTransport;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
+import java.util.HashMap;
 import java.util.Map;
 
 @Service
 public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
 
-    @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public ItemClient(ServerTransport transport) {
+        super(transport, API_PREFIX);
     }
 
-    public ResponseEntity<Object> addItem(Long userId, ItemDto itemDto) {
+    public Mono<ResponseEntity<byte[]>> addItem(Long userId, ItemDto itemDto) {
         return post("", userId, itemDto);
     }
 
-    public ResponseEntity<Object> addComment(long userId, long itemId, CommentDto commentDto) {
-        return post("/" + itemId + "/comment", userId, commentDto);
+    public Mono<ResponseEntity<byte[]>> addComment(long userId, long itemId, CommentDto commentDto) {
+        return post("/{itemId}/comment", userId, Map.of("itemId", itemId), commentDto);
     }
 
-    public ResponseEntity<Object> updateItem(long userId, long itemId, ItemDto itemDto) {
-        return patch("/" + itemId, userId, itemDto);
+    public Mono<ResponseEntity<byte[]>> updateItem(long userId, long itemId, ItemDto itemDto) {
+        return patch("/{itemId}", userId, Map.of("itemId", itemId), itemDto);
     }
 
-    public ResponseEntity<Object> getAllItemsByUserId(Long userId, int from, int size) {
-        Map<String, Object> parameters = Map.of(
+    public Mono<ResponseEntity<byte[]>> getAllItemsByUserId(Long userId, int from, int size, @Nullable String cursor,
+                                                            @Nullable String fields) {
+        Map<String, Object> parameters = new HashMap<>(Map.of(
                 "from", from,
                 "size", size
-        );
-        return get("/?from={from}&size={size}", userId, parameters);
+        ));
+        String path = withCursor("/?from={from}&size={size}", parameters, cursor);
+        return get(withParameter(path, parameters, "fields", fields), userId, parameters);
     }
 
-    public ResponseEntity<Object> getItemById(long itemId) {
-        return get("/" + itemId);
+    public Mono<ResponseEntity<byte[]>> getItemById(long itemId) {
+        return get("/{itemId}", null, Map.of("itemId", itemId));
     }
 
-    public ResponseEntity<Object> getItemByItemIdAndUserId(long userId, long itemId) {
-        return get("/" + itemId, userId);
+    public Mono<ResponseEntity<byte[]>> getItemByItemIdAndUserId(long userId, long itemId) {
+        return get("/{itemId}", userId, Map.of("itemId", itemId));
     }
 
-    public ResponseEntity<Object> deleteItemById(long userId, long itemId) {
-        return delete("/" + itemId, userId);
+    public Mono<ResponseEntity<byte[]>> deleteItemById(long userId, long itemId) {
+        return delete("/{itemId}", userId, Map.of("itemId", itemId));
     }
 
-    public ResponseEntity<Object> searchItems(long userId, Integer from, Integer size, String text) {
-        Map<String, Object> parameters = Map.of(
+    public Mono<ResponseEntity<byte[]>> searchItems(long userId, Integer from, Integer size, String text,
+                                                    @Nullable String cursor) {
+        Map<String, Object> parameters = new HashMap<>(Map.of(
                 "text", text,
                 "from", from,
                 "size", size
-        );
-        return get("/search?text={text}&from={from}&size={size}", userId, parameters);
+        ));
+        return get(withCursor("/search?text={text}&from={from}&size={size}", parameters, cursor),
+                userId, parameters);
     }
 }
@@ -6,6 +6,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.Create;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
@@ -22,53 +23,56 @@ public class ItemController {
     private final ItemClient itemClient;
 
     @PostMapping
-    public ResponseEntity<Object> addItem(@RequestHeader("X-Sharer-User-Id") long userId,
-                                          @Validated({Create.class}) @RequestBody ItemDto itemDto) {
+    public Mono<ResponseEntity<byte[]>> addItem(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                @Validated({Create.class}) @RequestBody ItemDto itemDto) {
         log.info("Получен запрос на добавление предмета {} пользователем с id {}", itemDto, userId);
         return itemClient.addItem(userId, itemDto);
     }
 
     @PostMapping("/{itemId}/comment")
-    public ResponseEntity<Object> addComment(@RequestHeader("X-Sharer-User-Id") long userId,
-                                             @PathVariable long itemId,
-                                             @Validated @RequestBody CommentDto commentDto) {
+    public Mono<ResponseEntity<byte[]>> addComment(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                   @PathVariable long itemId,
+                                                   @Validated @RequestBody CommentDto commentDto) {
         log.info("Get request to add comment {} to item with id={} by user with id={}", commentDto, itemId, userId);
         return itemClient.addComment(userId, itemId, commentDto);
     }
 
     @PatchMapping("/{itemId}")
-    public ResponseEntity<Object> updateItem(@RequestHeader("X-Sharer-User-Id") long userId, @RequestBody ItemDto itemDto,
-                                             @PathVariable long itemId) {
+    public Mono<ResponseEntity<byte[]>> updateItem(@RequestHeader("X-Sharer-User-Id") long userId, @RequestBody ItemDto itemDto,
+                                                   @PathVariable long itemId) {
         log.info("Get request to update item {} with id {}", itemDto, userId);
         return itemClient.updateItem(userId, itemId, itemDto);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getAllItemsByUserId(@RequestHeader("X-Sharer-User-Id") long userId,
+    public Mono<ResponseEntity<byte[]>> getAllItemsByUserId(@RequestHeader("X-Sharer-User-Id") long userId,
                                                @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") int from,
-                                               @Positive @RequestParam(name = "size", defaultValue = "10") int size) {
-        log.info("Get request for getting all items by user with id={}", userId);
-        return itemClient.getAllItemsByUserId(userId, from, size);
+                                               @Positive @RequestParam(name = "size", defaultValue = "10") int size,
+                                               @RequestParam(name = "cursor", required = false) String cursor,
+                                               @RequestParam(name = "fields", required = false) String fields) {
+        log.info("Get request for getting all items by user with id={}, fields={}", userId, fields);
+        return itemClient.getAllItemsByUserId(userId, from, size, cursor, fields);
     }
 
     @GetMapping("/{itemId}")
-    public ResponseEntity<Object> getItemByIdAndUserId(@RequestHeader("X-Sharer-User-Id") Long userId, @PathVariable Long itemId) {
+    public Mono<ResponseEntity<byte[]>> getItemByIdAndUserId(@RequestHeader("X-Sharer-User-Id") Long userId, @PathVariable Long itemId) {
         log.info("Get request for getting item with id={} from user id={}", itemId, userId);
         return itemClient.getItemByItemIdAndUserId(userId, itemId);
     }
 
     @DeleteMapping("/{itemId}")
-    public ResponseEntity<Object> deleteItem(@RequestHeader("X-Sharer-User-Id") Long userId, @PathVariable Long itemId) {
+    public Mono<ResponseEntity<byte[]>> deleteItem(@RequestHeader("X-Sharer-User-Id") Long userId, @PathVariable Long itemId) {
         log.info("Get request for deleting item with id={} from user with id={}", userId, itemId);
         return itemClient.deleteItemById(userId, itemId);
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Object> searchItem(@RequestHeader("X-Sharer-User-Id") long userId,
-                                             @RequestParam String text,
-                                             @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
-                                             @Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
+    public Mono<ResponseEntity<byte[]>> searchItem(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                   @RequestParam String text,
+                                                   @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
+                                                   @Positive @RequestParam(name = "size", defaultValue = "10") Integer size,
+                                                   @RequestParam(name = "cursor", required = false) String cursor) {
         log.info("Get request to search items by text={}", text);
-        return itemClient.searchItems(userId, from, size, text);
+        return itemClient.searchItems(userId, from, size, text, cursor);
     }
 }
@@ -1,48 +1,43 @@
 package ru.practicum.shareit.request;
 
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ServerTransport;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 
+import java.util.HashMap;
 import java.util.Map;
 
 @Service
 public class ItemRequestClient extends BaseClient {
     private static final String API_PREFIX = "/requests";
 
-    @Autowired
-    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public ItemRequestClient(ServerTransport transport) {
+        super(transport, API_PREFIX);
     }
 
-    public ResponseEntity<Object> postRequest(long userId, ItemRequestDto itemRequestDto) {
+    public Mono<ResponseEntity<byte[]>> postRequest(long userId, ItemRequestDto itemRequestDto) {
         return post("", userId, itemRequestDto);
     }
 
-    public ResponseEntity<Object> getRequests(long userId) {
+    public Mono<ResponseEntity<byte[]>> getRequests(long userId) {
         return get("", userId);
     }
 
-    public ResponseEntity<Object> getAllRequests(long userId, Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of(
+    public Mono<ResponseEntity<byte[]>> getAllRequests(long userId, Integer from, Integer size, @Nullable String cursor,
+                                                       @Nullable String fields) {
+        Map<String, Object> parameters = new HashMap<>(Map.of(
                 "from", from,
                 "size", size
-        );
-        return get("/all/?from={from}&size={size}", userId, parameters);
+        ));
+        String path = withCursor("/all/?from={from}&size={size}", parameters, cursor);
+        return get(withParameter(path, parameters, "fields", fields), userId, parameters);
     }
 
-    public ResponseEntity<Object> getRequest(long userId, long requestId) {
-        return get("/" + requestId, userId);
+    public Mono<ResponseEntity<byte[]>> getRequest(long userId, long requestId) {
+        return get("/{requestId}", userId, Map.of("requestId", requestId));
     }
 }
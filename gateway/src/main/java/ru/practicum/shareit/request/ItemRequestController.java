@@ -6,6 +6,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 
 import javax.validation.constraints.Positive;
@@ -20,31 +21,35 @@ public class ItemRequestController {
     private final ItemRequestClient requestClient;
 
     @PostMapping
-    public ResponseEntity<Object> postRequest(@RequestHeader("X-Sharer-User-Id") long userId,
-                                              @Validated @RequestBody ItemRequestDto itemRequestDto) {
+    public Mono<ResponseEntity<byte[]>> postRequest(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                    @Validated @RequestBody ItemRequestDto itemRequestDto) {
         log.info("Get request for adding itemRequest {} from user with id={}", itemRequestDto, userId);
         return requestClient.postRequest(userId, itemRequestDto);
     }
 
     @GetMapping()
-    public ResponseEntity<Object> getRequests(@RequestHeader("X-Sharer-User-Id") long userId) {
+    public Mono<ResponseEntity<byte[]>> getRequests(@RequestHeader("X-Sharer-User-Id") long userId) {
         log.info("Getting request for all itemRequests from user with id={}", userId);
         return requestClient.getRequests(userId);
     }
 
     @GetMapping("/all")
-    public ResponseEntity<Object> getAllRequests(@RequestHeader("X-Sharer-User-Id") long userId,
+    public Mono<ResponseEntity<byte[]>> getAllRequests(@RequestHeader("X-Sharer-User-Id") long userId,
                                                            @PositiveOrZero @RequestParam(name = "from", defaultValue = "0")
                                                            int from,
                                                            @Positive @RequestParam(name = "size", defaultValue = "10")
-                                                           int size) {
-        log.info("Getting requests for all itemRequests from user with id={} with from {} and size {}",
-                userId, from, size);
-        return requestClient.getAllRequests(userId, from, size);
+                                                           int size,
+                                                           @RequestParam(name = "cursor", required = false)
+                                                           String cursor,
+                                                           @RequestParam(name = "fields", required = false)
+                                                           String fields) {
+        log.info("Getting requests for all itemRequests from user with id={} with from {}, size {}, cursor {} "
+                + "and fields {}", userId, from, size, cursor, fields);
+        return requestClient.getAllRequests(userId, from, size, cursor, fields);
     }
 
     @GetMapping("/{requestId}")
-    public ResponseEntity<Object> getRequest(@RequestHeader("X-Sharer-User-Id") long userId,
+    public Mono<ResponseEntity<byte[]>> getRequest(@RequestHeader("X-Sharer-User-Id") long userId,
                                                      @PathVariable long requestId) {
         log.info("Getting request for itemRequest with id={} from user with id={}", requestId, userId);
         return requestClient.getRequest(userId, requestId);
@@ -1,47 +1,40 @@
 package ru.practicum.shareit.user;
 
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ServerTransport;
 import ru.practicum.shareit.user.dto.UserDto;
 
+import java.util.Map;
+
 @Service
 public class UserClient extends BaseClient {
     private static final String API_PREFIX = "/users";
 
-    @Autowired
-    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public UserClient(ServerTransport transport) {
+        super(transport, API_PREFIX);
     }
 
-    public ResponseEntity<Object> postUser(UserDto userDto) {
+    public Mono<ResponseEntity<byte[]>> postUser(UserDto userDto) {
         return post("", userDto);
     }
 
-    public ResponseEntity<Object> patchUser(long userId, UserDto userDto) {
-        return patch("/" + userId, userDto);
+    public Mono<ResponseEntity<byte[]>> patchUser(long userId, UserDto userDto) {
+        return patch("/{userId}", null, Map.of("userId", userId), userDto);
     }
 
-    public ResponseEntity<Object> getAllUsers() {
+    public Mono<ResponseEntity<byte[]>> getAllUsers() {
         return get("");
     }
 
-    public ResponseEntity<Object> getUserById(long userId) {
-        return get("/" + userId);
+    public Mono<ResponseEntity<byte[]>> getUserById(long userId) {
+        return get("/{userId}", null, Map.of("userId", userId));
     }
 
-    public ResponseEntity<Object> deleteUserById(long userId) {
-        return delete("/" + userId);
+    public Mono<ResponseEntity<byte[]>> deleteUserById(long userId) {
+        return delete("/{userId}", null, Map.of("userId", userId));
     }
 
 }
@@ -6,6 +6,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.Create;
 import ru.practicum.shareit.Update;
 import ru.practicum.shareit.user.dto.UserDto;
@@ -19,32 +20,32 @@ public class UserController {
     private final UserClient userClient;
 
     @PostMapping()
-    public ResponseEntity<Object> postUser(@Validated({Create.class}) @RequestBody UserDto userDto) {
+    public Mono<ResponseEntity<byte[]>> postUser(@Validated({Create.class}) @RequestBody UserDto userDto) {
         log.info("Creating user {}, userId={}", userDto, userDto.getId());
         return userClient.postUser(userDto);
     }
 
     @PatchMapping("/{userId}")
-    public ResponseEntity<Object> patchUser(@Validated({Update.class}) @PathVariable long userId,
-                                            @RequestBody UserDto user) {
+    public Mono<ResponseEntity<byte[]>> patchUser(@Validated({Update.class}) @PathVariable long userId,
+                                                  @RequestBody UserDto user) {
         log.info("Get request to update {} of user with id {}", user, userId);
         return userClient.patchUser(userId, user);
     }
 
     @GetMapping()
-    public ResponseEntity<Object> getAllUsers() {
+    public Mono<ResponseEntity<byte[]>> getAllUsers() {
         log.info("Get request for getting all users list.");
         return userClient.getAllUsers();
     }
 
     @GetMapping("/{userId}")
-    public ResponseEntity<Object> getUserById(@PathVariable long userId) {
+    public Mono<ResponseEntity<byte[]>> getUserById(@PathVariable long userId) {
         log.info("Get request for getting user with id {}", userId);
         return userClient.getUserById(userId);
     }
 
     @DeleteMapping("/{userId}")
-    public ResponseEntity<Object> deleteUserById(@PathVariable long userId) {
+    public Mono<ResponseEntity<byte[]>> deleteUserById(@PathVariable long userId) {
         log.info("Get request for deleting user with id {}", userId);
         return userClient.deleteUserById(userId);
     }
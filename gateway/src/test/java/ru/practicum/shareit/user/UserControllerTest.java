@@ -0,0 +1,97 @@
+package ru.practicum.shareit.user;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.BlockingResponseConfig;
+import ru.practicum.shareit.client.ServerTransport;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class UserControllerTest {
+    private static final String USER = "{\"id\":1,\"name\":\"Adam\",\"email\":\"adam@paradise.com\"}";
+
+    private static void answerWithUser(ServerTransport transport) {
+        Mockito
+                .when(transport.exchange(eq(HttpMethod.GET), eq("/users/{userId}"), isNull(),
+                        eq(Map.of("userId", 1L)), isNull()))
+                .thenReturn(Mono.just(ResponseEntity.ok()
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("X-Request-Id", "42")
+                        .body(USER.getBytes(StandardCharsets.UTF_8))));
+    }
+
+    @Nested
+    @WebMvcTest(controllers = UserController.class, properties = "shareit-server.client=blocking")
+    @Import({UserClient.class, BlockingResponseConfig.class})
+    class Blocking {
+        @Autowired
+        private MockMvc mvc;
+        @MockBean
+        private ServerTransport transport;
+
+        @BeforeEach
+        void setUp() {
+            answerWithUser(transport);
+        }
+
+        @Test
+        void handleGetUserById_withoutAsyncDispatch() throws Exception {
+            mvc.perform(get("/users/{userId}", 1L))
+                    .andExpect(request().asyncNotStarted())
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("X-Request-Id", "42"))
+                    .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(content().json(USER, true));
+        }
+    }
+
+    @Nested
+    @WebMvcTest(controllers = UserController.class, properties = "shareit-server.client=reactive")
+    @Import({UserClient.class, BlockingResponseConfig.class})
+    class Reactive {
+        @Autowired
+        private MockMvc mvc;
+        @MockBean
+        private ServerTransport transport;
+
+        @BeforeEach
+        void setUp() {
+            answerWithUser(transport);
+        }
+
+        @Test
+        void handleGetUserById_withAsyncDispatch() throws Exception {
+            MvcResult result = mvc.perform(get("/users/{userId}", 1L))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            mvc.perform(asyncDispatch(result))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("X-Request-Id", "42"))
+                    .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(content().json(USER, true));
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package ru.practicum.shareit.loadtest;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.Flyway;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+// writes straight into the database before the server starts, so the server indexes the items on startup
+@Slf4j
+@RequiredArgsConstructor
+public class DatasetSeeder {
+    static final List<String> WORDS = List.of("drill", "saw", "ladder", "tent", "bike", "camera", "guitar", "kayak",
+            "projector", "hammer", "sander", "scooter", "grill", "speaker", "telescope", "sewing", "mixer", "snowboard");
+    private static final String USER = "test";
+    private static final String PASSWORD = "test";
+    private static final int BATCH = 1000;
+
+    private final LoadTestConfig config;
+    private final Random random = new Random(42);
+    @Getter
+    private long[] itemOwners;
+
+    public void seed() throws SQLException {
+        Flyway.configure()
+                .dataSource(config.getDatabaseUrl(), USER, PASSWORD)
+                .locations("classpath:db/migration/common", "classpath:db/migration/h2")
+                .placeholders(Map.of("id_allocation_size", "50"))
+                .load()
+                .migrate();
+        LocalDateTime now = LocalDateTime.now();
+        try (Connection connection = DriverManager.getConnection(config.getDatabaseUrl(), USER, PASSWORD)) {
+            connection.setAutoCommit(false);
+            seedUsers(connection);
+            seedRequests(connection, now);
+            seedItems(connection);
+            seedBookings(connection, now);
+            seedComments(connection, now);
+            restartSequences(connection);
+            connection.commit();
+        }
+        log.info("Seeded {} users, {} requests, {} items, {} bookings, {} comments.", config.getUsers(),
+                config.getRequests(), config.getItems(), config.getBookings(), config.getComments());
+    }
+
+    private void seedUsers(Connection connection) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "INSERT INTO users (user_id, name, email) VALUES (?, ?, ?)")) {
+            for (int i = 1; i <= config.getUsers(); i++) {
+                statement.setLong(1, i);
+                statement.setString(2, "user " + i);
+                statement.setString(3, "user" + i + "@shareit.ru");
+                addBatch(statement, i);
+            }
+            statement.executeBatch();
+        }
+    }
+
+    private void seedRequests(Connection connection, LocalDateTime now) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "INSERT INTO requests (request_id, description, requester_id, created) VALUES (?, ?, ?, ?)")) {
+            for (int i = 1; i <= config.getRequests(); i++) {
+                statement.setLong(1, i);
+                statement.setString(2, "looking for a " + randomWord());
+                statement.setLong(3, randomUser());
+                statement.setTimestamp(4, Timestamp.valueOf(now.minusHours(random.nextInt(24 * 365))));
+                addBatch(statement, i);
+            }
+            statement.executeBatch();
+        }
+    }
+
+    private void seedItems(Connection connection) throws SQLException {
+        itemOwners = new long[config.getItems() + 1];
+        try (PreparedStatement statement = connection.prepareStatement(
+                "INSERT INTO items (item_id, name, description, available, owner_id, request_id) " +
+                        "VALUES (?, ?, ?, ?, ?, ?)")) {
+            for (int i = 1; i <= config.getItems(); i++) {
+                // owners are skewed, a tenth of the users own most of the items
+                long owner = random.nextInt(4) == 0
+                        ? randomUser()
+                        : 1 + random.nextInt(Math.max(1, config.getUsers() / 10));
+                itemOwners[i] = owner;
+                statement.setLong(1, i);
+                statement.setString(2, randomWord() + " " + i);
+                statement.setString(3, "good " + randomWord() + " and a " + randomWord());
+                statement.setBoolean(4, random.nextInt(10) != 0);
+                statement.setLong(5, owner);
+                if (config.getRequests() > 0 && random.nextInt(5) == 0) {
+                    statement.setLong(6, 1 + random.nextInt(config.getRequests()));
+                } else {
+                    statement.setNull(6, Types.BIGINT);
+                }
+                addBatch(statement, i);
+            }
+            statement.executeBatch();
+        }
+    }
+
+    private void seedBookings(Connection connection, LocalDateTime now) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "INSERT INTO bookings (booking_id, start_date, end_date, item_id, booker_id, status) " +
+                        "VALUES (?, ?, ?, ?, ?, ?)")) {
+            for (int i = 1; i <= config.getBookings(); i++) {
+                // past bookings only, traffic creates the future ones
+                LocalDateTime start = now.minusHours(1 + random.nextInt(24 * 365));
+                int item = randomItem();
+                statement.setLong(1, i);
+                statement.setTimestamp(2, Timestamp.valueOf(start));
+                statement.setTimestamp(3, Timestamp.valueOf(start.plusMinutes(30)));
+                statement.setLong(4, item);
+                statement.setLong(5, randomBooker(item));
+                statement.setString(6, random.nextInt(5) == 0 ? "REJECTED" : "APPROVED");
+                addBatch(statement, i);
+            }
+            statement.executeBatch();
+        }
+    }
+
+    private void seedComments(Connection connection, LocalDateTime now) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "INSERT INTO comments (comment_id, text, item_id, author_id, created) VALUES (?, ?, ?, ?, ?)")) {
+            for (int i = 1; i <= config.getComments(); i++) {
+                int item = randomItem();
+                statement.setLong(1, i);
+                statement.setString(2, "worked like a " + randomWord());
+                statement.setLong(3, item);
+                statement.setLong(4, randomBooker(item));
+                statement.setTimestamp(5, Timestamp.valueOf(now.minusDays(random.nextInt(365))));
+                addBatch(statement, i);
+            }
+            statement.executeBatch();
+        }
+    }
+
+    private void restartSequences(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ALTER SEQUENCE users_seq RESTART WITH " + (config.getUsers() + 1));
+            statement.execute("ALTER SEQUENCE requests_seq RESTART WITH " + (config.getRequests() + 1));
+            statement.execute("ALTER SEQUENCE items_seq RESTART WITH " + (config.getItems() + 1));
+            statement.execute("ALTER SEQUENCE bookings_seq RESTART WITH " + (config.getBookings() + 1));
+            statement.execute("ALTER SEQUENCE comments_seq RESTART WITH " + (config.getComments() + 1));
+        }
+    }
+
+    long randomBooker(int item) {
+        long booker;
+        do {
+            booker = randomUser();
+        } while (booker == itemOwners[item] && config.getUsers() > 1);
+        return booker;
+    }
+
+    int randomItem() {
+        return 1 + random.nextInt(config.getItems());
+    }
+
+    long randomUser() {
+        return 1 + random.nextInt(config.getUsers());
+    }
+
+    private String randomWord() {
+        return WORDS.get(random.nextInt(WORDS.size()));
+    }
+
+    private static void addBatch(PreparedStatement statement, int row) throws SQLException {
+        statement.addBatch();
+        if (row % BATCH == 0) {
+            statement.executeBatch();
+        }
+    }
+}
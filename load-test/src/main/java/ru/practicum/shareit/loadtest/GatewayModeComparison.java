@@ -0,0 +1,47 @@
+package ru.practicum.shareit.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.List;
+
+// the same closed-loop workload against the gateway with shareit-server.client=blocking and =reactive,
+// the server and its data are shared, only the gateway is restarted between the runs
+@Slf4j
+public class GatewayModeComparison {
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+    private static final List<String> CLIENTS = List.of("blocking", "reactive");
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = new LoadTestConfig();
+        log.info("Comparing gateway clients, {}", config);
+        LoadTest.resetWorkDir(config.getWorkDir());
+
+        DatasetSeeder seeder = new DatasetSeeder(config);
+        seeder.seed();
+
+        try (AppProcess server = LoadTest.startServer(config)) {
+            server.awaitHealthy(config.getServerPort(), STARTUP_TIMEOUT);
+            TrafficDriver driver = new TrafficDriver(config, seeder.getItemOwners());
+
+            for (String client : CLIENTS) {
+                try (AppProcess gateway = LoadTest.startGateway(config, client)) {
+                    gateway.awaitHealthy(config.getGatewayPort(), STARTUP_TIMEOUT);
+
+                    log.info("{}: warming up for {} s with {} connections",
+                            client, config.getWarmup().toSeconds(), config.getConcurrency());
+                    driver.runWithConcurrency(config.getConcurrency(), config.getWarmup(), new LatencyRecorder());
+
+                    log.info("{}: measuring for {} s with {} connections",
+                            client, config.getDuration().toSeconds(), config.getConcurrency());
+                    LatencyRecorder recorder = new LatencyRecorder();
+                    long elapsed = driver.runWithConcurrency(config.getConcurrency(), config.getDuration(), recorder);
+
+                    LoadTest.report(recorder.summarize(elapsed),
+                            config.getWorkDir().resolve("report-" + client + ".csv"));
+                }
+            }
+        }
+        System.exit(0);
+    }
+}
@@ -0,0 +1,76 @@
+package ru.practicum.shareit.loadtest;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class LatencyRecorder {
+    private final Map<Operation, Queue<Long>> latencies = new ConcurrentHashMap<>();
+    private final Map<Operation, AtomicLong> clientErrors = new ConcurrentHashMap<>();
+    private final Map<Operation, AtomicLong> failures = new ConcurrentHashMap<>();
+
+    public void record(Operation operation, long latencyNanos, int status) {
+        latencies.computeIfAbsent(operation, key -> new ConcurrentLinkedQueue<>()).add(latencyNanos);
+        if (status >= 400 && status < 500) {
+            clientErrors.computeIfAbsent(operation, key -> new AtomicLong()).incrementAndGet();
+        } else if (status >= 500 || status < 0) {
+            failures.computeIfAbsent(operation, key -> new AtomicLong()).incrementAndGet();
+        }
+    }
+
+    public Map<Operation, Summary> summarize(long elapsedNanos) {
+        Map<Operation, Summary> summaries = new TreeMap<>();
+        latencies.forEach((operation, queue) -> {
+            long[] sorted = queue.stream().mapToLong(Long::longValue).toArray();
+            Arrays.sort(sorted);
+            summaries.put(operation, new Summary(
+                    sorted.length,
+                    count(clientErrors, operation),
+                    count(failures, operation),
+                    sorted.length * 1e9 / elapsedNanos,
+                    percentileMillis(sorted, 0.50),
+                    percentileMillis(sorted, 0.99),
+                    percentileMillis(sorted, 1.0)));
+        });
+        return summaries;
+    }
+
+    private static long count(Map<Operation, AtomicLong> counters, Operation operation) {
+        AtomicLong counter = counters.get(operation);
+        return counter == null ? 0 : counter.get();
+    }
+
+    private static double percentileMillis(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    public static class Summary {
+        final long requests;
+        final long clientErrors;
+        final long failures;
+        final double throughput;
+        final double p50;
+        final double p99;
+        final double max;
+
+        Summary(long requests, long clientErrors, long failures, double throughput, double p50, double p99,
+                double max) {
+            this.requests = requests;
+            this.clientErrors = clientErrors;
+            this.failures = failures;
+            this.throughput = throughput;
+            this.p50 = p50;
+            this.p99 = p99;
+            this.max = max;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package ru.practicum.shareit.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.stream.Stream;
+
+@Slf4j
+public class LoadTest {
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = new LoadTestConfig();
+        log.info("Running {}", config);
+        resetWorkDir(config.getWorkDir());
+
+        DatasetSeeder seeder = new DatasetSeeder(config);
+        seeder.seed();
+
+        try (AppProcess server = startServer(config);
+             AppProcess gateway = startGateway(config, config.getGatewayClient())) {
+            server.awaitHealthy(config.getServerPort(), STARTUP_TIMEOUT);
+            gateway.awaitHealthy(config.getGatewayPort(), STARTUP_TIMEOUT);
+
+            TrafficDriver driver = new TrafficDriver(config, seeder.getItemOwners());
+            log.info("Warming up for {} s at {} rps", config.getWarmup().toSeconds(), config.getRate());
+            driver.run(config.getWarmup(), new LatencyRecorder());
+
+            log.info("Measuring for {} s at {} rps", config.getDuration().toSeconds(), config.getRate());
+            LatencyRecorder recorder = new LatencyRecorder();
+            long elapsed = driver.run(config.getDuration(), recorder);
+
+            report(recorder.summarize(elapsed), config.getWorkDir().resolve("report.csv"));
+        }
+        System.exit(0);
+    }
+
+    static AppProcess startServer(LoadTestConfig config) throws IOException {
+        return AppProcess.start("server", config.getServerJar(), config.getWorkDir(),
+                "--server.port=" + config.getServerPort(),
+                "--spring.profiles.active=test" + (config.isVirtualThreads() ? ",virtual-threads" : ""),
+                "--spring.datasource.url=" + config.getDatabaseUrl(),
+                "--spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+                "--shareit.booking-summary.roll-forward.enabled=true");
+    }
+
+    static AppProcess startGateway(LoadTestConfig config, String client) throws IOException {
+        return AppProcess.start("gateway-" + client, config.getGatewayJar(), config.getWorkDir(),
+                "--server.port=" + config.getGatewayPort(),
+                "--shareit-server.url=http://localhost:" + config.getServerPort(),
+                "--shareit-server.client=" + client,
+                "--spring.profiles.active=" + (config.isVirtualThreads() ? "virtual-threads" : "default"),
+                "--logging.level.org.springframework.web.client.RestTemplate=INFO");
+    }
+
+    static void resetWorkDir(Path workDir) throws IOException {
+        Files.createDirectories(workDir);
+        try (Stream<Path> files = Files.list(workDir)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                if (file.getFileName().toString().startsWith("shareit.")) {
+                    Files.delete(file);
+                }
+            }
+        }
+    }
+
+    static void report(Map<Operation, LatencyRecorder.Summary> summaries, Path csv) throws IOException {
+        String header = String.format("%-22s %9s %7s %9s %9s %9s %9s %9s",
+                "endpoint", "requests", "4xx", "failures", "rps", "p50 ms", "p99 ms", "max ms");
+        StringBuilder table = new StringBuilder(header).append(System.lineSeparator());
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(csv))) {
+            writer.println("endpoint,requests,client_errors,failures,rps,p50_ms,p99_ms,max_ms");
+            summaries.forEach((operation, summary) -> {
+                table.append(String.format("%-22s %9d %7d %9d %9.1f %9.2f %9.2f %9.2f",
+                        operation.getEndpoint(), summary.requests, summary.clientErrors, summary.failures,
+                        summary.throughput, summary.p50, summary.p99, summary.max))
+                        .append(System.lineSeparator());
+                writer.printf("%s,%d,%d,%d,%.1f,%.2f,%.2f,%.2f%n",
+                        operation.getEndpoint(), summary.requests, summary.clientErrors, summary.failures,
+                        summary.throughput, summary.p50, summary.p99, summary.max);
+            });
+        }
+        log.info("Results{}{}", System.lineSeparator(), table);
+        log.info("Written to {}", csv);
+    }
+}
@@ -0,0 +1,52 @@
+package ru.practicum.shareit.loadtest;
+
+import lombok.Getter;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Getter
+public class LoadTestConfig {
+    private final int rate = intProperty("loadtest.rate", 200);
+    private final Duration warmup = Duration.ofSeconds(intProperty("loadtest.warmupSeconds", 15));
+    private final Duration duration = Duration.ofSeconds(intProperty("loadtest.durationSeconds", 60));
+    private final int users = intProperty("loadtest.users", 1000);
+    private final int requests = intProperty("loadtest.requests", 1000);
+    private final int items = intProperty("loadtest.items", 5000);
+    private final int bookings = intProperty("loadtest.bookings", 20000);
+    private final int comments = intProperty("loadtest.comments", 5000);
+    // gateway transport for LoadTest, GatewayModeComparison runs both
+    private final String gatewayClient = System.getProperty("loadtest.gatewayClient", "blocking");
+    // runs server and gateway with the virtual-threads profile, needs a Java 21 runtime
+    private final boolean virtualThreads = Boolean.getBoolean("loadtest.virtualThreads");
+    // open connections for GatewayModeComparison
+    private final int concurrency = intProperty("loadtest.concurrency", 5000);
+    private final int serverPort = intProperty("loadtest.serverPort", 19090);
+    private final int gatewayPort = intProperty("loadtest.gatewayPort", 18080);
+    private final Path serverJar = Path.of(requiredProperty("loadtest.serverJar"));
+    private final Path gatewayJar = Path.of(requiredProperty("loadtest.gatewayJar"));
+    private final Path workDir = Path.of(System.getProperty("loadtest.workDir", "target/load-test"));
+
+    public String getDatabaseUrl() {
+        return "jdbc:h2:file:" + workDir.toAbsolutePath().resolve("shareit");
+    }
+
+    private static int intProperty(String name, int defaultValue) {
+        return Integer.parseInt(System.getProperty(name, String.valueOf(defaultValue)));
+    }
+
+    private static String requiredProperty(String name) {
+        String value = System.getProperty(name);
+        if (value == null) {
+            throw new IllegalStateException("System property " + name + " is not set.");
+        }
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("rate=%d/s concurrency=%d virtualThreads=%b warmup=%ds duration=%ds "
+                        + "users=%d requests=%d items=%d bookings=%d comments=%d",
+                rate, concurrency, virtualThreads, warmup.toSeconds(), duration.toSeconds(), users, requests, items, bookings, comments);
+    }
+}
@@ -0,0 +1,19 @@
+package ru.practicum.shareit.loadtest;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum Operation {
+    SEARCH_ITEMS("GET /items/search", 30),
+    OWNER_ITEMS("GET /items", 15),
+    GET_ITEM("GET /items/{id}", 15),
+    OWNER_BOOKINGS("GET /bookings/owner", 10),
+    USER_BOOKINGS("GET /bookings", 10),
+    CREATE_BOOKING("POST /bookings", 15),
+    APPROVE_BOOKING("PATCH /bookings/{id}", 5);
+
+    private final String endpoint;
+    private final int weight;
+}
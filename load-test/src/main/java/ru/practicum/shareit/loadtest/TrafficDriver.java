@@ -0,0 +1,196 @@
+package ru.practicum.shareit.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// run() is open loop: requests go out on schedule whether or not earlier ones have answered,
+// and latency is measured from the scheduled time, so a stalled server shows up in p99
+@Slf4j
+public class TrafficDriver {
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final LoadTestConfig config;
+    private final long[] itemOwners;
+    private final String baseUrl;
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .executor(Executors.newFixedThreadPool(32))
+            .connectTimeout(TIMEOUT)
+            .build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Queue<long[]> waitingBookings = new ConcurrentLinkedQueue<>();
+    private final int totalWeight;
+
+    public TrafficDriver(LoadTestConfig config, long[] itemOwners) {
+        this.config = config;
+        this.itemOwners = itemOwners;
+        this.baseUrl = "http://localhost:" + config.getGatewayPort();
+        int weight = 0;
+        for (Operation operation : Operation.values()) {
+            weight += operation.getWeight();
+        }
+        this.totalWeight = weight;
+    }
+
+    // returns the measured wall time in nanoseconds
+    public long run(Duration duration, LatencyRecorder recorder) throws InterruptedException {
+        long periodNanos = TimeUnit.SECONDS.toNanos(1) / config.getRate();
+        long start = System.nanoTime();
+        AtomicLong ticks = new AtomicLong();
+        AtomicLong inFlight = new AtomicLong();
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        scheduler.scheduleAtFixedRate(() -> {
+            long intended = start + ticks.getAndIncrement() * periodNanos;
+            inFlight.incrementAndGet();
+            send(nextOperation(), intended, recorder, inFlight::decrementAndGet);
+        }, 0, periodNanos, TimeUnit.NANOSECONDS);
+        Thread.sleep(duration.toMillis());
+        scheduler.shutdownNow();
+        long elapsed = System.nanoTime() - start;
+        awaitInFlight(inFlight);
+        return elapsed;
+    }
+
+    // closed loop: every connection sends its next request as soon as the previous one is answered,
+    // so the gateway holds `concurrency` requests at once
+    public long runWithConcurrency(int concurrency, Duration duration, LatencyRecorder recorder)
+            throws InterruptedException {
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        AtomicLong inFlight = new AtomicLong(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            loop(end, recorder, inFlight);
+        }
+        Thread.sleep(duration.toMillis());
+        long elapsed = System.nanoTime() - start;
+        awaitInFlight(inFlight);
+        return elapsed;
+    }
+
+    private void loop(long end, LatencyRecorder recorder, AtomicLong inFlight) {
+        if (System.nanoTime() >= end) {
+            inFlight.decrementAndGet();
+            return;
+        }
+        send(nextOperation(), System.nanoTime(), recorder, () -> loop(end, recorder, inFlight));
+    }
+
+    private void send(Operation operation, long intended, LatencyRecorder recorder, Runnable onDone) {
+        httpClient.sendAsync(request(operation), HttpResponse.BodyHandlers.ofString())
+                .whenComplete((response, error) -> {
+                    long latency = System.nanoTime() - intended;
+                    if (error != null) {
+                        recorder.record(operation, latency, -1);
+                    } else {
+                        recorder.record(operation, latency, response.statusCode());
+                        onResponse(operation, response);
+                    }
+                    onDone.run();
+                });
+    }
+
+    private static void awaitInFlight(AtomicLong inFlight) throws InterruptedException {
+        long deadline = System.nanoTime() + TIMEOUT.toNanos();
+        while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private Operation nextOperation() {
+        int roll = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (Operation operation : Operation.values()) {
+            roll -= operation.getWeight();
+            if (roll < 0) {
+                return operation;
+            }
+        }
+        return Operation.SEARCH_ITEMS;
+    }
+
+    private HttpRequest request(Operation operation) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int item = 1 + random.nextInt(config.getItems());
+        long user = 1 + random.nextInt(config.getUsers());
+        switch (operation) {
+            case SEARCH_ITEMS:
+                String word = DatasetSeeder.WORDS.get(random.nextInt(DatasetSeeder.WORDS.size()));
+                return get("/items/search?text=" + word + "&from=0&size=20", user);
+            case OWNER_ITEMS:
+                return get("/items?from=0&size=20", itemOwners[item]);
+            case GET_ITEM:
+                return get("/items/" + item, user);
+            case OWNER_BOOKINGS:
+                return get("/bookings/owner?state=ALL&from=0&size=20", itemOwners[item]);
+            case USER_BOOKINGS:
+                return get("/bookings?state=ALL&from=0&size=20", user);
+            case APPROVE_BOOKING:
+                long[] booking = waitingBookings.poll();
+                if (booking != null) {
+                    return builder("/bookings/" + booking[0] + "?approved=true", booking[1])
+                            .method("PATCH", HttpRequest.BodyPublishers.noBody())
+                            .build();
+                }
+                return createBooking(item, random);
+            default:
+                return createBooking(item, random);
+        }
+    }
+
+    private HttpRequest createBooking(int item, ThreadLocalRandom random) {
+        long booker;
+        do {
+            booker = 1 + random.nextInt(config.getUsers());
+        } while (booker == itemOwners[item] && config.getUsers() > 1);
+        LocalDateTime start = LocalDateTime.now()
+                .plusDays(1 + random.nextInt(365))
+                .plusHours(random.nextInt(24))
+                .truncatedTo(ChronoUnit.HOURS);
+        String body = String.format("{\"itemId\": %d, \"start\": \"%s\", \"end\": \"%s\"}",
+                item, start, start.plusHours(1 + random.nextInt(48)));
+
+        return builder("/bookings", booker)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private void onResponse(Operation operation, HttpResponse<String> response) {
+        if (operation != Operation.CREATE_BOOKING || response.statusCode() != 200) {
+            return;
+        }
+        try {
+            JsonNode booking = objectMapper.readTree(response.body());
+            int itemId = booking.get("item").get("id").asInt();
+            waitingBookings.add(new long[]{booking.get("id").asLong(), itemOwners[itemId]});
+        } catch (IOException | RuntimeException e) {
+            log.warn("Unexpected booking response: {}", response.body());
+        }
+    }
+
+    private HttpRequest get(String path, long userId) {
+        return builder(path, userId).GET().build();
+    }
+
+    private HttpRequest.Builder builder(String path, long userId) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(TIMEOUT)
+                .header(USER_HEADER, String.valueOf(userId));
+    }
+}
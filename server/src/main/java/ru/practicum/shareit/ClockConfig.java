@@ -0,0 +1,26 @@
+package ru.practicum.shareit;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+// the services read "now" from this clock and bind it into their queries; shareit.clock.fixed pins it
+// to a local date-time, for tests and for replaying recorded traffic against the state it was recorded in
+@Slf4j
+@Configuration
+public class ClockConfig {
+    @Bean
+    public Clock clock(@Value("${shareit.clock.fixed:}") String fixed) {
+        if (fixed.isBlank()) {
+            return Clock.systemDefaultZone();
+        }
+        log.info("Clock fixed at {}", fixed);
+        ZoneId zone = ZoneId.systemDefault();
+        return Clock.fixed(LocalDateTime.parse(fixed).atZone(zone).toInstant(), zone);
+    }
+}
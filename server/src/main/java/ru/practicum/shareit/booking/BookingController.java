@@ -1,15 +1,26 @@
 package ru.practicum.shareit.booking;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.booking.dto.BookingDecision;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingExpansion;
 import ru.practicum.shareit.booking.dto.BookingState;
+import ru.practicum.shareit.booking.dto.BulkBookingResult;
 import ru.practicum.shareit.booking.dto.InputBookingDto;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.export.NdjsonWriter;
+import ru.practicum.shareit.fields.Fields;
+import ru.practicum.shareit.pagination.Cursor;
 
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
 import java.util.List;
+import java.util.Set;
 
 @Slf4j
 @RestController
@@ -18,6 +29,7 @@ import java.util.List;
 @Validated
 public class BookingController {
     private final BookingService service;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     public BookingDto addBooking(@RequestHeader("X-Sharer-User-Id") long id,
@@ -26,6 +38,20 @@ public class BookingController {
         return service.addBooking(id, inputBookingDto);
     }
 
+    @PostMapping("/batch")
+    public List<BulkBookingResult> addBookings(@RequestHeader("X-Sharer-User-Id") long id,
+                                               @RequestBody List<InputBookingDto> inputBookingDtos) {
+        log.info("We have request for adding {} bookings by user with id {}.", inputBookingDtos.size(), id);
+        return service.addBookings(id, inputBookingDtos);
+    }
+
+    @PatchMapping("/batch")
+    public List<BulkBookingResult> changeStatusOfBookings(@RequestHeader("X-Sharer-User-Id") long id,
+                                                          @RequestBody List<BookingDecision> decisions) {
+        log.info("We have request for setting {} booking statuses by user with id {}.", decisions.size(), id);
+        return service.changeBookingStatuses(id, decisions);
+    }
+
     @PatchMapping("/{bookingId}")
     public BookingDto changeStatusOfBooking(@RequestHeader("X-Sharer-User-Id") long id,
                                             @PathVariable long bookingId,
@@ -39,25 +65,68 @@ public class BookingController {
 
     @GetMapping("/{bookingId}")
     public BookingDto getBooking(@RequestHeader("X-Sharer-User-Id") long id,
-                                 @PathVariable long bookingId) {
-        return service.getBooking(id, bookingId);
+                                 @PathVariable long bookingId,
+                                 @RequestParam(required = false) String expand) {
+        return service.getBooking(id, bookingId, BookingExpansion.parse(expand));
     }
 
     @GetMapping
-    public List<BookingDto> getUserBookings(
+    public ResponseEntity<?> getUserBookings(
             @RequestHeader("X-Sharer-User-Id") long id,
             @RequestParam(required = false, defaultValue = "ALL") BookingState state,
             @RequestParam(defaultValue = "0") int from,
-            @RequestParam(defaultValue = "100") int size) {
-        return service.getUserBookings(id, state, from, size);
+            @RequestParam(defaultValue = "100") int size,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) String expand,
+            @RequestParam(required = false) String fields) {
+        Fields selected = Fields.parse(fields, BookingDto.class);
+        Set<BookingExpansion> expansions = BookingExpansion.parse(expand, selected);
+        if (cursor != null) {
+            return selected.select(objectMapper,
+                    service.getUserBookings(id, state, Cursor.decode(cursor), size, expansions).toResponse());
+        }
+        return selected.select(objectMapper,
+                ResponseEntity.ok(service.getUserBookings(id, state, from, size, expansions)));
     }
 
     @GetMapping("/owner")
-    public List<BookingDto> getUserBookedItems(
+    public ResponseEntity<?> getUserBookedItems(
             @RequestHeader("X-Sharer-User-Id") long id,
             @RequestParam(required = false, defaultValue = "ALL") BookingState state,
             @RequestParam(defaultValue = "0") int from,
-            @RequestParam(defaultValue = "100") int size) {
-        return service.getOwnerBookingList(id, state, from, size);
+            @RequestParam(defaultValue = "100") int size,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) String expand,
+            @RequestParam(required = false) String fields) {
+        Fields selected = Fields.parse(fields, BookingDto.class);
+        Set<BookingExpansion> expansions = BookingExpansion.parse(expand, selected);
+        if (cursor != null) {
+            return selected.select(objectMapper,
+                    service.getOwnerBookingList(id, state, Cursor.decode(cursor), size, expansions).toResponse());
+        }
+        return selected.select(objectMapper,
+                ResponseEntity.ok(service.getOwnerBookingList(id, state, from, size, expansions)));
+    }
+
+    @GetMapping("/export")
+    public void exportUserBookings(@RequestHeader("X-Sharer-User-Id") long id,
+                                   @RequestParam(required = false) String expand,
+                                   HttpServletResponse response) throws IOException {
+        log.info("Exporting bookings of user with id {}.", id);
+        Set<BookingExpansion> expansions = BookingExpansion.parse(expand);
+        NdjsonWriter writer = new NdjsonWriter(objectMapper, response);
+        service.exportUserBookings(id, expansions, writer::write);
+        writer.close();
+    }
+
+    @GetMapping("/owner/export")
+    public void exportOwnerBookings(@RequestHeader("X-Sharer-User-Id") long id,
+                                    @RequestParam(required = false) String expand,
+                                    HttpServletResponse response) throws IOException {
+        log.info("Exporting bookings of items owned by user with id {}.", id);
+        Set<BookingExpansion> expansions = BookingExpansion.parse(expand);
+        NdjsonWriter writer = new NdjsonWriter(objectMapper, response);
+        service.exportOwnerBookings(id, expansions, writer::write);
+        writer.close();
     }
 }
@@ -2,34 +2,19 @@ package ru.practicum.shareit.booking.dto;
 
 import lombok.AllArgsConstructor;
 import lombok.Data;
-import ru.practicum.shareit.item.model.Item;
-import ru.practicum.shareit.user.model.User;
+import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
-import java.util.Objects;
 
+// item id and name and booker id by default, the rest only for the requested BookingExpansion values
 @Data
+@NoArgsConstructor
 @AllArgsConstructor
 public class BookingDto {
     private Long id;
     private LocalDateTime start;
     private LocalDateTime end;
-    private Item item;
-    private User booker;
+    private BookingItemDto item;
+    private BookingUserDto booker;
     private BookingStatus status;
-
-    @Override
-    public boolean equals(Object o) {
-        if (this == o) return true;
-        if (o == null || getClass() != o.getClass()) return false;
-        BookingDto booking = (BookingDto) o;
-        return Objects.equals(id, booking.id) && Objects.equals(start, booking.start) &&
-                Objects.equals(end, booking.end) && Objects.equals(item, booking.item) &&
-                Objects.equals(booker, booking.booker) && status == booking.status;
-    }
-
-    @Override
-    public int hashCode() {
-        return Objects.hash(id, start, end, item, booker, status);
-    }
 }
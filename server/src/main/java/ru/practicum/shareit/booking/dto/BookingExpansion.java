@@ -0,0 +1,45 @@
+package ru.practicum.shareit.booking.dto;
+
+import ru.practicum.shareit.fields.Fields;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+
+// the expand parameter of the booking endpoints, comma separated
+public enum BookingExpansion {
+    BOOKER("booker", "booker"),
+    ITEM("item", "item"),
+    ITEM_OWNER("item.owner", "item"),
+    ITEM_REQUEST("item.request", "item");
+
+    private final String value;
+    // the BookingDto property the expansion fills
+    private final String field;
+
+    BookingExpansion(String value, String field) {
+        this.value = value;
+        this.field = field;
+    }
+
+    public static Set<BookingExpansion> parse(String expand) {
+        Set<BookingExpansion> expansions = EnumSet.noneOf(BookingExpansion.class);
+        if (expand == null || expand.isBlank()) {
+            return expansions;
+        }
+        for (String value : expand.split(",")) {
+            expansions.add(Arrays.stream(values())
+                    .filter(expansion -> expansion.value.equals(value.trim()))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("Unknown expand: " + value.trim())));
+        }
+        return expansions;
+    }
+
+    // expansions of properties the fields leave out are dropped, so they are not fetched either
+    public static Set<BookingExpansion> parse(String expand, Fields fields) {
+        Set<BookingExpansion> expansions = parse(expand);
+        expansions.removeIf(expansion -> !fields.includes(expansion.field));
+        return expansions;
+    }
+}
@@ -0,0 +1,26 @@
+package ru.practicum.shareit.booking.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BookingItemDto {
+    private Long id;
+    private String name;
+    // expand=item
+    private String description;
+    private Boolean available;
+    // expand=item.owner
+    private BookingUserDto owner;
+    // expand=item.request
+    private BookingRequestDto request;
+
+    public BookingItemDto(Long id, String name) {
+        this(id, name, null, null, null, null);
+    }
+}
@@ -0,0 +1,25 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+@Getter
+@AllArgsConstructor
+@ToString
+@EqualsAndHashCode
+public class BookingShort {
+    private Long id;
+    private Long itemId;
+    private Long bookerId;
+    private LocalDateTime start;
+    private LocalDateTime end;
+    private BookingStatus status;
+
+    public BookingShort(Long id, Long itemId, Long bookerId, LocalDateTime start, LocalDateTime end, String status) {
+        this(id, itemId, bookerId, start, end, BookingStatus.valueOf(status));
+    }
+}
@@ -0,0 +1,20 @@
+package ru.practicum.shareit.booking.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BookingUserDto {
+    private Long id;
+    private String name;
+    private String email;
+
+    public BookingUserDto(Long id) {
+        this(id, null, null);
+    }
+}
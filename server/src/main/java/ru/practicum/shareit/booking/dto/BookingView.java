@@ -0,0 +1,23 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+// the columns of an unexpanded BookingDto, selected by BookingRepositoryCustom without loading entities
+@Getter
+@AllArgsConstructor
+@ToString
+@EqualsAndHashCode
+public class BookingView {
+    private Long id;
+    private LocalDateTime start;
+    private LocalDateTime end;
+    private BookingStatus status;
+    private Long itemId;
+    private String itemName;
+    private Long bookerId;
+}
@@ -0,0 +1,38 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+import org.springframework.http.HttpStatus;
+import ru.practicum.shareit.exception.ConflictException;
+import ru.practicum.shareit.exception.ForbiddenException;
+import ru.practicum.shareit.exception.SubstanceNotFoundException;
+
+@Getter
+@AllArgsConstructor
+@ToString
+@EqualsAndHashCode
+public class BulkBookingResult {
+    private int index;
+    private int status;
+    private BookingDto booking;
+    private String error;
+
+    public static BulkBookingResult ok(int index, BookingDto booking) {
+        return new BulkBookingResult(index, HttpStatus.OK.value(), booking, null);
+    }
+
+    // the same statuses ErrorHandler answers with for a single booking
+    public static BulkBookingResult failed(int index, RuntimeException e) {
+        HttpStatus status;
+        if (e instanceof SubstanceNotFoundException || e instanceof ForbiddenException) {
+            status = HttpStatus.NOT_FOUND;
+        } else if (e instanceof ConflictException) {
+            status = HttpStatus.CONFLICT;
+        } else {
+            status = HttpStatus.BAD_REQUEST;
+        }
+        return new BulkBookingResult(index, status.value(), null, e.getMessage());
+    }
+}
@@ -1,6 +1,7 @@
 package ru.practicum.shareit.booking.model;
 
 import lombok.*;
+import ru.practicum.shareit.booking.dto.BookingShort;
 import ru.practicum.shareit.booking.dto.BookingStatus;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
@@ -15,20 +16,47 @@ import java.time.LocalDateTime;
 @ToString
 @Entity
 @Table(name = "bookings")
+@NamedEntityGraph(name = "Booking.withItem", attributeNodes = @NamedAttributeNode("item"))
+@NamedNativeQuery(name = "Booking.findLastBookingsByItemIds",
+        query = "SELECT booking_id, item_id, booker_id, start_date, end_date, status FROM (" +
+                "SELECT b.*, ROW_NUMBER() OVER (PARTITION BY item_id ORDER BY end_date DESC, booking_id DESC) AS rn " +
+                "FROM bookings AS b " +
+                "WHERE item_id IN (:itemIds) AND start_date < :now) AS ranked " +
+                "WHERE rn = 1",
+        resultSetMapping = "BookingShort")
+@NamedNativeQuery(name = "Booking.findNextBookingsByItemIds",
+        query = "SELECT booking_id, item_id, booker_id, start_date, end_date, status FROM (" +
+                "SELECT b.*, ROW_NUMBER() OVER (PARTITION BY item_id ORDER BY start_date, booking_id) AS rn " +
+                "FROM bookings AS b " +
+                "WHERE item_id IN (:itemIds) AND start_date > :now) AS ranked " +
+                "WHERE rn = 1",
+        resultSetMapping = "BookingShort")
+@SqlResultSetMapping(name = "BookingShort",
+        classes = @ConstructorResult(targetClass = BookingShort.class, columns = {
+                @ColumnResult(name = "booking_id", type = Long.class),
+                @ColumnResult(name = "item_id", type = Long.class),
+                @ColumnResult(name = "booker_id", type = Long.class),
+                @ColumnResult(name = "start_date", type = LocalDateTime.class),
+                @ColumnResult(name = "end_date", type = LocalDateTime.class),
+                @ColumnResult(name = "status", type = String.class)
+        }))
 public class Booking {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bookings_seq")
+    @SequenceGenerator(name = "bookings_seq", sequenceName = "bookings_seq", allocationSize = 50)
     @Column(name = "booking_id")
     private Long id;
     @Column(name = "start_date")
     private LocalDateTime start;
     @Column(name = "end_date")
     private LocalDateTime end;
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "item_id")
+    @ToString.Exclude
     private Item item;
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "booker_id")
+    @ToString.Exclude
     private User booker;
     @Column(nullable = false)
     @Enumerated(EnumType.STRING)
@@ -0,0 +1,32 @@
+package ru.practicum.shareit.booking.repository;
+
+import org.springframework.data.jpa.domain.Specification;
+import ru.practicum.shareit.booking.dto.BookingExpansion;
+import ru.practicum.shareit.booking.dto.BookingShort;
+import ru.practicum.shareit.booking.dto.BookingView;
+import ru.practicum.shareit.booking.model.Booking;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+public interface BookingRepositoryCustom {
+    // latest-ending booking started before now, per item
+    List<BookingShort> findLastBookingsByItemIds(Set<Long> itemIds, LocalDateTime now);
+
+    // earliest-starting booking started after now, per item
+    List<BookingShort> findNextBookingsByItemIds(Set<Long> itemIds, LocalDateTime now);
+
+    // ordered by start desc, id desc, without a count query; the item and whatever expand needs are fetched along
+    List<Booking> findBookings(Specification<Booking> specification, Set<BookingExpansion> expand,
+                               int offset, int limit);
+
+    // same order, unbounded, must be consumed and closed inside a transaction
+    Stream<Booking> streamBookings(Specification<Booking> specification, Set<BookingExpansion> expand);
+
+    // findBookings and streamBookings as single-statement projections, for responses without expansions
+    List<BookingView> findBookingViews(Specification<Booking> specification, int offset, int limit);
+
+    Stream<BookingView> streamBookingViews(Specification<Booking> specification);
+}
@@ -0,0 +1,140 @@
+package ru.practicum.shareit.booking.repository;
+
+import org.hibernate.jpa.QueryHints;
+import org.springframework.data.jpa.domain.Specification;
+import ru.practicum.shareit.booking.dto.BookingExpansion;
+import ru.practicum.shareit.booking.dto.BookingShort;
+import ru.practicum.shareit.booking.dto.BookingView;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.model.Item;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Fetch;
+import javax.persistence.criteria.Join;
+import javax.persistence.criteria.JoinType;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+public class BookingRepositoryCustomImpl implements BookingRepositoryCustom {
+    private static final int STREAM_FETCH_SIZE = 500;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<BookingShort> findLastBookingsByItemIds(Set<Long> itemIds, LocalDateTime now) {
+        return findBookingShorts("Booking.findLastBookingsByItemIds", itemIds, now);
+    }
+
+    @Override
+    public List<BookingShort> findNextBookingsByItemIds(Set<Long> itemIds, LocalDateTime now) {
+        return findBookingShorts("Booking.findNextBookingsByItemIds", itemIds, now);
+    }
+
+    @Override
+    public List<Booking> findBookings(Specification<Booking> specification, Set<BookingExpansion> expand,
+                                      int offset, int limit) {
+        return createBookingsQuery(specification, expand)
+                .setFirstResult(offset)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public Stream<Booking> streamBookings(Specification<Booking> specification, Set<BookingExpansion> expand) {
+        AtomicInteger read = new AtomicInteger();
+
+        // rows come through a forward-only cursor, clearing the persistence context every batch keeps memory flat
+        return createBookingsQuery(specification, expand)
+                .setHint(QueryHints.HINT_FETCH_SIZE, STREAM_FETCH_SIZE)
+                .setHint(QueryHints.HINT_READONLY, true)
+                .getResultStream()
+                .peek(booking -> {
+                    if (read.incrementAndGet() % STREAM_FETCH_SIZE == 0) {
+                        entityManager.clear();
+                    }
+                });
+    }
+
+    @Override
+    public List<BookingView> findBookingViews(Specification<Booking> specification, int offset, int limit) {
+        return createBookingViewsQuery(specification)
+                .setFirstResult(offset)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public Stream<BookingView> streamBookingViews(Specification<Booking> specification) {
+        return createBookingViewsQuery(specification)
+                .setHint(QueryHints.HINT_FETCH_SIZE, STREAM_FETCH_SIZE)
+                .getResultStream();
+    }
+
+    private TypedQuery<Booking> createBookingsQuery(Specification<Booking> specification,
+                                                    Set<BookingExpansion> expand) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Booking> query = cb.createQuery(Booking.class);
+        Root<Booking> root = query.from(Booking.class);
+        Fetch<Booking, Item> item = root.fetch("item");
+        if (expand.contains(BookingExpansion.BOOKER)) {
+            root.fetch("booker");
+        }
+        if (expand.contains(BookingExpansion.ITEM_OWNER)) {
+            item.fetch("owner");
+        }
+        if (expand.contains(BookingExpansion.ITEM_REQUEST)) {
+            item.fetch("request", JoinType.LEFT).fetch("requester", JoinType.LEFT);
+        }
+
+        return entityManager.createQuery(where(specification, root, query, cb));
+    }
+
+    private TypedQuery<BookingView> createBookingViewsQuery(Specification<Booking> specification) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<BookingView> query = cb.createQuery(BookingView.class);
+        Root<Booking> root = query.from(Booking.class);
+        Join<Booking, Item> item = BookingSpecifications.item(root);
+        query.select(cb.construct(BookingView.class,
+                root.get("id"),
+                root.get("start"),
+                root.get("end"),
+                root.get("status"),
+                item.get("id"),
+                item.get("name"),
+                root.get("booker").get("id")));
+
+        return entityManager.createQuery(where(specification, root, query, cb));
+    }
+
+    private static <T> CriteriaQuery<T> where(Specification<Booking> specification,
+                                              Root<Booking> root,
+                                              CriteriaQuery<T> query,
+                                              CriteriaBuilder cb) {
+        Predicate predicate = specification.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        return query.orderBy(cb.desc(root.get("start")), cb.desc(root.get("id")));
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<BookingShort> findBookingShorts(String queryName, Set<Long> itemIds, LocalDateTime now) {
+        if (itemIds.isEmpty()) {
+            return List.of();
+        }
+        return entityManager.createNamedQuery(queryName)
+                .setParameter("itemIds", itemIds)
+                .setParameter("now", now)
+                .getResultList();
+    }
+}
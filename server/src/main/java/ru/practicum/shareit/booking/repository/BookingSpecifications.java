@@ -0,0 +1,83 @@
+package ru.practicum.shareit.booking.repository;
+
+import org.springframework.data.jpa.domain.Specification;
+import ru.practicum.shareit.booking.dto.BookingState;
+import ru.practicum.shareit.booking.dto.BookingStatus;
+import ru.practicum.shareit.booking.dto.BookingView;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.Cursor;
+
+import javax.persistence.criteria.Fetch;
+import javax.persistence.criteria.Join;
+import javax.persistence.criteria.Root;
+import java.time.LocalDateTime;
+
+public final class BookingSpecifications {
+    private BookingSpecifications() {
+    }
+
+    public static Specification<Booking> bookedBy(long bookerId) {
+        return (root, query, cb) -> cb.equal(root.get("booker").get("id"), bookerId);
+    }
+
+    public static Specification<Booking> ofItemsOwnedBy(long ownerId) {
+        return (root, query, cb) -> cb.equal(item(root).get("owner").get("id"), ownerId);
+    }
+
+    // the query's own join or fetch of the item, a path through root.get("item") would join items a second time
+    @SuppressWarnings("unchecked")
+    static Join<Booking, Item> item(Root<Booking> root) {
+        for (Fetch<Booking, ?> fetch : root.getFetches()) {
+            if (fetch.getAttribute().getName().equals("item")) {
+                return (Join<Booking, Item>) fetch;
+            }
+        }
+        for (Join<Booking, ?> join : root.getJoins()) {
+            if (join.getAttribute().getName().equals("item")) {
+                return (Join<Booking, Item>) join;
+            }
+        }
+        return root.join("item");
+    }
+
+    public static Specification<Booking> inState(BookingState state, LocalDateTime now) {
+        switch (state) {
+            case WAITING:
+                return (root, query, cb) -> cb.equal(root.get("status"), BookingStatus.WAITING);
+            case REJECTED:
+                return (root, query, cb) -> cb.equal(root.get("status"), BookingStatus.REJECTED);
+            case CURRENT:
+                return (root, query, cb) -> cb.and(
+                        cb.lessThan(root.get("start"), now),
+                        cb.greaterThan(root.get("end"), now));
+            case PAST:
+                return (root, query, cb) -> cb.lessThan(root.get("end"), now);
+            case FUTURE:
+                return (root, query, cb) -> cb.greaterThan(root.get("start"), now);
+            default:
+                return (root, query, cb) -> null;
+        }
+    }
+
+    // keyset for the (start desc, id desc) order, the cursor holds start and id of the last booking seen
+    public static Specification<Booking> after(Cursor cursor) {
+        if (cursor.isFirst()) {
+            return (root, query, cb) -> null;
+        }
+        LocalDateTime start = cursor.getDateTime(0);
+        long id = cursor.getLong(1);
+
+        return (root, query, cb) -> cb.or(
+                cb.lessThan(root.get("start"), start),
+                cb.and(cb.equal(root.get("start"), start), cb.lessThan(root.get("id"), id)));
+    }
+
+    public static Cursor cursorOf(Booking booking) {
+        return Cursor.of(booking.getStart(), booking.getId());
+    }
+
+    public static Cursor cursorOf(BookingView booking) {
+        return Cursor.of(booking.getStart(), booking.getId());
+    }
+}
@@ -2,22 +2,64 @@ package ru.practicum.shareit.booking.service;
 
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingDtoWithBookerId;
+import ru.practicum.shareit.booking.dto.BookingExpansion;
+import ru.practicum.shareit.booking.dto.BookingItemDto;
+import ru.practicum.shareit.booking.dto.BookingRequestDto;
+import ru.practicum.shareit.booking.dto.BookingShort;
 import ru.practicum.shareit.booking.dto.BookingStatus;
+import ru.practicum.shareit.booking.dto.BookingUserDto;
+import ru.practicum.shareit.booking.dto.BookingView;
 import ru.practicum.shareit.booking.dto.InputBookingDto;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.service.ItemMapper;
+import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.model.User;
 
+import java.util.Set;
+
 public class BookingMapper {
     public static BookingDto toBookingDto(Booking booking) {
+        return toBookingDto(booking, Set.of());
+    }
+
+    // the booker and the item's owner, request and requester are only read for the expansions asked for
+    public static BookingDto toBookingDto(Booking booking, Set<BookingExpansion> expand) {
+        Item item = booking.getItem();
+        BookingItemDto itemDto = new BookingItemDto(item.getId(), item.getName());
+        if (expand.contains(BookingExpansion.ITEM)) {
+            itemDto.setDescription(item.getDescription());
+            itemDto.setAvailable(item.isAvailable());
+        }
+        if (expand.contains(BookingExpansion.ITEM_OWNER)) {
+            itemDto.setOwner(toBookingUserDto(item.getOwner()));
+        }
+        if (expand.contains(BookingExpansion.ITEM_REQUEST) && item.getRequest() != null) {
+            ItemRequest request = item.getRequest();
+            itemDto.setRequest(new BookingRequestDto(request.getId(), request.getDescription(), request.getCreated(),
+                    toBookingUserDto(request.getRequester())));
+        }
+
         return new BookingDto(
-            booking.getId(),
-            booking.getStart(),
-            booking.getEnd(),
-            booking.getItem(),
-            booking.getBooker(),
-            booking.getStatus()
+                booking.getId(),
+                booking.getStart(),
+                booking.getEnd(),
+                itemDto,
+                expand.contains(BookingExpansion.BOOKER)
+                        ? toBookingUserDto(booking.getBooker())
+                        : new BookingUserDto(booking.getBooker().getId()),
+                booking.getStatus()
+        );
+    }
+
+    public static BookingDto toBookingDto(BookingView booking) {
+        return new BookingDto(
+                booking.getId(),
+                booking.getStart(),
+                booking.getEnd(),
+                new BookingItemDto(booking.getItemId(), booking.getItemName()),
+                new BookingUserDto(booking.getBookerId()),
+                booking.getStatus()
         );
     }
 
@@ -32,6 +74,10 @@ public class BookingMapper {
         );
     }
 
+    private static BookingUserDto toBookingUserDto(User user) {
+        return new BookingUserDto(user.getId(), user.getName(), user.getEmail());
+    }
+
     public static BookingDtoWithBookerId toBookingDtoWithBookerID(Booking booking) {
         return new BookingDtoWithBookerId(
                 booking.getId(),
@@ -42,4 +88,15 @@ public class BookingMapper {
                 booking.getStatus()
         );
     }
+
+    public static BookingDtoWithBookerId toBookingDtoWithBookerID(BookingShort booking, Item item) {
+        return new BookingDtoWithBookerId(
+                booking.getId(),
+                booking.getStart(),
+                booking.getEnd(),
+                ItemMapper.itemToDto(item),
+                booking.getBookerId(),
+                booking.getStatus()
+        );
+    }
 }
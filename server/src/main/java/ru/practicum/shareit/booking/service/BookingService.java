@@ -1,19 +1,45 @@
 package ru.practicum.shareit.booking.service;
 
+import ru.practicum.shareit.booking.dto.BookingDecision;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingExpansion;
 import ru.practicum.shareit.booking.dto.BookingState;
+import ru.practicum.shareit.booking.dto.BulkBookingResult;
 import ru.practicum.shareit.booking.dto.InputBookingDto;
+import ru.practicum.shareit.pagination.Cursor;
+import ru.practicum.shareit.pagination.CursorPage;
 
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
 
 public interface BookingService {
     BookingDto addBooking(long userId, InputBookingDto inputBookingDto);
 
-    BookingDto getBooking(long userId, long bookingId);
+    // one result per entry, in the order of the request; a failed entry does not stop the others
+    List<BulkBookingResult> addBookings(long userId, List<InputBookingDto> inputBookingDtos);
 
-    List<BookingDto> getUserBookings(long userId, BookingState state, int from, int size);
+    // expand names the related entities to return in full, see BookingExpansion
+    BookingDto getBooking(long userId, long bookingId, Set<BookingExpansion> expand);
+
+    List<BookingDto> getUserBookings(long userId, BookingState state, int from, int size,
+                                     Set<BookingExpansion> expand);
+
+    CursorPage<BookingDto> getUserBookings(long userId, BookingState state, Cursor cursor, int size,
+                                           Set<BookingExpansion> expand);
 
     BookingDto changeBookingStatus(long userId, long bookingId, boolean changeStatus);
 
-    List<BookingDto> getOwnerBookingList(long ownerId, BookingState state, int from, int size);
+    List<BulkBookingResult> changeBookingStatuses(long userId, List<BookingDecision> decisions);
+
+    List<BookingDto> getOwnerBookingList(long ownerId, BookingState state, int from, int size,
+                                         Set<BookingExpansion> expand);
+
+    CursorPage<BookingDto> getOwnerBookingList(long ownerId, BookingState state, Cursor cursor, int size,
+                                               Set<BookingExpansion> expand);
+
+    // the whole history, newest first, handed to the consumer one booking at a time
+    void exportUserBookings(long userId, Set<BookingExpansion> expand, Consumer<BookingDto> consumer);
+
+    void exportOwnerBookings(long ownerId, Set<BookingExpansion> expand, Consumer<BookingDto> consumer);
 }
@@ -2,186 +2,183 @@ package ru.practicum.shareit.booking.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingDecision;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingExpansion;
 import ru.practicum.shareit.booking.dto.BookingState;
 import ru.practicum.shareit.booking.dto.BookingStatus;
+import ru.practicum.shareit.booking.dto.BookingView;
+import ru.practicum.shareit.booking.dto.BulkBookingResult;
 import ru.practicum.shareit.booking.dto.InputBookingDto;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.repository.BookingSpecifications;
+import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.ForbiddenException;
 import ru.practicum.shareit.exception.NotAvailableException;
 import ru.practicum.shareit.exception.SubstanceNotFoundException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.summary.ItemBookingSummaryService;
+import ru.practicum.shareit.pagination.Cursor;
+import ru.practicum.shareit.pagination.CursorPage;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
+import java.time.Clock;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
+@Transactional(readOnly = true)
 public class BookingServiceImpl implements BookingService {
     private final UserRepository userRepository;
     private final ItemRepository itemRepository;
     private final BookingRepository bookingRepository;
+    private final ItemBookingSummaryService bookingSummaryService;
+    private final Clock clock;
 
     @Override
     @Transactional
     public BookingDto addBooking(long userId, InputBookingDto inputBookingDto) throws NotAvailableException {
         final User booker = userRepository.findById(userId).orElseThrow(() -> new SubstanceNotFoundException(
                 String.format("There isn't user with id %d in database.", userId)));
-        Item bookingItem = itemRepository.findById(inputBookingDto.getItemId())
+        Item bookingItem = itemRepository.findForUpdateById(inputBookingDto.getItemId())
                 .orElseThrow(() -> new SubstanceNotFoundException(
                 String.format("There isn't item with id %d in database.", inputBookingDto.getItemId())
         ));
-        if (!bookingItem.isAvailable()) {
-            throw new NotAvailableException(
-                    String.format("Item with id %d is not available for booking.", inputBookingDto.getItemId()));
-        }
-        if (booker.getId().equals(bookingItem.getOwner().getId())) {
-            throw new SubstanceNotFoundException(String.format(
-                    "User with id %d cannot add item with %d", booker.getId(), bookingItem.getId()));
-        }
+        checkBookable(booker, bookingItem);
+        checkNoApprovedOverlap(bookingItem.getId(), inputBookingDto.getStart(), inputBookingDto.getEnd());
         final Booking savedBooking = bookingRepository.save(BookingMapper
                 .toBooking(inputBookingDto, bookingItem, booker));
+        bookingSummaryService.addBookings(List.of(savedBooking), LocalDateTime.now(clock));
         log.info("New booking saved successfully.");
 
         return BookingMapper.toBookingDto(savedBooking);
     }
 
     @Override
-    public BookingDto getBooking(long userId, long bookingId) {
+    @Transactional
+    public List<BulkBookingResult> addBookings(long userId, List<InputBookingDto> inputBookingDtos) {
+        if (inputBookingDtos.isEmpty()) {
+            return List.of();
+        }
+        final User booker = userRepository.findById(userId).orElseThrow(() -> new SubstanceNotFoundException(
+                String.format("There isn't user with id %d in database.", userId)));
+        final Set<Long> itemIds = inputBookingDtos.stream()
+                .map(InputBookingDto::getItemId)
+                .collect(Collectors.toSet());
+        final Map<Long, Item> items = itemRepository.findForUpdateByIdInOrderById(itemIds).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        final Map<Long, List<Booking>> approvedBookings = findApprovedBookings(itemIds,
+                inputBookingDtos.stream().map(InputBookingDto::getStart).min(Comparator.naturalOrder()).orElseThrow(),
+                inputBookingDtos.stream().map(InputBookingDto::getEnd).max(Comparator.naturalOrder()).orElseThrow());
+
+        final BulkBookingResult[] results = new BulkBookingResult[inputBookingDtos.size()];
+        final Map<Integer, Booking> accepted = new LinkedHashMap<>();
+        for (int i = 0; i < inputBookingDtos.size(); i++) {
+            final InputBookingDto inputBookingDto = inputBookingDtos.get(i);
+            try {
+                final Item bookingItem = Optional.ofNullable(items.get(inputBookingDto.getItemId()))
+                        .orElseThrow(() -> new SubstanceNotFoundException(String.format(
+                                "There isn't item with id %d in database.", inputBookingDto.getItemId())));
+                checkBookable(booker, bookingItem);
+                checkNoApprovedOverlap(approvedBookings, null, bookingItem.getId(),
+                        inputBookingDto.getStart(), inputBookingDto.getEnd());
+                accepted.put(i, BookingMapper.toBooking(inputBookingDto, bookingItem, booker));
+            } catch (SubstanceNotFoundException | NotAvailableException | ConflictException e) {
+                results[i] = BulkBookingResult.failed(i, e);
+            }
+        }
+        bookingRepository.saveAll(accepted.values());
+        bookingSummaryService.addBookings(accepted.values(), LocalDateTime.now(clock));
+        accepted.forEach((i, booking) -> results[i] = BulkBookingResult.ok(i, BookingMapper.toBookingDto(booking)));
+        log.info("{} of {} new bookings saved successfully.", accepted.size(), inputBookingDtos.size());
+
+        return Arrays.asList(results);
+    }
+
+    @Override
+    public BookingDto getBooking(long userId, long bookingId, Set<BookingExpansion> expand) {
         final Booking booking = bookingRepository.findById(bookingId)
                 .orElseThrow(() -> new SubstanceNotFoundException(
                         String.format("There isn't booking with id %d in database.", bookingId)));
-        final User user = userRepository.findById(userId)
-                .orElseThrow(() -> new SubstanceNotFoundException(
-                        String.format("There isn't user with id %d in database.", userId)));
-        if (!Objects.equals(user.getId(), booking.getBooker().getId())
-                && !Objects.equals(user.getId(), booking.getItem().getOwner().getId())) {
+        if (!Objects.equals(userId, booking.getBooker().getId())
+                && !Objects.equals(userId, booking.getItem().getOwner().getId())) {
             throw new SubstanceNotFoundException(String.format(
                             "User with id %d cannot get item with %d", userId, bookingId)
             );
         }
-        return BookingMapper.toBookingDto(booking);
+        return BookingMapper.toBookingDto(booking, expand);
     }
 
     @Override
-    public List<BookingDto> getUserBookings(long userId, BookingState state, int from, int size) {
+    public List<BookingDto> getUserBookings(long userId, BookingState state, int from, int size,
+                                            Set<BookingExpansion> expand) {
         userRepository.findById(userId).orElseThrow(() -> new SubstanceNotFoundException(
                 String.format("There isn't user with id %d in database.", userId)));
-        List<Booking> resultList;
-
-        switch (state) {
-            case WAITING:
-                resultList = bookingRepository.findBookingsByBooker_IdAndStatus(
-                        userId,
-                        BookingStatus.WAITING,
-                        PageRequest.of(from / size, size, Sort.by(Sort.Direction.DESC, "start"))
-                );
-                break;
-            case REJECTED:
-                resultList = bookingRepository.findBookingsByBooker_IdAndStatus(
-                        userId,
-                        BookingStatus.REJECTED,
-                        PageRequest.of(from / size, size, Sort.by(Sort.Direction.DESC, "start"))
-                );
-                break;
-            case CURRENT:
-                resultList = bookingRepository.findBookingsByBooker_IdAndStartIsBeforeAndEndIsAfter(
-                        userId,
-                        LocalDateTime.now(),
-                        LocalDateTime.now(),
-                        PageRequest.of(from / size, size, Sort.by(Sort.Direction.DESC, "start"))
-                );
-                break;
-            case PAST:
-                resultList = bookingRepository.findBookingsByBooker_IdAndEndIsBefore(
-                        userId,
-                        LocalDateTime.now(),
-                        PageRequest.of(from / size, size, Sort.by(Sort.Direction.DESC, "start"))
-                );
-                break;
-            case FUTURE:
-                resultList = bookingRepository.findBookingsByBooker_IdAndStartIsAfter(
-                        userId,
-                        LocalDateTime.now(),
-                        PageRequest.of(from / size, size, Sort.by(Sort.Direction.DESC, "start"))
-                );
-                break;
-            case ALL:
-                resultList = bookingRepository.findBookingsByBooker_Id(
-                        userId,
-                        PageRequest.of(from / size, size, Sort.by(Sort.Direction.DESC, "start"))
-                );
-                break;
-            default:
-                throw new NotAvailableException("Unknown state: " + state);
-        }
-
-        return resultList.stream()
-                .map(BookingMapper::toBookingDto)
-                .collect(Collectors.toList());
+
+        return getBookingList(BookingSpecifications.bookedBy(userId), state, from, size, expand);
     }
 
     @Override
-    public List<BookingDto> getOwnerBookingList(long userId, BookingState state, int from, int size) {
+    public CursorPage<BookingDto> getUserBookings(long userId, BookingState state, Cursor cursor, int size,
+                                                  Set<BookingExpansion> expand) {
         userRepository.findById(userId).orElseThrow(() -> new SubstanceNotFoundException(
                 String.format("There isn't user with id %d in database.", userId)));
-        List<Booking> resultList;
-
-        switch (state) {
-            case WAITING:
-                resultList = bookingRepository.getBookingsByUserItemsWithState(
-                        userId,
-                        BookingStatus.WAITING,
-                        PageRequest.of(from / size, size, Sort.by(Sort.Direction.DESC, "start"))
-                );
-                break;
-            case REJECTED:
-                resultList = bookingRepository.getBookingsByUserItemsWithState(
-                        userId,
-                        BookingStatus.REJECTED,
-                        PageRequest.of(from / size, size, Sort.by(Sort.Direction.DESC, "start"))
-                );
-                break;
-            case CURRENT:
-                resultList = bookingRepository.getBookingsByOwnerIdCurrent(
-                        userId,
-                        PageRequest.of(from / size, size, Sort.by(Sort.Direction.DESC, "start")));
-                break;
-            case PAST:
-                resultList = bookingRepository.getBookingsByOwnerIdPast(
-                        userId,
-                        PageRequest.of(from / size, size, Sort.by(Sort.Direction.DESC, "start"))
-                );
-                break;
-            case FUTURE:
-                resultList = bookingRepository.getBookingsByOwnerIdFuture(
-                        userId,
-                        PageRequest.of(from / size, size, Sort.by(Sort.Direction.DESC, "start"))
-                );
-                break;
-            case ALL:
-                resultList = bookingRepository.getBookingsByOwnerId(
-                        userId,
-                        PageRequest.of(from / size, size, Sort.by(Sort.Direction.DESC, "start"))
-                );
-                break;
-            default:
-                throw new NotAvailableException("Unknown state: " + state);
-        }
-        return resultList.stream()
-                .map(BookingMapper::toBookingDto)
-                .collect(Collectors.toList());
+
+        return getBookingPage(BookingSpecifications.bookedBy(userId), state, cursor, size, expand);
+    }
+
+    @Override
+    public List<BookingDto> getOwnerBookingList(long userId, BookingState state, int from, int size,
+                                                Set<BookingExpansion> expand) {
+        userRepository.findById(userId).orElseThrow(() -> new SubstanceNotFoundException(
+                String.format("There isn't user with id %d in database.", userId)));
+
+        return getBookingList(BookingSpecifications.ofItemsOwnedBy(userId), state, from, size, expand);
+    }
+
+    @Override
+    public CursorPage<BookingDto> getOwnerBookingList(long userId, BookingState state, Cursor cursor, int size,
+                                                      Set<BookingExpansion> expand) {
+        userRepository.findById(userId).orElseThrow(() -> new SubstanceNotFoundException(
+                String.format("There isn't user with id %d in database.", userId)));
+
+        return getBookingPage(BookingSpecifications.ofItemsOwnedBy(userId), state, cursor, size, expand);
+    }
+
+    @Override
+    public void exportUserBookings(long userId, Set<BookingExpansion> expand, Consumer<BookingDto> consumer) {
+        userRepository.findById(userId).orElseThrow(() -> new SubstanceNotFoundException(
+                String.format("There isn't user with id %d in database.", userId)));
+
+        exportBookings(BookingSpecifications.bookedBy(userId), expand, consumer);
+    }
+
+    @Override
+    public void exportOwnerBookings(long ownerId, Set<BookingExpansion> expand, Consumer<BookingDto> consumer) {
+        userRepository.findById(ownerId).orElseThrow(() -> new SubstanceNotFoundException(
+                String.format("There isn't user with id %d in database.", ownerId)));
+
+        exportBookings(BookingSpecifications.ofItemsOwnedBy(ownerId), expand, consumer);
     }
 
     @Override
@@ -200,11 +197,186 @@ public class BookingServiceImpl implements BookingService {
         } else {
             status = BookingStatus.REJECTED;
         }
-        if (booking.getStatus() == status) {
-            throw new IllegalArgumentException(String.format("This booking already has status %s.", status));
+        checkStatusChange(booking, status);
+        if (status == BookingStatus.APPROVED) {
+            itemRepository.findForUpdateById(booking.getItem().getId());
+            checkNoApprovedOverlap(booking.getItem().getId(), booking.getStart(), booking.getEnd());
         }
         booking.setStatus(status);
         Booking newBooking = bookingRepository.save(booking);
+        bookingSummaryService.changeStatus(List.of(newBooking), status);
         return BookingMapper.toBookingDto(newBooking);
     }
+
+    @Override
+    @Transactional
+    public List<BulkBookingResult> changeBookingStatuses(long userId, List<BookingDecision> decisions) {
+        final Map<Long, Booking> bookings = bookingRepository.findAllById(decisions.stream()
+                        .map(BookingDecision::getBookingId)
+                        .collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(Booking::getId, Function.identity()));
+        final BulkBookingResult[] results = new BulkBookingResult[decisions.size()];
+        final List<Integer> approvals = new ArrayList<>();
+        final List<Integer> rejections = new ArrayList<>();
+        for (int i = 0; i < decisions.size(); i++) {
+            final BookingDecision decision = decisions.get(i);
+            try {
+                final Booking booking = Optional.ofNullable(bookings.get(decision.getBookingId()))
+                        .orElseThrow(() -> new SubstanceNotFoundException(String.format(
+                                "There isn't booking with id %d in database.", decision.getBookingId())));
+                if (userId != booking.getItem().getOwner().getId()) {
+                    throw new ForbiddenException(String.format(
+                            "User with id %d cannot get item with %d", userId, decision.getBookingId()));
+                }
+                (decision.isApproved() ? approvals : rejections).add(i);
+            } catch (SubstanceNotFoundException | ForbiddenException e) {
+                results[i] = BulkBookingResult.failed(i, e);
+            }
+        }
+
+        // rejections go first and free their slots for the approvals of the same batch
+        final List<Booking> rejected = new ArrayList<>();
+        for (int i : rejections) {
+            final Booking booking = bookings.get(decisions.get(i).getBookingId());
+            try {
+                checkStatusChange(booking, BookingStatus.REJECTED);
+                booking.setStatus(BookingStatus.REJECTED);
+                rejected.add(booking);
+                results[i] = BulkBookingResult.ok(i, BookingMapper.toBookingDto(booking));
+            } catch (IllegalArgumentException e) {
+                results[i] = BulkBookingResult.failed(i, e);
+            }
+        }
+        bookingRepository.flush();
+        bookingSummaryService.changeStatus(rejected, BookingStatus.REJECTED);
+
+        if (!approvals.isEmpty()) {
+            final List<Booking> approved = approvals.stream()
+                    .map(i -> bookings.get(decisions.get(i).getBookingId()))
+                    .collect(Collectors.toList());
+            final Set<Long> itemIds = approved.stream()
+                    .map(booking -> booking.getItem().getId())
+                    .collect(Collectors.toSet());
+            itemRepository.findForUpdateByIdInOrderById(itemIds);
+            final Map<Long, List<Booking>> approvedBookings = findApprovedBookings(itemIds,
+                    approved.stream().map(Booking::getStart).min(Comparator.naturalOrder()).orElseThrow(),
+                    approved.stream().map(Booking::getEnd).max(Comparator.naturalOrder()).orElseThrow());
+            final List<Booking> newlyApproved = new ArrayList<>();
+            for (int i : approvals) {
+                final Booking booking = bookings.get(decisions.get(i).getBookingId());
+                try {
+                    checkStatusChange(booking, BookingStatus.APPROVED);
+                    checkNoApprovedOverlap(approvedBookings, booking.getId(), booking.getItem().getId(),
+                            booking.getStart(), booking.getEnd());
+                    booking.setStatus(BookingStatus.APPROVED);
+                    newlyApproved.add(booking);
+                    approvedBookings.computeIfAbsent(booking.getItem().getId(), id -> new ArrayList<>())
+                            .add(booking);
+                    results[i] = BulkBookingResult.ok(i, BookingMapper.toBookingDto(booking));
+                } catch (IllegalArgumentException | ConflictException e) {
+                    results[i] = BulkBookingResult.failed(i, e);
+                }
+            }
+            bookingSummaryService.changeStatus(newlyApproved, BookingStatus.APPROVED);
+        }
+        log.info("{} booking status changes handled for user with id {}.", decisions.size(), userId);
+
+        return Arrays.asList(results);
+    }
+
+    private List<BookingDto> getBookingList(Specification<Booking> bookings,
+                                            BookingState state,
+                                            int from,
+                                            int size,
+                                            Set<BookingExpansion> expand) {
+        final Specification<Booking> list = bookings.and(BookingSpecifications.inState(state, LocalDateTime.now(clock)));
+        // from is rounded down to a page boundary, as PageRequest.of(from / size, size) did
+        final int offset = from / size * size;
+
+        if (expand.isEmpty()) {
+            return bookingRepository.findBookingViews(list, offset, size).stream()
+                    .map(BookingMapper::toBookingDto)
+                    .collect(Collectors.toList());
+        }
+        return bookingRepository.findBookings(list, expand, offset, size).stream()
+                .map(booking -> BookingMapper.toBookingDto(booking, expand))
+                .collect(Collectors.toList());
+    }
+
+    private CursorPage<BookingDto> getBookingPage(Specification<Booking> bookings,
+                                                  BookingState state,
+                                                  Cursor cursor,
+                                                  int size,
+                                                  Set<BookingExpansion> expand) {
+        final Specification<Booking> page = bookings
+                .and(BookingSpecifications.inState(state, LocalDateTime.now(clock)))
+                .and(BookingSpecifications.after(cursor));
+
+        if (expand.isEmpty()) {
+            return CursorPage.of(bookingRepository.findBookingViews(page, 0, size + 1), size,
+                    BookingSpecifications::cursorOf, views -> views.stream()
+                            .map(BookingMapper::toBookingDto)
+                            .collect(Collectors.toList()));
+        }
+        return CursorPage.of(bookingRepository.findBookings(page, expand, 0, size + 1), size,
+                BookingSpecifications::cursorOf, entities -> entities.stream()
+                        .map(booking -> BookingMapper.toBookingDto(booking, expand))
+                        .collect(Collectors.toList()));
+    }
+
+    private void exportBookings(Specification<Booking> bookings,
+                                Set<BookingExpansion> expand,
+                                Consumer<BookingDto> consumer) {
+        if (expand.isEmpty()) {
+            try (Stream<BookingView> stream = bookingRepository.streamBookingViews(bookings)) {
+                stream.map(BookingMapper::toBookingDto).forEach(consumer);
+            }
+            return;
+        }
+        try (Stream<Booking> stream = bookingRepository.streamBookings(bookings, expand)) {
+            stream.map(booking -> BookingMapper.toBookingDto(booking, expand)).forEach(consumer);
+        }
+    }
+
+    private void checkBookable(User booker, Item bookingItem) {
+        if (!bookingItem.isAvailable()) {
+            throw new NotAvailableException(
+                    String.format("Item with id %d is not available for booking.", bookingItem.getId()));
+        }
+        if (booker.getId().equals(bookingItem.getOwner().getId())) {
+            throw new SubstanceNotFoundException(String.format(
+                    "User with id %d cannot add item with %d", booker.getId(), bookingItem.getId()));
+        }
+    }
+
+    private void checkStatusChange(Booking booking, BookingStatus status) {
+        if (booking.getStatus() == status) {
+            throw new IllegalArgumentException(String.format("This booking already has status %s.", status));
+        }
+    }
+
+    private Map<Long, List<Booking>> findApprovedBookings(Set<Long> itemIds, LocalDateTime start, LocalDateTime end) {
+        return bookingRepository.findApprovedBookingsOverlapping(itemIds, start, end).stream()
+                .collect(Collectors.groupingBy(booking -> booking.getItem().getId(),
+                        Collectors.toCollection(ArrayList::new)));
+    }
+
+    private void checkNoApprovedOverlap(Map<Long, List<Booking>> approvedBookings, Long bookingId,
+                                        long itemId, LocalDateTime start, LocalDateTime end) {
+        final boolean overlaps = approvedBookings.getOrDefault(itemId, List.of()).stream()
+                .anyMatch(booking -> booking.getStatus() == BookingStatus.APPROVED
+                        && !booking.getId().equals(bookingId)
+                        && booking.getStart().isBefore(end) && booking.getEnd().isAfter(start));
+        if (overlaps) {
+            throw new ConflictException(String.format(
+                    "Item with id %d is already booked between %s and %s.", itemId, start, end));
+        }
+    }
+
+    private void checkNoApprovedOverlap(long itemId, LocalDateTime start, LocalDateTime end) {
+        if (bookingRepository.existsApprovedBookingOverlapping(itemId, start, end)) {
+            throw new ConflictException(String.format(
+                    "Item with id %d is already booked between %s and %s.", itemId, start, end));
+        }
+    }
 }
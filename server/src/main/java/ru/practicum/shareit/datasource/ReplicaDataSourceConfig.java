@@ -0,0 +1,91 @@
+package ru.practicum.shareit.datasource;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+// replaces the single auto-configured pool once a replica is configured,
+// shareit.datasource.replicas[n].url and optionally its username, password and maximum-pool-size;
+// replicas lag behind the primary, a read right after a write may not see it yet
+@Slf4j
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties(ReplicaProperties.class)
+@ConditionalOnProperty(name = "shareit.datasource.replicas[0].url")
+public class ReplicaDataSourceConfig {
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean(destroyMethod = "close")
+    public ReplicaRoutingDataSource routingDataSource(HikariDataSource primaryDataSource,
+                                                     DataSourceProperties primaryProperties,
+                                                     ReplicaProperties properties,
+                                                     TaskScheduler taskScheduler) {
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < properties.getReplicas().size(); i++) {
+            replicas.add(createReplica(i, properties.getReplicas().get(i), primaryDataSource, primaryProperties,
+                    properties));
+        }
+        log.info("Routing read-only transactions to {} replica(s).", replicas.size());
+        ReplicaRoutingDataSource routingDataSource = new ReplicaRoutingDataSource(primaryDataSource, replicas);
+        routingDataSource.scheduleChecks(taskScheduler, properties.getReplicaCheckInterval());
+
+        return routingDataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    // open-in-view keeps the session of a request, it must not keep the connection of its first transaction
+    @Bean
+    public HibernatePropertiesCustomizer releaseConnectionAfterTransaction() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+
+    private static HikariDataSource createReplica(int index,
+                                                  ReplicaProperties.Replica replica,
+                                                  HikariDataSource primary,
+                                                  DataSourceProperties primaryProperties,
+                                                  ReplicaProperties properties) {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName("replica-" + index);
+        config.setJdbcUrl(replica.getUrl());
+        config.setUsername(replica.getUsername() != null ? replica.getUsername() : primaryProperties.getUsername());
+        config.setPassword(replica.getPassword() != null ? replica.getPassword() : primaryProperties.getPassword());
+        if (replica.getMaximumPoolSize() != null) {
+            config.setMaximumPoolSize(replica.getMaximumPoolSize());
+        } else if (primary.getMaximumPoolSize() > 0) {
+            config.setMaximumPoolSize(primary.getMaximumPoolSize());
+        }
+        config.setConnectionTimeout(properties.getReplicaConnectionTimeout().toMillis());
+        config.setReadOnly(true);
+        // a replica that is down at startup only fails the reads that reach it
+        config.setInitializationFailTimeout(-1);
+
+        return new HikariDataSource(config);
+    }
+}
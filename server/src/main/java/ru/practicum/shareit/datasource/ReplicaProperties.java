@@ -0,0 +1,29 @@
+package ru.practicum.shareit.datasource;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties("shareit.datasource")
+public class ReplicaProperties {
+    private List<Replica> replicas = new ArrayList<>();
+    // a replica that is down costs the first read this long before it falls back to the primary
+    private Duration replicaConnectionTimeout = Duration.ofSeconds(1);
+    private Duration replicaCheckInterval = Duration.ofSeconds(10);
+
+    @Getter
+    @Setter
+    public static class Replica {
+        private String url;
+        // the primary's credentials and pool size when not set
+        private String username;
+        private String password;
+        private Integer maximumPoolSize;
+    }
+}
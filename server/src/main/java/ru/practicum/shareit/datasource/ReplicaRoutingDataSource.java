@@ -0,0 +1,121 @@
+package ru.practicum.shareit.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+// read-only transactions take turns on the healthy replicas, everything else goes to the primary;
+// has to sit behind a LazyConnectionDataSourceProxy, the transaction manager asks for the connection
+// before it marks the transaction read-only
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+    private static final int VALID_TIMEOUT_SECONDS = 1;
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final AtomicInteger turn = new AtomicInteger();
+    private ScheduledFuture<?> checks;
+
+    public ReplicaRoutingDataSource(DataSource primary, List<HikariDataSource> replicas) {
+        this.primary = primary;
+        this.replicas = replicas.stream().map(Replica::new).collect(Collectors.toList());
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return route(DataSource::getConnection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return route(dataSource -> dataSource.getConnection(username, password));
+    }
+
+    public void scheduleChecks(TaskScheduler scheduler, Duration interval) {
+        checks = scheduler.scheduleWithFixedDelay(this::checkReplicas, interval);
+    }
+
+    // a replica that failed is skipped until the next check reaches it
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection()) {
+                if (connection.isValid(VALID_TIMEOUT_SECONDS)) {
+                    markUp(replica);
+                } else {
+                    markDown(replica, "connection is not valid");
+                }
+            } catch (SQLException e) {
+                markDown(replica, e.getMessage());
+            }
+        }
+    }
+
+    public boolean isReplicaHealthy(int index) {
+        return replicas.get(index).healthy;
+    }
+
+    @Override
+    public void close() {
+        if (checks != null) {
+            checks.cancel(false);
+        }
+        replicas.forEach(replica -> replica.dataSource.close());
+    }
+
+    private Connection route(ConnectionSource source) throws SQLException {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            int first = Math.floorMod(turn.getAndIncrement(), replicas.size());
+            for (int i = 0; i < replicas.size(); i++) {
+                Replica replica = replicas.get((first + i) % replicas.size());
+                if (!replica.healthy) {
+                    continue;
+                }
+                try {
+                    return source.connect(replica.dataSource);
+                } catch (SQLException e) {
+                    markDown(replica, e.getMessage());
+                }
+            }
+        }
+
+        return source.connect(primary);
+    }
+
+    private void markUp(Replica replica) {
+        if (!replica.healthy) {
+            replica.healthy = true;
+            log.info("Replica {} is back, routing reads to it.", replica.dataSource.getPoolName());
+        }
+    }
+
+    private void markDown(Replica replica, String reason) {
+        if (replica.healthy) {
+            replica.healthy = false;
+            log.warn("Replica {} is down, routing its reads elsewhere: {}", replica.dataSource.getPoolName(), reason);
+        }
+    }
+
+    private interface ConnectionSource {
+        Connection connect(DataSource dataSource) throws SQLException;
+    }
+
+    private static class Replica {
+        private final HikariDataSource dataSource;
+        private volatile boolean healthy = true;
+
+        Replica(HikariDataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+    }
+}
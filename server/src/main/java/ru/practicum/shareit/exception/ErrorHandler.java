@@ -1,15 +1,21 @@
 package ru.practicum.shareit.exception;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
+import java.sql.SQLException;
+
 @Slf4j
 @RestControllerAdvice
 public class ErrorHandler {
+    private static final String EXCLUSION_VIOLATION = "23P01";
+    private static final String NO_OVERLAP_CONSTRAINT = "bookings_no_overlap";
+
     @ExceptionHandler({NotAvailableException.class, IllegalArgumentException.class,
             IllegalArgumentException.class})
     @ResponseStatus(HttpStatus.BAD_REQUEST)
@@ -25,10 +31,40 @@ public class ErrorHandler {
         return new ErrorResponse("Unknown state: UNSUPPORTED_STATUS");
     }
 
+    @ExceptionHandler(ConflictException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ErrorResponse handleConflictCases(ConflictException e) {
+        log.error("409 {}", e.getMessage(), e);
+        return new ErrorResponse(e.getMessage());
+    }
+
+    // the bookings_no_overlap exclusion constraint rejects an approval that raced past the overlap check,
+    // other integrity violations are rethrown and answered as before
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ErrorResponse handleBookingOverlap(DataIntegrityViolationException e) {
+        if (!isNoOverlapViolation(e)) {
+            throw e;
+        }
+        log.error("409 {}", e.getMessage(), e);
+        return new ErrorResponse("The booking overlaps an approved booking of the same item.");
+    }
+
     @ExceptionHandler({SubstanceNotFoundException.class, ForbiddenException.class})
     @ResponseStatus(HttpStatus.NOT_FOUND)
     public ErrorResponse handleNotFoundCases(RuntimeException e) {
         log.error("404 {}", e.getMessage(), e);
         return new ErrorResponse(e.getMessage());
     }
+
+    private static boolean isNoOverlapViolation(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException
+                    && EXCLUSION_VIOLATION.equals(((SQLException) cause).getSQLState())
+                    && String.valueOf(cause.getMessage()).contains(NO_OVERLAP_CONSTRAINT)) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
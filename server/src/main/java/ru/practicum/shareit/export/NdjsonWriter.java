@@ -0,0 +1,55 @@
+package ru.practicum.shareit.export;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+// one JSON document per line, written straight to the response as values arrive.
+// Nothing is flushed and no content type is set before the first value, so an exception thrown
+// before it still reaches ErrorHandler with an uncommitted response.
+public class NdjsonWriter implements Closeable {
+    public static final String CONTENT_TYPE = "application/x-ndjson";
+
+    private final HttpServletResponse response;
+    private final JsonGenerator generator;
+    private final ObjectWriter writer;
+    private boolean started;
+
+    public NdjsonWriter(ObjectMapper objectMapper, HttpServletResponse response) throws IOException {
+        this.response = response;
+        this.generator = objectMapper.getFactory().createGenerator(response.getOutputStream())
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .disable(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
+        this.generator.setRootValueSeparator(null);
+        this.writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    public void write(Object value) {
+        start();
+        try {
+            writer.writeValue(generator, value);
+            generator.writeRaw('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        start();
+        generator.close();
+    }
+
+    private void start() {
+        if (!started) {
+            response.setContentType(CONTENT_TYPE);
+            started = true;
+        }
+    }
+}
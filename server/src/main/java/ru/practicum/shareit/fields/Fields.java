@@ -0,0 +1,73 @@
+package ru.practicum.shareit.fields;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.springframework.http.ResponseEntity;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// the fields parameter of the list endpoints: comma separated properties of the returned dto, the id is always kept.
+// Services skip loading what is not selected, select drops it from the response.
+@ToString
+@EqualsAndHashCode
+public final class Fields {
+    private static final Fields ALL = new Fields(null);
+
+    // null for every property
+    private final Set<String> names;
+
+    private Fields(Set<String> names) {
+        this.names = names;
+    }
+
+    public static Fields all() {
+        return ALL;
+    }
+
+    public static Fields parse(String fields, Class<?> dtoType) {
+        if (fields == null || fields.isBlank()) {
+            return ALL;
+        }
+        Set<String> known = Arrays.stream(dtoType.getDeclaredFields())
+                .filter(field -> !Modifier.isStatic(field.getModifiers()))
+                .map(Field::getName)
+                .collect(Collectors.toSet());
+        Set<String> names = new LinkedHashSet<>();
+        names.add("id");
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (!known.contains(name)) {
+                throw new IllegalArgumentException("Unknown field: " + name);
+            }
+            names.add(name);
+        }
+        return new Fields(names);
+    }
+
+    public boolean includes(String name) {
+        return names == null || names.contains(name);
+    }
+
+    public boolean includesAny(String... names) {
+        return Arrays.stream(names).anyMatch(this::includes);
+    }
+
+    // status and headers are kept, the body is rewritten only for a selection
+    public ResponseEntity<?> select(ObjectMapper objectMapper, ResponseEntity<? extends List<?>> response) {
+        if (names == null || response.getBody() == null) {
+            return response;
+        }
+        List<ObjectNode> body = response.getBody().stream()
+                .map(value -> objectMapper.<ObjectNode>valueToTree(value).retain(names))
+                .collect(Collectors.toList());
+        return new ResponseEntity<>(body, response.getHeaders(), response.getStatusCode());
+    }
+}
@@ -1,13 +1,17 @@
 package ru.practicum.shareit.item;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.fields.Fields;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoWithBookingsAndComments;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.pagination.Cursor;
 
 import java.util.List;
 
@@ -18,6 +22,7 @@ import java.util.List;
 @Validated
 public class ItemController {
     private final ItemService itemService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     public ItemDto createItem(@RequestHeader("X-Sharer-User-Id") Long userId, @RequestBody ItemDto itemDto) {
@@ -42,12 +47,20 @@ public class ItemController {
     }
 
     @GetMapping
-    public List<ItemDtoWithBookingsAndComments> getAllItemsByUser(
+    public ResponseEntity<?> getAllItemsByUser(
             @RequestHeader("X-Sharer-User-Id") Long userId,
             @RequestParam(defaultValue = "0") final int from,
-            @RequestParam(defaultValue = "100") final int size) {
+            @RequestParam(defaultValue = "100") final int size,
+            @RequestParam(required = false) final String cursor,
+            @RequestParam(required = false) final String fields) {
         log.info("We have request for getting all items by user with id {}.", userId);
-        return itemService.getAllItemsByUserId(userId, from, size);
+        Fields selected = Fields.parse(fields, ItemDtoWithBookingsAndComments.class);
+        if (cursor != null) {
+            return selected.select(objectMapper,
+                    itemService.getAllItemsByUserId(userId, Cursor.decode(cursor), size, selected).toResponse());
+        }
+        return selected.select(objectMapper,
+                ResponseEntity.ok(itemService.getAllItemsByUserId(userId, from, size, selected)));
     }
 
     @PatchMapping("/{itemId}")
@@ -68,10 +81,14 @@ public class ItemController {
     }
 
     @GetMapping("/search")
-    public List<ItemDto> searchItems(@RequestParam String text,
-                                     @RequestParam(defaultValue = "0") final int from,
-                                     @RequestParam(defaultValue = "100") final int size) {
+    public ResponseEntity<List<ItemDto>> searchItems(@RequestParam String text,
+                                                     @RequestParam(defaultValue = "0") final int from,
+                                                     @RequestParam(defaultValue = "100") final int size,
+                                                     @RequestParam(required = false) final String cursor) {
         log.info("We have request for search {}.", text);
-        return itemService.searchItems(text, from, size);
+        if (cursor != null) {
+            return itemService.searchItems(text, Cursor.decode(cursor), size).toResponse();
+        }
+        return ResponseEntity.ok(itemService.searchItems(text, from, size));
     }
 }
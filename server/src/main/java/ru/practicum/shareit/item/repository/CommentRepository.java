@@ -1,6 +1,8 @@
 package ru.practicum.shareit.item.repository;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import ru.practicum.shareit.item.model.Comment;
 
@@ -9,7 +11,11 @@ import java.util.Set;
 
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Long> {
+    @EntityGraph("Comment.withAuthor")
+    @Query(value = "SELECT c FROM Comment AS c WHERE c.item.id = :id")
     List<Comment> findCommentsByItem_Id(Long id);
 
+    @EntityGraph("Comment.withAuthor")
+    @Query(value = "SELECT c FROM Comment AS c WHERE c.item.id IN :itemIds")
     List<Comment> findCommentsByItem_IdIn(Set<Long> itemIds);
 }
@@ -1,24 +1,92 @@
 package ru.practicum.shareit.item.repository;
 
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.summary.ItemWithBookingSummary;
 
+import javax.persistence.LockModeType;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Repository
 public interface ItemRepository extends JpaRepository<Item, Long> {
-    List<Item> findByOwnerIdOrderById(Long id, Pageable pageable);
+    // ItemMapper reads the owner, the request only by id
+    String WITH_OWNER = "Item.withOwner";
 
+    @Override
+    @EntityGraph(WITH_OWNER)
+    Optional<Item> findById(Long id);
+
+    @Override
+    @EntityGraph(WITH_OWNER)
+    List<Item> findAllById(Iterable<Long> ids);
+
+    // serialises booking writes per item until the transaction ends
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<Item> findForUpdateById(Long id);
+
+    // batch writers lock in id order, so two batches over the same items cannot deadlock
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<Item> findForUpdateByIdInOrderById(Collection<Long> ids);
+
+    // the booking summary is joined by its primary key, one statement for the whole listing
+    @Query(value = "SELECT i AS item, s AS summary FROM Item AS i JOIN FETCH i.owner " +
+            "LEFT JOIN ItemBookingSummary AS s ON s.itemId = i.id " +
+            "WHERE i.owner.id = :ownerId ORDER BY i.id")
+    List<ItemWithBookingSummary> findWithBookingSummaryByOwnerId(Long ownerId, Pageable pageable);
+
+    @Query(value = "SELECT i AS item, s AS summary FROM Item AS i JOIN FETCH i.owner " +
+            "LEFT JOIN ItemBookingSummary AS s ON s.itemId = i.id " +
+            "WHERE i.owner.id = :ownerId AND i.id > :afterId ORDER BY i.id")
+    List<ItemWithBookingSummary> findWithBookingSummaryByOwnerIdAfter(Long ownerId, Long afterId, Pageable pageable);
+
+    // the owner listings for a selection without bookings
+    @EntityGraph(WITH_OWNER)
+    List<Item> findByOwnerIdOrderById(Long ownerId, Pageable pageable);
+
+    @EntityGraph(WITH_OWNER)
+    List<Item> findByOwnerIdAndIdGreaterThanOrderById(Long ownerId, Long afterId, Pageable pageable);
+
+    @Query(value = "SELECT i FROM Item AS i WHERE i.request.id = :id ORDER BY i.id")
     List<Item> findByRequestIdOrderById(long id);
 
-    @Query("select i from Item i " +
-            "where (upper(i.name) like upper(concat('%', ?1, '%')) " +
-            "or upper(i.description) like upper(concat('%', ?1, '%'))) " +
-            "and i.available = true")
-    List<Item> searchItems(String text, Pageable pageable);
+    // ids only, owners are fetched with the items in findAllByIdInOrder
+    @Query(value = "SELECT i.item_id FROM items i, to_tsquery('simple', :query) q " +
+            "WHERE i.search_vector @@ q AND i.available = true " +
+            "ORDER BY ts_rank(i.search_vector, q) DESC, i.item_id",
+            nativeQuery = true)
+    List<Long> searchItemIds(String query, Pageable pageable);
+
+    @Query(value = "SELECT i.item_id FROM items i " +
+            "WHERE i.search_vector @@ to_tsquery('simple', :query) AND i.available = true " +
+            "AND i.item_id > :afterId " +
+            "ORDER BY i.item_id",
+            nativeQuery = true)
+    List<Long> searchItemIdsAfter(String query, long afterId, Pageable pageable);
 
+    @Query(value = "SELECT i FROM Item AS i WHERE i.request.id IN :requestIds")
     List<Item> getByRequestIdIn(List<Long> requestIds);
+
+    default List<Item> findAllByIdInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Item> items = findAllById(ids).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+
+        return ids.stream()
+                .map(items::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
 }
@@ -0,0 +1,57 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.item-search", havingValue = "fulltext", matchIfMissing = true)
+public class FullTextItemSearch implements ItemSearch {
+    private final ItemRepository itemRepository;
+
+    @Override
+    public List<Item> search(String text, Pageable pageable) {
+        String query = toPrefixQuery(text);
+        if (query.isEmpty()) {
+            return List.of();
+        }
+
+        return itemRepository.findAllByIdInOrder(itemRepository.searchItemIds(query, pageable));
+    }
+
+    @Override
+    public List<Item> search(String text, long afterId, int limit) {
+        String query = toPrefixQuery(text);
+        if (query.isEmpty()) {
+            return List.of();
+        }
+
+        return itemRepository.findAllByIdInOrder(
+                itemRepository.searchItemIdsAfter(query, afterId, PageRequest.ofSize(limit)));
+    }
+
+    // items.search_vector is a generated column, Postgres keeps it and its GIN index current by itself
+    @Override
+    public void index(Item item) {
+    }
+
+    @Override
+    public void remove(Long itemId) {
+    }
+
+    static String toPrefixQuery(String text) {
+        return Arrays.stream(text.toLowerCase().split("[^\\p{L}\\p{N}]+"))
+                .filter(word -> !word.isEmpty())
+                .map(word -> word + ":*")
+                .collect(Collectors.joining(" & "));
+    }
+}
@@ -0,0 +1,19 @@
+package ru.practicum.shareit.item.search;
+
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+
+// available items only; fulltext matches every word of the text as a word prefix and ranks the results,
+// trigram matches the whole text as a substring in id order, see README
+public interface ItemSearch {
+    List<Item> search(String text, Pageable pageable);
+
+    // ordered by id, for keyset paging
+    List<Item> search(String text, long afterId, int limit);
+
+    void index(Item item);
+
+    void remove(Long itemId);
+}
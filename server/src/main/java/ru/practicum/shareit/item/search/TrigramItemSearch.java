@@ -0,0 +1,170 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.item-search", havingValue = "trigram")
+public class TrigramItemSearch implements ItemSearch {
+    private static final int GRAM_LENGTH = 3;
+    private static final int REBUILD_BATCH_SIZE = 1000;
+
+    private final ItemRepository itemRepository;
+    private final ConcurrentSkipListMap<Long, Entry> entries = new ConcurrentSkipListMap<>();
+    private final Map<String, NavigableSet<Long>> postings = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        Pageable pageable = PageRequest.of(0, REBUILD_BATCH_SIZE, Sort.by("id"));
+        Page<Item> page;
+        do {
+            page = itemRepository.findAll(pageable);
+            page.forEach(this::index);
+            pageable = page.nextPageable();
+        } while (page.hasNext());
+        log.info("Item search index built for {} items.", entries.size());
+    }
+
+    @Override
+    public List<Item> search(String text, Pageable pageable) {
+        Stream<Long> matches = matches(text.toLowerCase(), 0);
+        if (pageable.isPaged()) {
+            matches = matches.skip(pageable.getOffset()).limit(pageable.getPageSize());
+        }
+        return itemRepository.findAllByIdInOrder(matches.collect(Collectors.toList()));
+    }
+
+    @Override
+    public List<Item> search(String text, long afterId, int limit) {
+        return itemRepository.findAllByIdInOrder(matches(text.toLowerCase(), afterId)
+                .limit(limit)
+                .collect(Collectors.toList()));
+    }
+
+    private Stream<Long> matches(String pattern, long afterId) {
+        return candidates(pattern, afterId)
+                .filter(id -> {
+                    Entry entry = entries.get(id);
+                    return entry != null && entry.matches(pattern);
+                });
+    }
+
+    @Override
+    public void index(Item item) {
+        Entry entry = new Entry(item);
+        afterCommit(() -> put(item.getId(), entry));
+    }
+
+    @Override
+    public void remove(Long itemId) {
+        afterCommit(() -> delete(itemId));
+    }
+
+    // a rolled back write must not leave the index ahead of the database
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private synchronized void put(Long itemId, Entry entry) {
+        delete(itemId);
+        entries.put(itemId, entry);
+        for (String gram : entry.grams()) {
+            postings.computeIfAbsent(gram, key -> new ConcurrentSkipListSet<>()).add(itemId);
+        }
+    }
+
+    private synchronized void delete(Long itemId) {
+        Entry entry = entries.remove(itemId);
+        if (entry == null) {
+            return;
+        }
+        for (String gram : entry.grams()) {
+            postings.computeIfPresent(gram, (key, ids) -> {
+                ids.remove(itemId);
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+    }
+
+    // ids greater than afterId in ascending order, a superset of the matching items
+    private Stream<Long> candidates(String pattern, long afterId) {
+        if (pattern.length() < GRAM_LENGTH) {
+            return entries.tailMap(afterId, false).keySet().stream();
+        }
+        List<NavigableSet<Long>> lists = grams(pattern).stream()
+                .map(gram -> postings.getOrDefault(gram, new ConcurrentSkipListSet<>()))
+                .sorted(Comparator.comparingInt(Set::size))
+                .collect(Collectors.toList());
+        NavigableSet<Long> shortest = lists.get(0);
+        List<NavigableSet<Long>> others = lists.subList(1, lists.size());
+
+        return shortest.tailSet(afterId, false).stream()
+                .filter(id -> others.stream().allMatch(ids -> ids.contains(id)));
+    }
+
+    private static Set<String> grams(String value) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= value.length(); i++) {
+            grams.add(value.substring(i, i + GRAM_LENGTH));
+        }
+        return grams;
+    }
+
+    private static class Entry {
+        private final String name;
+        private final String description;
+        private final boolean available;
+
+        Entry(Item item) {
+            name = item.getName() == null ? "" : item.getName().toLowerCase();
+            description = item.getDescription() == null ? "" : item.getDescription().toLowerCase();
+            available = item.isAvailable();
+        }
+
+        boolean matches(String pattern) {
+            return available && (name.contains(pattern) || description.contains(pattern));
+        }
+
+        Collection<String> grams() {
+            Set<String> grams = TrigramItemSearch.grams(name);
+            grams.addAll(TrigramItemSearch.grams(description));
+            return grams;
+        }
+    }
+}
@@ -21,13 +21,13 @@ public class CommentMapper {
         );
     }
 
-    public static Comment toComment(CommentDto commentDto, Item item, User author) {
+    public static Comment toComment(CommentDto commentDto, Item item, User author, LocalDateTime now) {
         return new Comment(
                 commentDto.getId(),
                 commentDto.getText(),
                 item,
                 author,
-                commentDto.getCreated() == null ? LocalDateTime.now() : commentDto.getCreated()
+                commentDto.getCreated() == null ? now : commentDto.getCreated()
         );
     }
 }
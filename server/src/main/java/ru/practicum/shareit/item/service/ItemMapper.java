@@ -3,16 +3,22 @@ package ru.practicum.shareit.item.service;
 import lombok.Data;
 import org.springframework.stereotype.Component;
 import ru.practicum.shareit.booking.dto.BookingDtoWithBookerId;
+import ru.practicum.shareit.booking.dto.BookingShort;
+import ru.practicum.shareit.booking.service.BookingMapper;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoForRequests;
 import ru.practicum.shareit.item.dto.ItemDtoWithBookingsAndComments;
+import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.service.UserMapper;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Data
@@ -56,6 +62,33 @@ public class ItemMapper {
         );
     }
 
+    public static List<ItemDtoWithBookingsAndComments> toItemDtoWithBookingsAndCommentsList(
+            List<Item> items,
+            List<Comment> comments,
+            List<BookingShort> lastBookings,
+            List<BookingShort> nextBookings) {
+        Map<Long, List<CommentDto>> commentsByItemId = comments.stream()
+                .collect(Collectors.groupingBy(comment -> comment.getItem().getId(),
+                        Collectors.mapping(CommentMapper::toCommentDto, Collectors.toList())));
+        Map<Long, BookingShort> lastBookingByItemId = lastBookings.stream()
+                .collect(Collectors.toMap(BookingShort::getItemId, Function.identity()));
+        Map<Long, BookingShort> nextBookingByItemId = nextBookings.stream()
+                .collect(Collectors.toMap(BookingShort::getItemId, Function.identity()));
+        List<ItemDtoWithBookingsAndComments> resultList = new ArrayList<>(items.size());
+
+        for (Item item : items) {
+            BookingShort lastBooking = lastBookingByItemId.get(item.getId());
+            BookingShort nextBooking = nextBookingByItemId.get(item.getId());
+            resultList.add(toItemDtoWithBookingsAndComments(
+                    item,
+                    commentsByItemId.getOrDefault(item.getId(), new ArrayList<>()),
+                    lastBooking == null ? null : BookingMapper.toBookingDtoWithBookerID(lastBooking, item),
+                    nextBooking == null ? null : BookingMapper.toBookingDtoWithBookerID(nextBooking, item)
+            ));
+        }
+        return resultList;
+    }
+
     public static ItemDtoForRequests toItemDtoForRequests(final Item item) {
         return new ItemDtoForRequests(
                 item.getId(),
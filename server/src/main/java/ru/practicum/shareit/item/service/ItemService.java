@@ -1,8 +1,11 @@
 package ru.practicum.shareit.item.service;
 
+import ru.practicum.shareit.fields.Fields;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoWithBookingsAndComments;
+import ru.practicum.shareit.pagination.Cursor;
+import ru.practicum.shareit.pagination.CursorPage;
 
 import java.util.List;
 
@@ -13,7 +16,11 @@ public interface ItemService {
 
     ItemDtoWithBookingsAndComments getItemDtoWithBookingsAndComments(Long userId, Long itemId);
 
-    List<ItemDtoWithBookingsAndComments> getAllItemsByUserId(Long userId, int from, int size);
+    // comments and bookings are only read when the fields select them
+    List<ItemDtoWithBookingsAndComments> getAllItemsByUserId(Long userId, int from, int size, Fields fields);
+
+    CursorPage<ItemDtoWithBookingsAndComments> getAllItemsByUserId(Long userId, Cursor cursor, int size,
+                                                                   Fields fields);
 
     ItemDto updateItem(Long ownerId, Long itemId, ItemDto itemDto);
 
@@ -21,5 +28,7 @@ public interface ItemService {
 
     List<ItemDto> searchItems(String text, int from, int size);
 
+    CursorPage<ItemDto> searchItems(String text, Cursor cursor, int size);
+
     CommentDto addComment(Long authorId, Long itemId, CommentDto commentDto);
 }
@@ -4,13 +4,16 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.dto.BookingDtoWithBookerId;
+import ru.practicum.shareit.booking.dto.BookingShort;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.booking.service.BookingMapper;
 import ru.practicum.shareit.exception.ForbiddenException;
 import ru.practicum.shareit.exception.NotAvailableException;
 import ru.practicum.shareit.exception.SubstanceNotFoundException;
+import ru.practicum.shareit.fields.Fields;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoWithBookingsAndComments;
@@ -18,6 +21,12 @@ import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearch;
+import ru.practicum.shareit.item.summary.ItemBookingSummary;
+import ru.practicum.shareit.item.summary.ItemBookingSummaryService;
+import ru.practicum.shareit.item.summary.ItemWithBookingSummary;
+import ru.practicum.shareit.pagination.Cursor;
+import ru.practicum.shareit.pagination.CursorPage;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.dto.UserDto;
@@ -25,22 +34,33 @@ import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 import ru.practicum.shareit.user.service.UserMapper;
 
-import javax.transaction.Transactional;
+import java.time.Clock;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
+@Transactional(readOnly = true)
 public class ItemServiceImpl implements ItemService {
+    private static final String COMMENTS = "comments";
+    private static final String LAST_BOOKING = "lastBooking";
+    private static final String NEXT_BOOKING = "nextBooking";
+
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
     private final BookingRepository bookingRepository;
     private final CommentRepository commentRepository;
     private final ItemRequestRepository requestRepository;
+    private final ItemSearch itemSearch;
+    private final ItemBookingSummaryService bookingSummaryService;
+    private final Clock clock;
 
     @Override
     @Transactional
@@ -61,6 +81,8 @@ public class ItemServiceImpl implements ItemService {
         final Item item = itemRepository.save(
                 ItemMapper.toItem(itemDto, owner, request)
         );
+        itemSearch.index(item);
+        bookingSummaryService.addItem(item);
         log.info("New item with id {} by user with id {} created successfully.",
                 item.getId(),
                 item.getOwner().getId());
@@ -79,22 +101,21 @@ public class ItemServiceImpl implements ItemService {
 
     @Override
     public ItemDtoWithBookingsAndComments getItemDtoWithBookingsAndComments(Long userId, Long itemId) {
-        if (!userRepository.existsById(userId)) {
-            throw new SubstanceNotFoundException(
-                    String.format("There isn't user with id %d in database.", userId)
-            );
-        }
+        userRepository.findById(userId).orElseThrow(() -> new SubstanceNotFoundException(
+                String.format("There isn't user with id %d in database.", userId)
+        ));
         final Item item = itemRepository.findById(itemId).orElseThrow(() -> new SubstanceNotFoundException(
                 String.format("There isn't item with id %d in database.", itemId)
         ));
         BookingDtoWithBookerId currentOrPastBooking = null;
         BookingDtoWithBookerId futureBooking = null;
         if (item.getOwner().getId().equals(userId)) {
-            currentOrPastBooking = bookingRepository.getPastOrCurrentBookingByItemId(item.getId())
-                    .map(BookingMapper::toBookingDtoWithBookerID)
+            final ItemBookingSummary summary = bookingSummaryService.getSummary(item.getId(), LocalDateTime.now(clock));
+            currentOrPastBooking = summary.lastBooking()
+                    .map(booking -> BookingMapper.toBookingDtoWithBookerID(booking, item))
                     .orElse(null);
-            futureBooking = bookingRepository.getFutureBookingByItemId(item.getId())
-                    .map(BookingMapper::toBookingDtoWithBookerID)
+            futureBooking = summary.nextBooking()
+                    .map(booking -> BookingMapper.toBookingDtoWithBookerID(booking, item))
                     .orElse(null);
         }
         List<CommentDto> comments = commentRepository.findCommentsByItem_Id(item.getId())
@@ -110,48 +131,81 @@ public class ItemServiceImpl implements ItemService {
     }
 
     @Override
-    public List<ItemDtoWithBookingsAndComments> getAllItemsByUserId(Long userId, int from, int size) {
-        List<ItemDtoWithBookingsAndComments> resultList = new ArrayList<>();
-        List<Item> items = itemRepository.findByOwnerIdOrderById(userId, PageRequest.of(from / size, size));
+    public List<ItemDtoWithBookingsAndComments> getAllItemsByUserId(Long userId, int from, int size, Fields fields) {
+        if (!fields.includesAny(LAST_BOOKING, NEXT_BOOKING)) {
+            List<Item> items = itemRepository.findByOwnerIdOrderById(userId, PageRequest.of(from / size, size));
+            return toItemDtoWithBookingsAndCommentsList(items, List.of(), fields);
+        }
+        List<ItemWithBookingSummary> items = itemRepository.findWithBookingSummaryByOwnerId(
+                userId,
+                PageRequest.of(from / size, size)
+        );
+
+        return toItemDtoWithBookingsAndCommentsList(items, fields);
+    }
+
+    @Override
+    public CursorPage<ItemDtoWithBookingsAndComments> getAllItemsByUserId(Long userId, Cursor cursor, int size,
+                                                                          Fields fields) {
+        long afterId = cursor.isFirst() ? 0 : cursor.getLong(0);
+        if (!fields.includesAny(LAST_BOOKING, NEXT_BOOKING)) {
+            List<Item> items = itemRepository.findByOwnerIdAndIdGreaterThanOrderById(
+                    userId,
+                    afterId,
+                    PageRequest.ofSize(size + 1)
+            );
+            return CursorPage.of(items, size, item -> Cursor.of(item.getId()),
+                    page -> toItemDtoWithBookingsAndCommentsList(page, List.of(), fields));
+        }
+        List<ItemWithBookingSummary> items = itemRepository.findWithBookingSummaryByOwnerIdAfter(
+                userId,
+                afterId,
+                PageRequest.ofSize(size + 1)
+        );
+
+        return CursorPage.of(items, size, row -> Cursor.of(row.getItem().getId()),
+                page -> toItemDtoWithBookingsAndCommentsList(page, fields));
+    }
+
+    private List<ItemDtoWithBookingsAndComments> toItemDtoWithBookingsAndCommentsList(
+            List<ItemWithBookingSummary> rows, Fields fields) {
+        if (rows.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<Item> items = rows.stream().map(ItemWithBookingSummary::getItem).collect(Collectors.toList());
         Set<Long> itemIds = items.stream().map(Item::getId).collect(Collectors.toSet());
-        List<Comment> comments = commentRepository.findCommentsByItem_IdIn(itemIds);
-        List<Booking> bookings = bookingRepository.getBookingsByItem_IdInOrderByEndAsc(itemIds);
-
-        for (Item item : items) {
-            List<CommentDto> commentDtos = new ArrayList<>();
-            for (Comment comment : comments) {
-                if (comment.getItem().equals(item)) {
-                    commentDtos.add(CommentMapper.toCommentDto(comment));
-                }
-            }
-            List<Booking> pastOrCurrentBooking = bookings.stream()
-                            .filter(booking -> booking.getItem().equals(item))
-                            .filter(booking -> booking.getStart().isBefore(LocalDateTime.now()))
-                            .limit(1)
-                            .collect(Collectors.toList());
-            BookingDtoWithBookerId lastBooking = null;
-            if (pastOrCurrentBooking.size() != 0) {
-                lastBooking = BookingMapper.toBookingDtoWithBookerID(pastOrCurrentBooking.get(0));
-            }
-            List<Booking> futureBooking = bookings.stream()
-                            .filter(booking -> booking.getItem().equals(item))
-                            .filter(booking -> booking.getStart().isAfter(LocalDateTime.now()))
-                            .limit(1)
-                            .collect(Collectors.toList());
-            BookingDtoWithBookerId nextBooking = null;
-            if (futureBooking.size() != 0) {
-                nextBooking = BookingMapper.toBookingDtoWithBookerID(futureBooking.get(0));
-            }
-
-            resultList.add(
-                    ItemMapper.toItemDtoWithBookingsAndComments(
-                            item,
-                            commentDtos,
-                            lastBooking,
-                            nextBooking
-            ));
+        Collection<ItemBookingSummary> summaries = bookingSummaryService.complete(
+                itemIds,
+                rows.stream()
+                        .map(ItemWithBookingSummary::getSummary)
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toList()),
+                LocalDateTime.now(clock)
+        ).values();
+
+        return toItemDtoWithBookingsAndCommentsList(items, summaries, fields);
+    }
+
+    private List<ItemDtoWithBookingsAndComments> toItemDtoWithBookingsAndCommentsList(
+            List<Item> items, Collection<ItemBookingSummary> summaries, Fields fields) {
+        if (items.isEmpty()) {
+            return new ArrayList<>();
         }
-        return resultList;
+        List<Comment> comments = List.of();
+        if (fields.includes(COMMENTS)) {
+            comments = commentRepository.findCommentsByItem_IdIn(
+                    items.stream().map(Item::getId).collect(Collectors.toSet()));
+        }
+        List<BookingShort> lastBookings = summaries.stream()
+                .map(ItemBookingSummary::lastBooking)
+                .flatMap(Optional::stream)
+                .collect(Collectors.toList());
+        List<BookingShort> nextBookings = summaries.stream()
+                .map(ItemBookingSummary::nextBooking)
+                .flatMap(Optional::stream)
+                .collect(Collectors.toList());
+
+        return ItemMapper.toItemDtoWithBookingsAndCommentsList(items, comments, lastBookings, nextBookings);
     }
 
     @Override
@@ -177,6 +231,7 @@ public class ItemServiceImpl implements ItemService {
             item.setAvailable(itemDto.getAvailable());
         }
         Item updatedItem = itemRepository.save(item);
+        itemSearch.index(updatedItem);
         log.info("Item with id {} by user {} updated successfully.",
                 updatedItem.getId(),
                 updatedItem.getOwner().getId());
@@ -189,6 +244,7 @@ public class ItemServiceImpl implements ItemService {
         final ItemDto itemDto = getItem(itemId);
         if (ownerId.equals(itemDto.getOwner().getId())) {
             itemRepository.deleteById(itemId);
+            itemSearch.remove(itemId);
             log.info("Item with id {} by user {} deleted successfully.",
                     itemId,
                     ownerId);
@@ -207,12 +263,25 @@ public class ItemServiceImpl implements ItemService {
             return new ArrayList<>();
         }
 
-        return itemRepository.searchItems(text, PageRequest.of(from / size, size))
+        return itemSearch.search(text, PageRequest.of(from / size, size))
                 .stream()
                 .map(ItemMapper::itemToDto)
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public CursorPage<ItemDto> searchItems(String text, Cursor cursor, int size) {
+        if (text.isBlank()) {
+            return new CursorPage<>(new ArrayList<>(), null);
+        }
+        long afterId = cursor.isFirst() ? 0 : cursor.getLong(0);
+
+        return CursorPage.of(itemSearch.search(text, afterId, size + 1), size, item -> Cursor.of(item.getId()),
+                page -> page.stream()
+                        .map(ItemMapper::itemToDto)
+                        .collect(Collectors.toList()));
+    }
+
     @Override
     @Transactional
     public CommentDto addComment(Long authorId, Long itemId, CommentDto commentDto) {
@@ -222,14 +291,15 @@ public class ItemServiceImpl implements ItemService {
         final User author = userRepository.findById(authorId).orElseThrow(() -> new SubstanceNotFoundException(
                 String.format("There isn't user with id %d in database.", authorId)
         ));
+        final LocalDateTime now = LocalDateTime.now(clock);
         final List<Booking> bookings = bookingRepository
-                .findBookingsByItem_IdAndBooker_IdAndEndIsBefore(itemId, authorId, LocalDateTime.now());
+                .findBookingsByItem_IdAndBooker_IdAndEndIsBefore(itemId, authorId, now);
         if (bookings.stream().findAny().isEmpty()) {
             throw new NotAvailableException(
                     String.format("User with id %d hasn't any bookings and has no rights to add comments.", authorId)
             );
         }
-        final Comment comment = CommentMapper.toComment(commentDto, item, author);
+        final Comment comment = CommentMapper.toComment(commentDto, item, author, now);
         commentRepository.save(comment);
         log.info(String.format("Comment from user with id %d added successfully.", authorId));
 
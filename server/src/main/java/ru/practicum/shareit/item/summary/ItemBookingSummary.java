@@ -0,0 +1,103 @@
+package ru.practicum.shareit.item.summary;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import org.springframework.data.domain.Persistable;
+import ru.practicum.shareit.booking.dto.BookingShort;
+import ru.practicum.shareit.booking.model.Booking;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@ToString
+@Entity
+@Table(name = "item_booking_summary")
+public class ItemBookingSummary implements Persistable<Long> {
+    @Id
+    @Column(name = "item_id")
+    private Long itemId;
+    @Embedded
+    @AttributeOverrides({
+            @AttributeOverride(name = "bookingId", column = @Column(name = "last_booking_id")),
+            @AttributeOverride(name = "bookerId", column = @Column(name = "last_booker_id")),
+            @AttributeOverride(name = "start", column = @Column(name = "last_start_date")),
+            @AttributeOverride(name = "end", column = @Column(name = "last_end_date")),
+            @AttributeOverride(name = "status", column = @Column(name = "last_status"))
+    })
+    private SummarizedBooking last;
+    @Embedded
+    @AttributeOverrides({
+            @AttributeOverride(name = "bookingId", column = @Column(name = "next_booking_id")),
+            @AttributeOverride(name = "bookerId", column = @Column(name = "next_booker_id")),
+            @AttributeOverride(name = "start", column = @Column(name = "next_start_date")),
+            @AttributeOverride(name = "end", column = @Column(name = "next_end_date")),
+            @AttributeOverride(name = "status", column = @Column(name = "next_status"))
+    })
+    private SummarizedBooking next;
+    // ids are assigned, without it save() would merge and select the row first
+    @Transient
+    @ToString.Exclude
+    private boolean created;
+
+    public static ItemBookingSummary empty(Long itemId) {
+        ItemBookingSummary summary = new ItemBookingSummary();
+        summary.setItemId(itemId);
+        summary.setCreated(true);
+        return summary;
+    }
+
+    @Override
+    public Long getId() {
+        return itemId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return created;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markStored() {
+        created = false;
+    }
+
+    public Optional<BookingShort> lastBooking() {
+        return Optional.ofNullable(last).map(booking -> booking.toBookingShort(itemId));
+    }
+
+    public Optional<BookingShort> nextBooking() {
+        return Optional.ofNullable(next).map(booking -> booking.toBookingShort(itemId));
+    }
+
+    // nothing has started since the summary was computed, so last and next are still what the bookings say
+    public boolean isFreshAt(LocalDateTime now) {
+        return next == null || next.getStart().isAfter(now);
+    }
+
+    // picks the same last and next booking as the per-item booking queries, so a fresh summary matches them
+    void add(Booking booking, LocalDateTime now) {
+        if (booking.getStart().isBefore(now)) {
+            if (last == null || booking.getEnd().isAfter(last.getEnd())
+                    || booking.getEnd().isEqual(last.getEnd()) && booking.getId() > last.getBookingId()) {
+                last = SummarizedBooking.of(booking);
+            }
+        } else if (booking.getStart().isAfter(now)) {
+            if (next == null || booking.getStart().isBefore(next.getStart())
+                    || booking.getStart().isEqual(next.getStart()) && booking.getId() < next.getBookingId()) {
+                next = SummarizedBooking.of(booking);
+            }
+        }
+    }
+
+    void replaceWith(ItemBookingSummary summary) {
+        last = summary.getLast();
+        next = summary.getNext();
+    }
+}
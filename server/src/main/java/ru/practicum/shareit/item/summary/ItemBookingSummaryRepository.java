@@ -0,0 +1,30 @@
+package ru.practicum.shareit.item.summary;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.booking.dto.BookingStatus;
+
+import javax.persistence.LockModeType;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface ItemBookingSummaryRepository extends JpaRepository<ItemBookingSummary, Long> {
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<ItemBookingSummary> findForUpdateByItemIdInOrderByItemId(Collection<Long> itemIds);
+
+    // summaries whose next booking has started
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM ItemBookingSummary AS s WHERE s.next.start <= :now ORDER BY s.itemId")
+    List<ItemBookingSummary> findStale(LocalDateTime now, Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE ItemBookingSummary AS s SET " +
+            "s.last.status = CASE WHEN s.last.bookingId IN :bookingIds THEN :status ELSE s.last.status END, " +
+            "s.next.status = CASE WHEN s.next.bookingId IN :bookingIds THEN :status ELSE s.next.status END " +
+            "WHERE s.itemId IN :itemIds")
+    int updateStatus(Collection<Long> itemIds, Collection<Long> bookingIds, BookingStatus status);
+}
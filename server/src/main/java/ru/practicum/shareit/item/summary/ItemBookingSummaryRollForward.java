@@ -0,0 +1,39 @@
+package ru.practicum.shareit.item.summary;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+
+// reads recompute stale summaries on the fly, this writes them back so they stay a single lookup
+@Slf4j
+@Configuration
+@EnableScheduling
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.booking-summary.roll-forward.enabled", havingValue = "true",
+        matchIfMissing = true)
+public class ItemBookingSummaryRollForward {
+    private static final int BATCH_SIZE = 500;
+
+    private final ItemBookingSummaryService summaryService;
+    private final Clock clock;
+
+    @Scheduled(fixedDelayString = "${shareit.booking-summary.roll-forward.interval:PT1M}")
+    public void rollForward() {
+        LocalDateTime now = LocalDateTime.now(clock);
+        int total = 0;
+        int rolled;
+        do {
+            rolled = summaryService.rollForward(now, BATCH_SIZE);
+            total += rolled;
+        } while (rolled == BATCH_SIZE);
+        if (total > 0) {
+            log.info("Rolled {} item booking summaries forward.", total);
+        }
+    }
+}
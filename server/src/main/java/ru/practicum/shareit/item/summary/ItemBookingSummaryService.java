@@ -0,0 +1,123 @@
+package ru.practicum.shareit.item.summary;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingStatus;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.Item;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class ItemBookingSummaryService {
+    private final ItemBookingSummaryRepository summaryRepository;
+    private final BookingRepository bookingRepository;
+
+    public ItemBookingSummary getSummary(Long itemId, LocalDateTime now) {
+        return complete(Set.of(itemId), summaryRepository.findById(itemId).stream().collect(Collectors.toList()), now)
+                .get(itemId);
+    }
+
+    // stored summaries that are still fresh, the others computed from the bookings without being written back
+    public Map<Long, ItemBookingSummary> complete(Set<Long> itemIds,
+                                                  Collection<ItemBookingSummary> stored,
+                                                  LocalDateTime now) {
+        Map<Long, ItemBookingSummary> summaries = stored.stream()
+                .filter(summary -> summary.isFreshAt(now))
+                .collect(Collectors.toMap(ItemBookingSummary::getItemId, Function.identity()));
+        Set<Long> outdated = itemIds.stream()
+                .filter(itemId -> !summaries.containsKey(itemId))
+                .collect(Collectors.toSet());
+        summaries.putAll(compute(outdated, now));
+
+        return summaries;
+    }
+
+    @Transactional
+    public void addItem(Item item) {
+        summaryRepository.save(ItemBookingSummary.empty(item.getId()));
+    }
+
+    @Transactional
+    public void addBookings(Collection<Booking> bookings, LocalDateTime now) {
+        if (bookings.isEmpty()) {
+            return;
+        }
+        Set<Long> itemIds = bookings.stream()
+                .map(booking -> booking.getItem().getId())
+                .collect(Collectors.toSet());
+        Map<Long, ItemBookingSummary> summaries = summaryRepository.findForUpdateByItemIdInOrderByItemId(itemIds)
+                .stream()
+                .collect(Collectors.toMap(ItemBookingSummary::getItemId, Function.identity()));
+        Set<Long> outdated = itemIds.stream()
+                .filter(itemId -> !summaries.containsKey(itemId) || !summaries.get(itemId).isFreshAt(now))
+                .collect(Collectors.toSet());
+        if (!outdated.isEmpty()) {
+            // the new bookings have to be in the table before it is read
+            bookingRepository.flush();
+            compute(outdated, now).forEach((itemId, computed) -> {
+                if (summaries.containsKey(itemId)) {
+                    summaries.get(itemId).replaceWith(computed);
+                } else {
+                    summaryRepository.save(computed);
+                }
+            });
+        }
+        bookings.stream()
+                .filter(booking -> !outdated.contains(booking.getItem().getId()))
+                .forEach(booking -> summaries.get(booking.getItem().getId()).add(booking, now));
+    }
+
+    @Transactional
+    public void changeStatus(Collection<Booking> bookings, BookingStatus status) {
+        if (bookings.isEmpty()) {
+            return;
+        }
+        summaryRepository.updateStatus(
+                bookings.stream().map(booking -> booking.getItem().getId()).collect(Collectors.toSet()),
+                bookings.stream().map(Booking::getId).collect(Collectors.toSet()),
+                status
+        );
+    }
+
+    // recomputes up to limit summaries whose next booking has started, returns how many
+    @Transactional
+    public int rollForward(LocalDateTime now, int limit) {
+        List<ItemBookingSummary> stale = summaryRepository.findStale(now, PageRequest.ofSize(limit));
+        if (stale.isEmpty()) {
+            return 0;
+        }
+        Map<Long, ItemBookingSummary> computed = compute(stale.stream()
+                .map(ItemBookingSummary::getItemId)
+                .collect(Collectors.toSet()), now);
+        stale.forEach(summary -> summary.replaceWith(computed.get(summary.getItemId())));
+
+        return stale.size();
+    }
+
+    private Map<Long, ItemBookingSummary> compute(Set<Long> itemIds, LocalDateTime now) {
+        Map<Long, ItemBookingSummary> summaries = new HashMap<>();
+        if (itemIds.isEmpty()) {
+            return summaries;
+        }
+        itemIds.forEach(itemId -> summaries.put(itemId, ItemBookingSummary.empty(itemId)));
+        bookingRepository.findLastBookingsByItemIds(itemIds, now)
+                .forEach(booking -> summaries.get(booking.getItemId()).setLast(SummarizedBooking.of(booking)));
+        bookingRepository.findNextBookingsByItemIds(itemIds, now)
+                .forEach(booking -> summaries.get(booking.getItemId()).setNext(SummarizedBooking.of(booking)));
+
+        return summaries;
+    }
+}
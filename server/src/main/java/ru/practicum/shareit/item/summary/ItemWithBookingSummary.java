@@ -0,0 +1,10 @@
+package ru.practicum.shareit.item.summary;
+
+import ru.practicum.shareit.item.model.Item;
+
+public interface ItemWithBookingSummary {
+    Item getItem();
+
+    // null for items the summary has not caught up with yet
+    ItemBookingSummary getSummary();
+}
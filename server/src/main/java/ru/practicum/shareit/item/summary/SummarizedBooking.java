@@ -0,0 +1,51 @@
+package ru.practicum.shareit.item.summary;
+
+import lombok.*;
+import ru.practicum.shareit.booking.dto.BookingShort;
+import ru.practicum.shareit.booking.dto.BookingStatus;
+import ru.practicum.shareit.booking.model.Booking;
+
+import javax.persistence.Embeddable;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+@EqualsAndHashCode
+@Embeddable
+public class SummarizedBooking {
+    private Long bookingId;
+    private Long bookerId;
+    private LocalDateTime start;
+    private LocalDateTime end;
+    @Enumerated(EnumType.STRING)
+    private BookingStatus status;
+
+    public static SummarizedBooking of(Booking booking) {
+        return new SummarizedBooking(
+                booking.getId(),
+                booking.getBooker().getId(),
+                booking.getStart(),
+                booking.getEnd(),
+                booking.getStatus()
+        );
+    }
+
+    public static SummarizedBooking of(BookingShort booking) {
+        return new SummarizedBooking(
+                booking.getId(),
+                booking.getBookerId(),
+                booking.getStart(),
+                booking.getEnd(),
+                booking.getStatus()
+        );
+    }
+
+    public BookingShort toBookingShort(Long itemId) {
+        return new BookingShort(bookingId, itemId, bookerId, start, end, status);
+    }
+}
@@ -0,0 +1,22 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// http.server.requests and spring.data.repository.invocations come with the actuator,
+// their histograms are switched on in application.properties
+@Configuration
+public class MetricsConfig {
+    @Bean
+    public HibernatePropertiesCustomizer statementCounter() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new StatementCounter());
+    }
+
+    @Bean
+    public StatementCountFilter statementCountFilter(MeterRegistry registry) {
+        return new StatementCountFilter(registry);
+    }
+}
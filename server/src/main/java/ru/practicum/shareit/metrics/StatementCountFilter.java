@@ -0,0 +1,42 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.actuate.metrics.web.servlet.WebMvcTags;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+// statements per request with the method and uri tags of http.server.requests, an endpoint that starts
+// running more of them shows up there before its latency does
+public class StatementCountFilter extends OncePerRequestFilter {
+    static final String METRIC_NAME = "http.server.requests.statements";
+
+    private final MeterRegistry registry;
+
+    public StatementCountFilter(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        StatementCounter.start();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            DistributionSummary.builder(METRIC_NAME)
+                    .description("SQL statements run per request")
+                    .baseUnit("statements")
+                    .tags("method", WebMvcTags.method(request).getValue(),
+                            "uri", WebMvcTags.uri(request, response).getValue())
+                    .serviceLevelObjectives(1, 2, 5, 10, 20, 50, 100)
+                    .register(registry)
+                    .record(StatementCounter.stop());
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package ru.practicum.shareit.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+// Hibernate shows every statement it prepares to the inspector, it is counted for the request on this thread
+public class StatementCounter implements StatementInspector {
+    private static final ThreadLocal<int[]> STATEMENTS = new ThreadLocal<>();
+
+    static void start() {
+        STATEMENTS.set(new int[1]);
+    }
+
+    static int stop() {
+        int[] statements = STATEMENTS.get();
+        STATEMENTS.remove();
+        return statements != null ? statements[0] : 0;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        int[] statements = STATEMENTS.get();
+        if (statements != null) {
+            statements[0]++;
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,77 @@
+package ru.practicum.shareit.pagination;
+
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@ToString
+@EqualsAndHashCode
+public final class Cursor {
+    private static final String SEPARATOR = "|";
+    private static final Cursor FIRST = new Cursor(List.of());
+
+    private final List<String> keys;
+
+    private Cursor(List<String> keys) {
+        this.keys = keys;
+    }
+
+    public static Cursor first() {
+        return FIRST;
+    }
+
+    public static Cursor of(Object... keys) {
+        return new Cursor(Arrays.stream(keys).map(String::valueOf).collect(Collectors.toList()));
+    }
+
+    public static Cursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return FIRST;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            return new Cursor(List.of(decoded.split("\\" + SEPARATOR, -1)));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token);
+        }
+    }
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(String.join(SEPARATOR, keys).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public boolean isFirst() {
+        return keys.isEmpty();
+    }
+
+    public long getLong(int index) {
+        try {
+            return Long.parseLong(key(index));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + encode());
+        }
+    }
+
+    public LocalDateTime getDateTime(int index) {
+        try {
+            return LocalDateTime.parse(key(index));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + encode());
+        }
+    }
+
+    private String key(int index) {
+        if (index >= keys.size()) {
+            throw new IllegalArgumentException("Invalid cursor: " + encode());
+        }
+        return keys.get(index);
+    }
+}
@@ -0,0 +1,42 @@
+package ru.practicum.shareit.pagination;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.function.Function;
+
+@Getter
+@AllArgsConstructor
+@ToString
+@EqualsAndHashCode
+public class CursorPage<T> {
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private final List<T> content;
+    private final String nextCursor;
+
+    // rows are fetched with limit size + 1, the extra row only tells that there is a next page
+    public static <E, T> CursorPage<T> of(List<E> rows,
+                                          int size,
+                                          Function<E, Cursor> keyOf,
+                                          Function<List<E>, List<T>> mapper) {
+        if (rows.size() <= size) {
+            return new CursorPage<>(mapper.apply(rows), null);
+        }
+        List<E> page = rows.subList(0, size);
+
+        return new CursorPage<>(mapper.apply(page), keyOf.apply(page.get(size - 1)).encode());
+    }
+
+    public ResponseEntity<List<T>> toResponse() {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+        if (nextCursor != null) {
+            builder.header(NEXT_CURSOR_HEADER, nextCursor);
+        }
+        return builder.body(content);
+    }
+}
@@ -1,9 +1,13 @@
 package ru.practicum.shareit.request;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.fields.Fields;
+import ru.practicum.shareit.pagination.Cursor;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestDtoWithItems;
 import ru.practicum.shareit.request.service.ItemRequestService;
@@ -18,6 +22,7 @@ import java.util.List;
 @Validated
 public class ItemRequestController {
     private final ItemRequestService itemRequestService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     public ItemRequestDto addRequest(@RequestHeader("X-Sharer-User-Id") long id,
@@ -31,12 +36,20 @@ public class ItemRequestController {
     }
 
     @GetMapping("/all")
-    public List<ItemRequestDtoWithItems> getAllRequests(
+    public ResponseEntity<?> getAllRequests(
             @RequestHeader("X-Sharer-User-Id") long id,
             @RequestParam(name = "from", defaultValue = "0") int from,
-            @RequestParam(name = "size", defaultValue = "10") int size
+            @RequestParam(name = "size", defaultValue = "10") int size,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "fields", required = false) String fields
     ) {
-        return itemRequestService.getAllRequests(id, from, size);
+        Fields selected = Fields.parse(fields, ItemRequestDtoWithItems.class);
+        if (cursor != null) {
+            return selected.select(objectMapper,
+                    itemRequestService.getAllRequests(id, Cursor.decode(cursor), size, selected).toResponse());
+        }
+        return selected.select(objectMapper,
+                ResponseEntity.ok(itemRequestService.getAllRequests(id, from, size, selected)));
     }
 
     @GetMapping("/{requestId}")
@@ -2,12 +2,22 @@ package ru.practicum.shareit.request.repository;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.request.model.ItemRequest;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
     List<ItemRequest> findByRequesterIdOrderByCreatedDesc(long requestId);
 
     List<ItemRequest> findByRequesterIdNot(long requestId, Pageable pageable);
+
+    List<ItemRequest> findByRequesterIdNotOrderByCreatedDescIdDesc(long requesterId, Pageable pageable);
+
+    @Query("SELECT r FROM ItemRequest AS r " +
+            "WHERE r.requester.id <> :requesterId " +
+            "AND (r.created < :created OR (r.created = :created AND r.id < :id)) " +
+            "ORDER BY r.created DESC, r.id DESC")
+    List<ItemRequest> findByRequesterIdNotAfter(long requesterId, LocalDateTime created, long id, Pageable pageable);
 }
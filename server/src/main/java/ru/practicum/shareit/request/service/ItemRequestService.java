@@ -1,5 +1,8 @@
 package ru.practicum.shareit.request.service;
 
+import ru.practicum.shareit.fields.Fields;
+import ru.practicum.shareit.pagination.Cursor;
+import ru.practicum.shareit.pagination.CursorPage;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestDtoWithItems;
 
@@ -10,7 +13,10 @@ public interface ItemRequestService {
 
     List<ItemRequestDtoWithItems> getRequests(long userId);
 
-    List<ItemRequestDtoWithItems> getAllRequests(long userId, int from, int size);
+    // the requested items are only read when the fields select them
+    List<ItemRequestDtoWithItems> getAllRequests(long userId, int from, int size, Fields fields);
+
+    CursorPage<ItemRequestDtoWithItems> getAllRequests(long userId, Cursor cursor, int size, Fields fields);
 
     ItemRequestDtoWithItems getRequest(long userId, long requestId);
 }
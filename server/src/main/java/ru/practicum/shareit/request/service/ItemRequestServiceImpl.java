@@ -7,10 +7,13 @@ import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exception.SubstanceNotFoundException;
+import ru.practicum.shareit.fields.Fields;
 import ru.practicum.shareit.item.dto.ItemDtoForRequests;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.item.service.ItemMapper;
+import ru.practicum.shareit.pagination.Cursor;
+import ru.practicum.shareit.pagination.CursorPage;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestDtoWithItems;
 import ru.practicum.shareit.request.model.ItemRequest;
@@ -50,17 +53,38 @@ public class ItemRequestServiceImpl implements ItemRequestService {
                 String.format("There isn't user with id %d in database.", userId)));
         List<ItemRequest> requests = itemRequestRepository.findByRequesterIdOrderByCreatedDesc(user.getId());
 
-        return getRequestDtoWithItemsListByRequests(requests);
+        return getRequestDtoWithItemsListByRequests(requests, Fields.all());
     }
 
     @Override
-    public List<ItemRequestDtoWithItems> getAllRequests(long userId, int from, int size) {
+    public List<ItemRequestDtoWithItems> getAllRequests(long userId, int from, int size, Fields fields) {
         List<ItemRequest> requests = itemRequestRepository.findByRequesterIdNot(
                 userId,
                 PageRequest.of(from / size, size, Sort.by(Sort.Direction.DESC, "created"))
         );
 
-        return getRequestDtoWithItemsListByRequests(requests);
+        return getRequestDtoWithItemsListByRequests(requests, fields);
+    }
+
+    @Override
+    public CursorPage<ItemRequestDtoWithItems> getAllRequests(long userId, Cursor cursor, int size, Fields fields) {
+        List<ItemRequest> requests;
+        if (cursor.isFirst()) {
+            requests = itemRequestRepository.findByRequesterIdNotOrderByCreatedDescIdDesc(
+                    userId,
+                    PageRequest.ofSize(size + 1)
+            );
+        } else {
+            requests = itemRequestRepository.findByRequesterIdNotAfter(
+                    userId,
+                    cursor.getDateTime(0),
+                    cursor.getLong(1),
+                    PageRequest.ofSize(size + 1)
+            );
+        }
+
+        return CursorPage.of(requests, size, request -> Cursor.of(request.getCreated(), request.getId()),
+                page -> getRequestDtoWithItemsListByRequests(page, fields));
     }
 
     @Override
@@ -85,7 +109,13 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         return ItemMapper.toItemDtoForRequestsList(itemsForMapping);
     }
 
-    private List<ItemRequestDtoWithItems> getRequestDtoWithItemsListByRequests(List<ItemRequest> requests) {
+    private List<ItemRequestDtoWithItems> getRequestDtoWithItemsListByRequests(List<ItemRequest> requests,
+                                                                               Fields fields) {
+        if (!fields.includes("items")) {
+            return requests.stream()
+                    .map(itemRequest -> ItemRequestMapper.itemRequestToDtoWithItems(itemRequest, List.of()))
+                    .collect(Collectors.toList());
+        }
         List<Long> requestIds = requests
                 .stream()
                 .map(ItemRequest::getId)
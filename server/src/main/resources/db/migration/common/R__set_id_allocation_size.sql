@@ -0,0 +1,7 @@
+-- Hibernate adopts the increment of each sequence as its allocation size (increment_size_mismatch_strategy=fix),
+-- re-applied whenever shareit.id.allocation-size changes
+ALTER SEQUENCE users_seq INCREMENT BY ${id_allocation_size};
+ALTER SEQUENCE requests_seq INCREMENT BY ${id_allocation_size};
+ALTER SEQUENCE items_seq INCREMENT BY ${id_allocation_size};
+ALTER SEQUENCE bookings_seq INCREMENT BY ${id_allocation_size};
+ALTER SEQUENCE comments_seq INCREMENT BY ${id_allocation_size};
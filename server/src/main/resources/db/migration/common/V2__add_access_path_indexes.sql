@@ -0,0 +1,23 @@
+-- bookings of a booker, latest start first
+CREATE INDEX IF NOT EXISTS bookings_booker_id_start_date_idx ON bookings (booker_id, start_date DESC);
+
+-- bookings of a booker in one status, latest start first
+CREATE INDEX IF NOT EXISTS bookings_booker_id_status_start_date_idx ON bookings (booker_id, status, start_date DESC);
+
+-- bookings of an item by start: last and next booking per item, finished bookings of an item
+CREATE INDEX IF NOT EXISTS bookings_item_id_start_date_idx ON bookings (item_id, start_date);
+
+-- bookings of an item in one status
+CREATE INDEX IF NOT EXISTS bookings_item_id_status_idx ON bookings (item_id, status);
+
+-- items of an owner by id, also the driving side of bookings of an owner's items
+CREATE INDEX IF NOT EXISTS items_owner_id_item_id_idx ON items (owner_id, item_id);
+
+-- items answering a request
+CREATE INDEX IF NOT EXISTS items_request_id_idx ON items (request_id);
+
+-- requests of a requester, newest first
+CREATE INDEX IF NOT EXISTS requests_requester_id_created_idx ON requests (requester_id, created DESC);
+
+-- comments of an item
+CREATE INDEX IF NOT EXISTS comments_item_id_idx ON comments (item_id);
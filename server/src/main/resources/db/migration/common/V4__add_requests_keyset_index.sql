@@ -0,0 +1,2 @@
+-- requests of others, newest first with the id as tie-breaker, for offset and keyset pages
+CREATE INDEX IF NOT EXISTS requests_created_request_id_idx ON requests (created DESC, request_id DESC);
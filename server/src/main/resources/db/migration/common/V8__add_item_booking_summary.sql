@@ -0,0 +1,32 @@
+-- last and next booking per item as the item responses show them, kept current on every booking change;
+-- a row is stale once next_start_date has passed, until the roll-forward recomputes it
+CREATE TABLE IF NOT EXISTS item_booking_summary (
+    item_id BIGINT PRIMARY KEY REFERENCES items(item_id) ON DELETE CASCADE,
+    last_booking_id BIGINT,
+    last_booker_id BIGINT,
+    last_start_date TIMESTAMP WITHOUT TIME ZONE,
+    last_end_date TIMESTAMP WITHOUT TIME ZONE,
+    last_status VARCHAR,
+    next_booking_id BIGINT,
+    next_booker_id BIGINT,
+    next_start_date TIMESTAMP WITHOUT TIME ZONE,
+    next_end_date TIMESTAMP WITHOUT TIME ZONE,
+    next_status VARCHAR
+);
+
+-- summaries whose next booking start has passed
+CREATE INDEX IF NOT EXISTS item_booking_summary_next_start_date_idx ON item_booking_summary (next_start_date);
+
+INSERT INTO item_booking_summary (item_id,
+                                  last_booking_id, last_booker_id, last_start_date, last_end_date, last_status,
+                                  next_booking_id, next_booker_id, next_start_date, next_end_date, next_status)
+SELECT i.item_id,
+       l.booking_id, l.booker_id, l.start_date, l.end_date, l.status,
+       n.booking_id, n.booker_id, n.start_date, n.end_date, n.status
+FROM items AS i
+LEFT JOIN (SELECT b.*, ROW_NUMBER() OVER (PARTITION BY item_id ORDER BY end_date DESC, booking_id DESC) AS rn
+           FROM bookings AS b
+           WHERE start_date < LOCALTIMESTAMP) AS l ON l.item_id = i.item_id AND l.rn = 1
+LEFT JOIN (SELECT b.*, ROW_NUMBER() OVER (PARTITION BY item_id ORDER BY start_date, booking_id) AS rn
+           FROM bookings AS b
+           WHERE start_date > LOCALTIMESTAMP) AS n ON n.item_id = i.item_id AND n.rn = 1;
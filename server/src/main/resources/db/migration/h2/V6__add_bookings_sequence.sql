@@ -0,0 +1,6 @@
+-- Hibernate takes blocks of 50 ids per call (pooled-lo), so batched inserts need no round trip per row
+CREATE SEQUENCE IF NOT EXISTS bookings_seq START WITH 1 INCREMENT BY 50;
+
+-- the sequence replaces the identity, so inserts without an id draw from the same counter as Hibernate
+ALTER TABLE bookings ALTER COLUMN booking_id DROP IDENTITY;
+ALTER TABLE bookings ALTER COLUMN booking_id SET DEFAULT NEXT VALUE FOR bookings_seq;
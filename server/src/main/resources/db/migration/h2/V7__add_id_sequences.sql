@@ -0,0 +1,17 @@
+CREATE SEQUENCE IF NOT EXISTS users_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS requests_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS items_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS comments_seq START WITH 1 INCREMENT BY 50;
+
+-- the sequence replaces the identity, so inserts without an id draw from the same counter as Hibernate
+ALTER TABLE users ALTER COLUMN user_id DROP IDENTITY;
+ALTER TABLE users ALTER COLUMN user_id SET DEFAULT NEXT VALUE FOR users_seq;
+
+ALTER TABLE requests ALTER COLUMN request_id DROP IDENTITY;
+ALTER TABLE requests ALTER COLUMN request_id SET DEFAULT NEXT VALUE FOR requests_seq;
+
+ALTER TABLE items ALTER COLUMN item_id DROP IDENTITY;
+ALTER TABLE items ALTER COLUMN item_id SET DEFAULT NEXT VALUE FOR items_seq;
+
+ALTER TABLE comments ALTER COLUMN comment_id DROP IDENTITY;
+ALTER TABLE comments ALTER COLUMN comment_id SET DEFAULT NEXT VALUE FOR comments_seq;
@@ -0,0 +1,34 @@
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+-- double bookings already approved before this migration would block the constraint: of two overlapping
+-- approved bookings of one item the later one (higher booking_id) is set to REJECTED, the earliest stays approved;
+-- bookings are walked in id order, so one that only overlapped a rejected booking keeps its approval
+DO $$
+DECLARE
+    b RECORD;
+BEGIN
+    FOR b IN SELECT booking_id, item_id, start_date, end_date FROM bookings AS candidate
+             WHERE candidate.status = 'APPROVED'
+               AND EXISTS (SELECT 1 FROM bookings AS earlier
+                           WHERE earlier.item_id = candidate.item_id
+                             AND earlier.status = 'APPROVED'
+                             AND earlier.booking_id < candidate.booking_id
+                             AND earlier.start_date < candidate.end_date
+                             AND earlier.end_date > candidate.start_date)
+             ORDER BY item_id, booking_id
+    LOOP
+        UPDATE bookings SET status = 'REJECTED'
+        WHERE booking_id = b.booking_id
+          AND EXISTS (SELECT 1 FROM bookings AS earlier
+                      WHERE earlier.item_id = b.item_id
+                        AND earlier.status = 'APPROVED'
+                        AND earlier.booking_id < b.booking_id
+                        AND earlier.start_date < b.end_date
+                        AND earlier.end_date > b.start_date);
+    END LOOP;
+END $$;
+
+-- two approved bookings of one item never overlap, whatever writes to the table
+ALTER TABLE bookings ADD CONSTRAINT bookings_no_overlap
+    EXCLUDE USING gist (item_id WITH =, tsrange(start_date, end_date) WITH &&)
+    WHERE (status = 'APPROVED');
@@ -0,0 +1,9 @@
+-- Hibernate takes blocks of 50 ids per call (pooled-lo), so batched inserts need no round trip per row
+CREATE SEQUENCE IF NOT EXISTS bookings_seq INCREMENT BY 50;
+
+SELECT setval('bookings_seq', COALESCE((SELECT MAX(booking_id) FROM bookings), 0) + 1, false);
+
+-- the sequence replaces the identity, so inserts without an id draw from the same counter as Hibernate
+ALTER TABLE bookings ALTER COLUMN booking_id DROP IDENTITY IF EXISTS;
+ALTER TABLE bookings ALTER COLUMN booking_id SET DEFAULT nextval('bookings_seq');
+ALTER SEQUENCE bookings_seq OWNED BY bookings.booking_id;
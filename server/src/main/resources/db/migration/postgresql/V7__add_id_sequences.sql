@@ -0,0 +1,26 @@
+CREATE SEQUENCE IF NOT EXISTS users_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS requests_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS items_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS comments_seq INCREMENT BY 50;
+
+SELECT setval('users_seq', COALESCE((SELECT MAX(user_id) FROM users), 0) + 1, false);
+SELECT setval('requests_seq', COALESCE((SELECT MAX(request_id) FROM requests), 0) + 1, false);
+SELECT setval('items_seq', COALESCE((SELECT MAX(item_id) FROM items), 0) + 1, false);
+SELECT setval('comments_seq', COALESCE((SELECT MAX(comment_id) FROM comments), 0) + 1, false);
+
+-- the sequence replaces the identity, so inserts without an id draw from the same counter as Hibernate
+ALTER TABLE users ALTER COLUMN user_id DROP IDENTITY IF EXISTS;
+ALTER TABLE users ALTER COLUMN user_id SET DEFAULT nextval('users_seq');
+ALTER SEQUENCE users_seq OWNED BY users.user_id;
+
+ALTER TABLE requests ALTER COLUMN request_id DROP IDENTITY IF EXISTS;
+ALTER TABLE requests ALTER COLUMN request_id SET DEFAULT nextval('requests_seq');
+ALTER SEQUENCE requests_seq OWNED BY requests.request_id;
+
+ALTER TABLE items ALTER COLUMN item_id DROP IDENTITY IF EXISTS;
+ALTER TABLE items ALTER COLUMN item_id SET DEFAULT nextval('items_seq');
+ALTER SEQUENCE items_seq OWNED BY items.item_id;
+
+ALTER TABLE comments ALTER COLUMN comment_id DROP IDENTITY IF EXISTS;
+ALTER TABLE comments ALTER COLUMN comment_id SET DEFAULT nextval('comments_seq');
+ALTER SEQUENCE comments_seq OWNED BY comments.comment_id;
@@ -0,0 +1,33 @@
+package ru.practicum.shareit;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class IdSequenceTest {
+    private final JdbcTemplate jdbcTemplate;
+    private final UserRepository userRepository;
+
+    // plain SQL without an id and Hibernate's pooled blocks share one counter
+    @Test
+    void handleInsertWithoutId_doesNotCollideWithHibernateIds() {
+        jdbcTemplate.update("INSERT INTO users (name, email) VALUES ('Adam', 'adam@paradise.com')");
+        Long sqlId = jdbcTemplate.queryForObject("SELECT user_id FROM users WHERE email = 'adam@paradise.com'",
+                Long.class);
+
+        User saved = userRepository.saveAndFlush(new User(null, "Eva", "eva@paradise.com"));
+        jdbcTemplate.update("INSERT INTO users (name, email) VALUES ('Cain', 'cain@paradise.com')");
+
+        assertThat(saved.getId()).isNotEqualTo(sqlId);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(DISTINCT user_id) FROM users", Integer.class))
+                .isEqualTo(3);
+    }
+}
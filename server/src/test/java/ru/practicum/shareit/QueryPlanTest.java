@@ -0,0 +1,293 @@
+package ru.practicum.shareit;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.booking.dto.BookingExpansion;
+import ru.practicum.shareit.booking.dto.BookingState;
+import ru.practicum.shareit.booking.dto.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.repository.BookingSpecifications;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.summary.ItemBookingSummaryRepository;
+import ru.practicum.shareit.pagination.Cursor;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.params.provider.Arguments.arguments;
+
+// every repository query is run and the statements Hibernate prepares for it are explained with the same
+// parameters; the native full-text search queries are Postgres-only and not covered here
+@DataJpaTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class QueryPlanTest {
+    private static final LocalDateTime NOW = LocalDateTime.of(2022, 10, 10, 12, 0);
+    private static final List<RecordedStatement> STATEMENTS = new ArrayList<>();
+    private static boolean recording;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BookingRepository bookingRepository;
+    private final ItemRepository itemRepository;
+    private final CommentRepository commentRepository;
+    private final ItemRequestRepository requestRepository;
+    private final ItemBookingSummaryRepository summaryRepository;
+
+    @BeforeEach
+    void setUp() {
+        // column statistics of a production-sized database, H2 assumes 50% for every column otherwise
+        jdbcTemplate.execute("ALTER TABLE bookings ALTER COLUMN booker_id SELECTIVITY 1");
+        jdbcTemplate.execute("ALTER TABLE bookings ALTER COLUMN item_id SELECTIVITY 2");
+        jdbcTemplate.execute("ALTER TABLE bookings ALTER COLUMN status SELECTIVITY 1");
+        jdbcTemplate.execute("ALTER TABLE items ALTER COLUMN owner_id SELECTIVITY 5");
+    }
+
+    Stream<Arguments> queries() {
+        PageRequest page = PageRequest.of(0, 10);
+        PageRequest newestFirst = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "created"));
+        Set<BookingExpansion> allExpansions = Set.of(BookingExpansion.values());
+
+        return Stream.of(
+                arguments("bookings of a booker", null, query(() ->
+                        bookingRepository.findBookingViews(BookingSpecifications.bookedBy(1L), 0, 10))),
+                arguments("future bookings of a booker", "bookings_booker_id_start_date_idx", query(() ->
+                        bookingRepository.findBookingViews(BookingSpecifications.bookedBy(1L)
+                                .and(BookingSpecifications.inState(BookingState.FUTURE, NOW)), 0, 10))),
+                arguments("current bookings of a booker", "bookings_booker_id_start_date_idx", query(() ->
+                        bookingRepository.findBookingViews(BookingSpecifications.bookedBy(1L)
+                                .and(BookingSpecifications.inState(BookingState.CURRENT, NOW)), 0, 10))),
+                arguments("past bookings of a booker", null, query(() ->
+                        bookingRepository.findBookingViews(BookingSpecifications.bookedBy(1L)
+                                .and(BookingSpecifications.inState(BookingState.PAST, NOW)), 0, 10))),
+                arguments("waiting bookings of a booker", "bookings_booker_id_status_start_date_idx", query(() ->
+                        bookingRepository.findBookingViews(BookingSpecifications.bookedBy(1L)
+                                .and(BookingSpecifications.inState(BookingState.WAITING, NOW)), 0, 10))),
+                arguments("bookings of a booker after a cursor", null, query(() ->
+                        bookingRepository.findBookingViews(BookingSpecifications.bookedBy(1L)
+                                .and(BookingSpecifications.after(Cursor.of(NOW, 5L))), 0, 11))),
+                arguments("expanded bookings of a booker", null, query(() ->
+                        bookingRepository.findBookings(BookingSpecifications.bookedBy(1L), allExpansions, 0, 10))),
+                arguments("export of a booker's bookings", null, query(() -> {
+                    try (Stream<?> bookings = bookingRepository.streamBookingViews(
+                            BookingSpecifications.bookedBy(1L))) {
+                        bookings.forEach(booking -> {
+                        });
+                    }
+                })),
+                arguments("expanded export of a booker's bookings", null, query(() -> {
+                    try (Stream<?> bookings = bookingRepository.streamBookings(
+                            BookingSpecifications.bookedBy(1L), allExpansions)) {
+                        bookings.forEach(booking -> {
+                        });
+                    }
+                })),
+                arguments("bookings of an owner's items", null, query(() ->
+                        bookingRepository.findBookingViews(BookingSpecifications.ofItemsOwnedBy(1L), 0, 10))),
+                arguments("waiting bookings of an owner's items", "bookings_item_id_status_idx", query(() ->
+                        bookingRepository.findBookingViews(BookingSpecifications.ofItemsOwnedBy(1L)
+                                .and(BookingSpecifications.inState(BookingState.WAITING, NOW)), 0, 10))),
+                arguments("expanded bookings of an owner's items", null, query(() ->
+                        bookingRepository.findBookings(BookingSpecifications.ofItemsOwnedBy(1L),
+                                allExpansions, 0, 10))),
+                arguments("booking by id", null, query(() -> bookingRepository.findById(1L))),
+                arguments("bookings by ids", null, query(() -> bookingRepository.findAllById(List.of(1L, 2L)))),
+                arguments("last booking per item", "bookings_item_id_start_date_idx", query(() ->
+                        bookingRepository.findLastBookingsByItemIds(Set.of(1L, 2L), NOW))),
+                arguments("next booking per item", "bookings_item_id_start_date_idx", query(() ->
+                        bookingRepository.findNextBookingsByItemIds(Set.of(1L, 2L), NOW))),
+                arguments("approved overlap of an item", null, query(() ->
+                        bookingRepository.existsApprovedBookingOverlapping(1L, NOW, NOW.plusDays(1)))),
+                arguments("approved overlaps of items", null, query(() ->
+                        bookingRepository.findApprovedBookingsOverlapping(List.of(1L, 2L), NOW, NOW.plusDays(1)))),
+                arguments("finished bookings of a booker for an item", null, query(() ->
+                        bookingRepository.findBookingsByItem_IdAndBooker_IdAndEndIsBefore(1L, 1L, NOW))),
+                arguments("item by id", null, query(() -> itemRepository.findById(1L))),
+                arguments("items by ids", null, query(() -> itemRepository.findAllById(List.of(1L, 2L)))),
+                arguments("item locked by id", null, query(() -> itemRepository.findForUpdateById(1L))),
+                arguments("items locked by ids", null, query(() ->
+                        itemRepository.findForUpdateByIdInOrderById(List.of(1L, 2L)))),
+                arguments("items of an owner with summaries", null, query(() ->
+                        itemRepository.findWithBookingSummaryByOwnerId(1L, page))),
+                arguments("items of an owner with summaries after a cursor", "items_owner_id_item_id_idx", query(() ->
+                        itemRepository.findWithBookingSummaryByOwnerIdAfter(1L, 5L, page))),
+                arguments("items of an owner", null, query(() ->
+                        itemRepository.findByOwnerIdOrderById(1L, page))),
+                arguments("items of an owner after a cursor", "items_owner_id_item_id_idx", query(() ->
+                        itemRepository.findByOwnerIdAndIdGreaterThanOrderById(1L, 5L, page))),
+                arguments("items for a request", null, query(() ->
+                        itemRepository.findByRequestIdOrderById(1L))),
+                arguments("items for requests", null, query(() ->
+                        itemRepository.getByRequestIdIn(List.of(1L, 2L)))),
+                arguments("comments of an item", null, query(() ->
+                        commentRepository.findCommentsByItem_Id(1L))),
+                arguments("comments of items", null, query(() ->
+                        commentRepository.findCommentsByItem_IdIn(Set.of(1L, 2L)))),
+                arguments("requests of a requester", null, query(() ->
+                        requestRepository.findByRequesterIdOrderByCreatedDesc(1L))),
+                arguments("requests of others", "requests_created_request_id_idx", query(() ->
+                        requestRepository.findByRequesterIdNot(1L, newestFirst))),
+                arguments("requests of others, newest first", "requests_created_request_id_idx", query(() ->
+                        requestRepository.findByRequesterIdNotOrderByCreatedDescIdDesc(1L, page))),
+                arguments("requests of others after a cursor", "requests_created_request_id_idx", query(() ->
+                        requestRepository.findByRequesterIdNotAfter(1L, NOW, 5L, page))),
+                arguments("summaries locked by items", null, query(() ->
+                        summaryRepository.findForUpdateByItemIdInOrderByItemId(List.of(1L, 2L)))),
+                arguments("stale summaries", "item_booking_summary_next_start_date_idx", query(() ->
+                        summaryRepository.findStale(NOW, page))),
+                arguments("summary status update", null, query(() ->
+                        summaryRepository.updateStatus(List.of(1L, 2L), List.of(3L), BookingStatus.APPROVED)))
+        );
+    }
+
+    // H2 indexes every foreign key itself and prefers that index over one with the same leading column,
+    // so only the indexes it cannot substitute are named; every plan must still avoid a table scan
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("queries")
+    void handleQueryUsesIndexes(String query, String index, Runnable call) {
+        List<RecordedStatement> statements = record(call);
+
+        assertThat(statements).as("statements of %s", query).isNotEmpty();
+        List<String> plans = statements.stream().map(this::explain).collect(Collectors.toList());
+        assertThat(plans)
+                .as("plans of %s", query)
+                .allSatisfy(plan -> assertThat(plan).doesNotContain("tablescan"));
+        if (index != null) {
+            assertThat(String.join("\n", plans))
+                    .as("plans of %s", query)
+                    .contains(index);
+        }
+    }
+
+    private static Runnable query(Runnable call) {
+        return call;
+    }
+
+    private static List<RecordedStatement> record(Runnable call) {
+        STATEMENTS.clear();
+        recording = true;
+        try {
+            call.run();
+        } finally {
+            recording = false;
+        }
+        return STATEMENTS.stream()
+                .filter(statement -> !statement.sql.toLowerCase().startsWith("call next value"))
+                .collect(Collectors.toList());
+    }
+
+    private String explain(RecordedStatement statement) {
+        return String.join("\n", jdbcTemplate.query(connection -> {
+            PreparedStatement explain = connection.prepareStatement("EXPLAIN " + statement.sql);
+            for (ParameterCall parameter : statement.parameters) {
+                parameter.applyTo(explain);
+            }
+            return explain;
+        }, (resultSet, row) -> resultSet.getString(1))).toLowerCase();
+    }
+
+    @TestConfiguration
+    static class RecordingConfig {
+        // the statements prepared while recording, together with the setters that bound their parameters
+        @Bean
+        static BeanPostProcessor recordingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource ? proxy(DataSource.class, bean, (target, method, args) -> {
+                        Object result = invoke(target, method, args);
+                        return result instanceof Connection ? recording((Connection) result) : result;
+                    }) : bean;
+                }
+            };
+        }
+
+        private static Connection recording(Connection connection) {
+            return proxy(Connection.class, connection, (target, method, args) -> {
+                Object result = invoke(target, method, args);
+                if (recording && method.getName().equals("prepareStatement")) {
+                    RecordedStatement statement = new RecordedStatement((String) args[0]);
+                    STATEMENTS.add(statement);
+                    return proxy(PreparedStatement.class, result, (ps, setter, values) -> {
+                        if (setter.getName().startsWith("set") && values != null && values.length >= 2
+                                && setter.getParameterTypes()[0] == int.class) {
+                            statement.parameters.add(new ParameterCall(setter, values));
+                        }
+                        return invoke(ps, setter, values);
+                    });
+                }
+                return result;
+            });
+        }
+
+        private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T> T proxy(Class<T> type, Object target, ProxyHandler handler) {
+            InvocationHandler invocationHandler = (proxy, method, args) -> handler.invoke(target, method, args);
+            return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, invocationHandler);
+        }
+    }
+
+    private interface ProxyHandler {
+        Object invoke(Object target, Method method, Object[] args) throws Throwable;
+    }
+
+    private static final class RecordedStatement {
+        private final String sql;
+        private final List<ParameterCall> parameters = new ArrayList<>();
+
+        private RecordedStatement(String sql) {
+            this.sql = sql;
+        }
+    }
+
+    private static final class ParameterCall {
+        private final Method setter;
+        private final Object[] values;
+
+        private ParameterCall(Method setter, Object[] values) {
+            this.setter = setter;
+            this.values = values;
+        }
+
+        private void applyTo(PreparedStatement statement) {
+            try {
+                setter.invoke(statement, values);
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package ru.practicum.shareit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.exception.SubstanceNotFoundException;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import javax.persistence.EntityManagerFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+        "spring.datasource.url=jdbc:h2:mem:shareit-cache"
+})
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class SecondLevelCacheTest {
+    private final UserService userService;
+    private final ItemService itemService;
+    private final EntityManagerFactory entityManagerFactory;
+    private final JdbcTemplate jdbcTemplate;
+    private final MeterRegistry meterRegistry;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        sessionFactory.getCache().evictAllRegions();
+        statistics = sessionFactory.getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM items");
+        jdbcTemplate.update("DELETE FROM users");
+    }
+
+    @Test
+    void handleGetUser_servedFromCache() {
+        long userId = userService.addUser(new UserDto(null, "Adam", "adam@paradise.com")).getId();
+
+        userService.getUser(userId);
+        userService.getUser(userId);
+
+        // sequence ids let the insert itself put the new user into the cache
+        assertEquals(0, statistics.getDomainDataRegionStatistics("users").getMissCount());
+        assertEquals(2, statistics.getDomainDataRegionStatistics("users").getHitCount());
+        assertEquals(2.0, meterRegistry.get("hibernate.second.level.cache.requests")
+                .tag("region", "users")
+                .tag("result", "hit")
+                .functionCounter()
+                .count());
+    }
+
+    @Test
+    void handleUpdateUser_replacesCachedUser() {
+        long userId = userService.addUser(new UserDto(null, "Adam", "adam@paradise.com")).getId();
+        userService.getUser(userId);
+
+        userService.updateUser(userId, new UserDto(null, "Eva", null));
+
+        assertEquals("Eva", userService.getUser(userId).getName());
+    }
+
+    @Test
+    void handleDeleteUser_evictsCachedUser() {
+        long userId = userService.addUser(new UserDto(null, "Adam", "adam@paradise.com")).getId();
+        userService.getUser(userId);
+
+        userService.deleteUser(userId);
+
+        assertThrows(SubstanceNotFoundException.class, () -> userService.getUser(userId));
+    }
+
+    @Test
+    void handleUpdateItem_replacesCachedItem() {
+        long ownerId = userService.addUser(new UserDto(null, "Adam", "adam@paradise.com")).getId();
+        long itemId = itemService.createItem(ownerId,
+                new ItemDto(null, "Paradise", "nice garden", true, null, null)).getId();
+        itemService.getItem(itemId);
+
+        itemService.updateItem(ownerId, itemId, new ItemDto(null, null, null, false, null, null));
+        statistics.clear();
+
+        assertEquals(false, itemService.getItem(itemId).getAvailable());
+        assertEquals(1, statistics.getDomainDataRegionStatistics("items").getHitCount());
+        assertEquals(0, statistics.getDomainDataRegionStatistics("items").getMissCount());
+    }
+}
@@ -0,0 +1,141 @@
+package ru.practicum.shareit;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingState;
+
+import javax.persistence.EntityManagerFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// every endpoint runs a fixed number of statements, however many rows and related users the fixture has
+@Transactional
+@SpringBootTest
+@AutoConfigureMockMvc
+@Sql("statement-count-test-before.sql")
+class StatementCountTest {
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "/users/1, 1, 1",
+            "/items/1, 1, 4",
+            "/items/4, 1, 3",
+            "/items?from=0&size=10, 1, 2",
+            "/items?cursor=&size=10, 1, 2",
+            "/bookings/101, 2, 1",
+            "/bookings?state=ALL&from=0&size=10, 3, 2",
+            "/bookings?state=ALL&cursor=&size=10, 3, 2",
+            "/bookings/owner?state=ALL&from=0&size=10, 1, 2",
+            "/bookings/owner?state=ALL&cursor=&size=10, 1, 2",
+            "/requests, 2, 3",
+            "/requests/all?from=0&size=10, 1, 2",
+            "/requests/all?cursor=&size=10, 1, 2",
+            "/requests/1, 1, 3"
+    })
+    void handleGet_statementCount(String path, long userId, long expected) throws Exception {
+        assertEquals(expected, statementsOf(get(path).header("X-Sharer-User-Id", userId)));
+    }
+
+    // the user lookup and one select of the bookings with their items, whichever state is asked for
+    @ParameterizedTest
+    @EnumSource(BookingState.class)
+    void handleGetOwnerBookings_statementCount(BookingState state) throws Exception {
+        assertEquals(2, statementsOf(get("/bookings/owner")
+                .param("state", state.name())
+                .param("from", "0")
+                .param("size", "10")
+                .header("X-Sharer-User-Id", 1)));
+    }
+
+    @ParameterizedTest
+    @EnumSource(BookingState.class)
+    void handleGetOwnerBookings_withCursor_statementCount(BookingState state) throws Exception {
+        assertEquals(2, statementsOf(get("/bookings/owner")
+                .param("state", state.name())
+                .param("cursor", "")
+                .param("size", "10")
+                .header("X-Sharer-User-Id", 1)));
+    }
+
+    // expansions are fetched with the page, not per booking
+    @ParameterizedTest
+    @CsvSource({
+            "/bookings/101, 2, 3",
+            "/bookings?state=ALL&from=0&size=10, 3, 2",
+            "/bookings?state=ALL&cursor=&size=10, 3, 2",
+            "/bookings/owner?state=ALL&cursor=&size=10, 1, 2"
+    })
+    void handleGet_withExpand_statementCount(String path, long userId, long expected) throws Exception {
+        assertEquals(expected, statementsOf(get(path)
+                .param("expand", "booker,item.owner,item.request")
+                .header("X-Sharer-User-Id", userId)));
+    }
+
+    // unselected collections and booking expansions are not loaded
+    @ParameterizedTest
+    @CsvSource({
+            "/items?from=0&size=10, 1, name, 1",
+            "/items?cursor=&size=10, 1, name, 1",
+            "/items?from=0&size=10, 1, comments, 2",
+            "/requests/all?from=0&size=10, 1, description, 1",
+            "/bookings?state=ALL&from=0&size=10, 3, status, 2"
+    })
+    void handleGet_withFields_statementCount(String path, long userId, String fields, long expected)
+            throws Exception {
+        assertEquals(expected, statementsOf(get(path)
+                .param("fields", fields)
+                .param("expand", "booker,item.owner,item.request")
+                .header("X-Sharer-User-Id", userId)));
+    }
+
+    // the item is read under a row lock without a graph, the response needs only its id and name;
+    // the item's booking summary is locked and updated in place
+    @Test
+    void handleAddBooking_statementCount() throws Exception {
+        assertEquals(5, statementsOf(post("/bookings")
+                .header("X-Sharer-User-Id", 4)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"itemId\": 2, \"start\": \"2099-11-01T10:00:00\", \"end\": \"2099-11-02T10:00:00\"}")));
+    }
+
+    @Test
+    void handleChangeBookingStatus_statementCount() throws Exception {
+        assertEquals(4, statementsOf(patch("/bookings/104")
+                .header("X-Sharer-User-Id", 1)
+                .param("approved", "true")));
+    }
+
+    private long statementsOf(RequestBuilder request) throws Exception {
+        statistics.clear();
+        mvc.perform(request).andExpect(status().isOk());
+
+        return statistics.getPrepareStatementCount();
+    }
+}
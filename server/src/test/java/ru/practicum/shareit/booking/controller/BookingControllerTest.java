@@ -6,26 +6,45 @@ import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.util.NestedServletException;
 import ru.practicum.shareit.booking.BookingController;
+import ru.practicum.shareit.booking.dto.BookingDecision;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingExpansion;
+import ru.practicum.shareit.booking.dto.BookingItemDto;
 import ru.practicum.shareit.booking.dto.BookingState;
 import ru.practicum.shareit.booking.dto.BookingStatus;
+import ru.practicum.shareit.booking.dto.BookingUserDto;
+import ru.practicum.shareit.booking.dto.BulkBookingResult;
 import ru.practicum.shareit.booking.dto.InputBookingDto;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.NotAvailableException;
 import ru.practicum.shareit.exception.SubstanceNotFoundException;
+import ru.practicum.shareit.export.NdjsonWriter;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.Cursor;
+import ru.practicum.shareit.pagination.CursorPage;
 import ru.practicum.shareit.user.model.User;
 
 import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
 
 import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -38,8 +57,8 @@ class BookingControllerTest {
             4L,
             LocalDateTime.of(2023, 10, 20, 12, 30),
             LocalDateTime.of(2023, 10, 21, 13, 35),
-            paradise,
-            firstUser,
+            new BookingItemDto(paradise.getId(), paradise.getName()),
+            new BookingUserDto(firstUser.getId()),
             BookingStatus.WAITING
     );
     private final BookingDto approved = new BookingDto(
@@ -84,7 +103,7 @@ class BookingControllerTest {
                 .andExpect(jsonPath("$.item.id", is(bookingDto.getItem().getId()), Long.class))
                 .andExpect(jsonPath("$.item.name", is(bookingDto.getItem().getName())))
                 .andExpect(jsonPath("$.booker.id", is(bookingDto.getBooker().getId()), Long.class))
-                .andExpect(jsonPath("$.booker.name", is(bookingDto.getBooker().getName())))
+                .andExpect(jsonPath("$.booker.name").doesNotExist())
                 .andExpect(jsonPath("$.status", is(bookingDto.getStatus().name())));
 
         Mockito
@@ -127,6 +146,61 @@ class BookingControllerTest {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    void handleChangeBookingStatus_withOverlappingApprovedBooking() throws Exception {
+        Mockito
+                .when(bookingService.changeBookingStatus(anyLong(), anyLong(), eq(true)))
+                .thenThrow(new ConflictException(
+                        String.format("Item with id %d is already booked between %s and %s.",
+                                paradise.getId(), bookingDto.getStart(), bookingDto.getEnd())
+                ));
+
+        mvc.perform(
+                        patch("/bookings/{bookingId}", bookingDto.getId())
+                                .header("X-Sharer-User-Id", secondUser.getId())
+                                .param("approved", "true")
+                                .characterEncoding(StandardCharsets.UTF_8)
+                                .contentType(MediaType.APPLICATION_JSON)
+                )
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void handleChangeBookingStatus_withExclusionConstraintViolation() throws Exception {
+        Mockito
+                .when(bookingService.changeBookingStatus(anyLong(), anyLong(), eq(true)))
+                .thenThrow(new DataIntegrityViolationException("could not execute statement",
+                        new SQLException("conflicting key value violates exclusion constraint \"bookings_no_overlap\"",
+                                "23P01")));
+
+        mvc.perform(
+                        patch("/bookings/{bookingId}", bookingDto.getId())
+                                .header("X-Sharer-User-Id", secondUser.getId())
+                                .param("approved", "true")
+                                .characterEncoding(StandardCharsets.UTF_8)
+                                .contentType(MediaType.APPLICATION_JSON)
+                )
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.error", is("The booking overlaps an approved booking of the same item.")));
+    }
+
+    @Test
+    void handleChangeBookingStatus_withOtherIntegrityViolation() {
+        Mockito
+                .when(bookingService.changeBookingStatus(anyLong(), anyLong(), eq(true)))
+                .thenThrow(new DataIntegrityViolationException("could not execute statement",
+                        new SQLException("new row violates check constraint \"bookings_check\"", "23514")));
+
+        NestedServletException e = assertThrows(NestedServletException.class, () -> mvc.perform(
+                patch("/bookings/{bookingId}", bookingDto.getId())
+                        .header("X-Sharer-User-Id", secondUser.getId())
+                        .param("approved", "true")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+        ));
+        assertInstanceOf(DataIntegrityViolationException.class, e.getCause());
+    }
+
     @Test
     void handleAddBooking_withForbidden() throws Exception {
         Mockito
@@ -165,7 +239,7 @@ class BookingControllerTest {
                 .andExpect(jsonPath("$.item.id", is(approved.getItem().getId()), Long.class))
                 .andExpect(jsonPath("$.item.name", is(approved.getItem().getName())))
                 .andExpect(jsonPath("$.booker.id", is(approved.getBooker().getId()), Long.class))
-                .andExpect(jsonPath("$.booker.name", is(approved.getBooker().getName())))
+                .andExpect(jsonPath("$.booker.name").doesNotExist())
                 .andExpect(jsonPath("$.status", is(approved.getStatus().name())));
 
         Mockito.verify(bookingService, Mockito.times(1))
@@ -175,7 +249,7 @@ class BookingControllerTest {
     @Test
     void handleGetBooking_byDefault() throws Exception {
         Mockito
-                .when(bookingService.getBooking(anyLong(), anyLong()))
+                .when(bookingService.getBooking(anyLong(), anyLong(), anySet()))
                 .thenReturn(bookingDto);
 
         mvc.perform(
@@ -191,17 +265,46 @@ class BookingControllerTest {
                 .andExpect(jsonPath("$.item.id", is(bookingDto.getItem().getId()), Long.class))
                 .andExpect(jsonPath("$.item.name", is(bookingDto.getItem().getName())))
                 .andExpect(jsonPath("$.booker.id", is(bookingDto.getBooker().getId()), Long.class))
-                .andExpect(jsonPath("$.booker.name", is(bookingDto.getBooker().getName())))
+                .andExpect(jsonPath("$.booker.name").doesNotExist())
                 .andExpect(jsonPath("$.status", is(bookingDto.getStatus().name())));
 
         Mockito.verify(bookingService, Mockito.times(1))
-                .getBooking(1L, 4L);
+                .getBooking(1L, 4L, Set.of());
+    }
+
+    @Test
+    void handleGetBooking_withExpand() throws Exception {
+        Mockito
+                .when(bookingService.getBooking(anyLong(), anyLong(), anySet()))
+                .thenReturn(bookingDto);
+
+        mvc.perform(
+                        get("/bookings/{bookingId}", bookingDto.getId())
+                                .header("X-Sharer-User-Id", firstUser.getId())
+                                .param("expand", "booker, item.owner")
+                )
+                .andExpect(status().isOk());
+
+        Mockito.verify(bookingService, Mockito.times(1))
+                .getBooking(1L, 4L, Set.of(BookingExpansion.BOOKER, BookingExpansion.ITEM_OWNER));
+    }
+
+    @Test
+    void handleGetBooking_withUnknownExpand() throws Exception {
+        mvc.perform(
+                        get("/bookings/{bookingId}", bookingDto.getId())
+                                .header("X-Sharer-User-Id", firstUser.getId())
+                                .param("expand", "item.comments")
+                )
+                .andExpect(status().isBadRequest());
+
+        Mockito.verifyNoInteractions(bookingService);
     }
 
     @Test
     void handleGetUserBookings_byDefault() throws Exception {
         Mockito
-                .when(bookingService.getUserBookings(anyLong(), any(), anyInt(), anyInt()))
+                .when(bookingService.getUserBookings(anyLong(), any(), anyInt(), anyInt(), anySet()))
                 .thenReturn(List.of(bookingDto));
 
         mvc.perform(
@@ -220,17 +323,17 @@ class BookingControllerTest {
                 .andExpect(jsonPath("$.[0].item.id", is(bookingDto.getItem().getId()), Long.class))
                 .andExpect(jsonPath("$.[0].item.name", is(bookingDto.getItem().getName())))
                 .andExpect(jsonPath("$.[0].booker.id", is(bookingDto.getBooker().getId()), Long.class))
-                .andExpect(jsonPath("$.[0].booker.name", is(bookingDto.getBooker().getName())))
+                .andExpect(jsonPath("$.[0].booker.name").doesNotExist())
                 .andExpect(jsonPath("$.[0].status", is(bookingDto.getStatus().name())));
 
         Mockito.verify(bookingService, Mockito.times(1))
-                .getUserBookings(1L, BookingState.ALL, 0, 1);
+                .getUserBookings(1L, BookingState.ALL, 0, 1, Set.of());
     }
 
     @Test
     void handleGetUserBookedItems_byDefault() throws Exception {
         Mockito
-                .when(bookingService.getOwnerBookingList(anyLong(), any(), anyInt(), anyInt()))
+                .when(bookingService.getOwnerBookingList(anyLong(), any(), anyInt(), anyInt(), anySet()))
                 .thenReturn(List.of(bookingDto));
 
         mvc.perform(
@@ -249,7 +352,135 @@ class BookingControllerTest {
                 .andExpect(jsonPath("$.[0].item.id", is(bookingDto.getItem().getId()), Long.class))
                 .andExpect(jsonPath("$.[0].item.name", is(bookingDto.getItem().getName())))
                 .andExpect(jsonPath("$.[0].booker.id", is(bookingDto.getBooker().getId()), Long.class))
-                .andExpect(jsonPath("$.[0].booker.name", is(bookingDto.getBooker().getName())))
+                .andExpect(jsonPath("$.[0].booker.name").doesNotExist())
                 .andExpect(jsonPath("$.[0].status", is(bookingDto.getStatus().name())));
     }
+
+    @Test
+    void handleGetUserBookings_withCursor() throws Exception {
+        Cursor next = Cursor.of(bookingDto.getStart(), bookingDto.getId());
+        Mockito
+                .when(bookingService.getUserBookings(anyLong(), any(), any(Cursor.class), anyInt(), anySet()))
+                .thenReturn(new CursorPage<>(List.of(bookingDto), next.encode()));
+
+        mvc.perform(
+                        get("/bookings")
+                                .header("X-Sharer-User-Id", firstUser.getId())
+                                .param("state", "ALL")
+                                .param("size", "1")
+                                .param("cursor", "")
+                                .characterEncoding(StandardCharsets.UTF_8)
+                                .contentType(MediaType.APPLICATION_JSON)
+                )
+                .andExpect(status().isOk())
+                .andExpect(header().string(CursorPage.NEXT_CURSOR_HEADER, next.encode()))
+                .andExpect(jsonPath("$.[0].id", is(bookingDto.getId()), Long.class));
+
+        Mockito.verify(bookingService, Mockito.times(1))
+                .getUserBookings(1L, BookingState.ALL, Cursor.first(), 1, Set.of());
+    }
+
+    @Test
+    void handleGetUserBookedItems_withInvalidCursor() throws Exception {
+        mvc.perform(
+                        get("/bookings/owner")
+                                .header("X-Sharer-User-Id", firstUser.getId())
+                                .param("cursor", "%%%")
+                                .characterEncoding(StandardCharsets.UTF_8)
+                                .contentType(MediaType.APPLICATION_JSON)
+                )
+                .andExpect(status().isBadRequest());
+
+        Mockito.verifyNoInteractions(bookingService);
+    }
+
+    @Test
+    void handleExportUserBookings_byDefault() throws Exception {
+        Mockito
+                .doAnswer(invocation -> {
+                    Consumer<BookingDto> consumer = invocation.getArgument(2);
+                    consumer.accept(bookingDto);
+                    consumer.accept(approved);
+                    return null;
+                })
+                .when(bookingService).exportUserBookings(anyLong(), anySet(), any());
+
+        String body = mvc.perform(
+                        get("/bookings/export")
+                                .header("X-Sharer-User-Id", firstUser.getId())
+                )
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(NdjsonWriter.CONTENT_TYPE))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        assertEquals(bookingDto.getId(), mapper.readTree(lines[0]).get("id").asLong());
+        assertEquals(startDate, mapper.readTree(lines[0]).get("start").asText());
+        assertEquals(BookingStatus.APPROVED.name(), mapper.readTree(lines[1]).get("status").asText());
+    }
+
+    @Test
+    void handleExportOwnerBookings_withNotFound() throws Exception {
+        Mockito
+                .doThrow(new SubstanceNotFoundException("There isn't user with id 1 in database."))
+                .when(bookingService).exportOwnerBookings(anyLong(), anySet(), any());
+
+        mvc.perform(
+                        get("/bookings/owner/export")
+                                .header("X-Sharer-User-Id", firstUser.getId())
+                )
+                .andExpect(status().isNotFound())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void handleAddBookings_byDefault() throws Exception {
+        Mockito
+                .when(bookingService.addBookings(anyLong(), anyList()))
+                .thenReturn(List.of(
+                        BulkBookingResult.ok(0, bookingDto),
+                        BulkBookingResult.failed(1, new ConflictException("Item with id 3 is already booked."))
+                ));
+
+        mvc.perform(
+                        post("/bookings/batch")
+                                .header("X-Sharer-User-Id", firstUser.getId())
+                                .content(mapper.writeValueAsString(List.of(inputBookingDto, inputBookingDto)))
+                                .characterEncoding(StandardCharsets.UTF_8)
+                                .contentType(MediaType.APPLICATION_JSON)
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].index", is(0)))
+                .andExpect(jsonPath("$[0].status", is(200)))
+                .andExpect(jsonPath("$[0].booking.id", is(bookingDto.getId()), Long.class))
+                .andExpect(jsonPath("$[1].status", is(409)))
+                .andExpect(jsonPath("$[1].error", is("Item with id 3 is already booked.")));
+
+        Mockito.verify(bookingService, Mockito.times(1))
+                .addBookings(1L, List.of(inputBookingDto, inputBookingDto));
+    }
+
+    @Test
+    void handleChangeBookingStatuses_byDefault() throws Exception {
+        Mockito
+                .when(bookingService.changeBookingStatuses(anyLong(), anyList()))
+                .thenReturn(List.of(BulkBookingResult.ok(0, approved)));
+
+        mvc.perform(
+                        patch("/bookings/batch")
+                                .header("X-Sharer-User-Id", secondUser.getId())
+                                .content(mapper.writeValueAsString(List.of(new BookingDecision(4L, true))))
+                                .characterEncoding(StandardCharsets.UTF_8)
+                                .contentType(MediaType.APPLICATION_JSON)
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status", is(200)))
+                .andExpect(jsonPath("$[0].booking.status", is(approved.getStatus().name())));
+
+        Mockito.verify(bookingService, Mockito.times(1))
+                .changeBookingStatuses(2L, List.of(new BookingDecision(4L, true)));
+    }
 }
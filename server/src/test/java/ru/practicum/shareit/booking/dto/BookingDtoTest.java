@@ -5,8 +5,6 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.json.JsonTest;
 import org.springframework.boot.test.json.JacksonTester;
 import org.springframework.boot.test.json.JsonContent;
-import ru.practicum.shareit.item.model.Item;
-import ru.practicum.shareit.user.model.User;
 
 import java.io.IOException;
 import java.time.LocalDateTime;
@@ -20,10 +18,9 @@ public class BookingDtoTest {
 
     @Test
     void serialization() throws IOException {
-        User user = new User(1L, "Adam", "adam@paradise.com");
-        Item item = new Item(2L, "Paradise", "great garden", true, user, null);
-        BookingDto bookingDto = new BookingDto(1L, LocalDateTime.now().plusHours(1).withNano(0),
-                LocalDateTime.now().plusHours(2).withNano(0), item, user, BookingStatus.WAITING);
+        BookingDto bookingDto = new BookingDto(1L, LocalDateTime.of(2022, 10, 20, 12, 30, 15),
+                LocalDateTime.of(2022, 10, 20, 13, 30, 15), new BookingItemDto(2L, "Paradise"),
+                new BookingUserDto(1L), BookingStatus.WAITING);
         JsonContent<BookingDto> result = jacksonTester.write(bookingDto);
 
         assertThat(result).hasJsonPath("$.id");
@@ -31,9 +28,10 @@ public class BookingDtoTest {
         assertThat(result).hasJsonPath("$.end");
         assertThat(result).hasJsonPath("$.item.id");
         assertThat(result).hasJsonPath("$.item.name");
-        assertThat(result).hasJsonPath("$.item.description");
+        assertThat(result).doesNotHaveJsonPath("$.item.description");
+        assertThat(result).doesNotHaveJsonPath("$.item.owner");
         assertThat(result).hasJsonPath("$.booker.id");
-        assertThat(result).hasJsonPath("$.booker.name");
+        assertThat(result).doesNotHaveJsonPath("$.booker.name");
         assertThat(result).hasJsonPath("$.status");
         assertThat(result).extractingJsonPathNumberValue("$.id").isEqualTo(bookingDto.getId().intValue());
         assertThat(result).extractingJsonPathValue("$.start").isEqualTo(bookingDto.getStart().toString());
@@ -42,12 +40,22 @@ public class BookingDtoTest {
                 .isEqualTo(bookingDto.getItem().getId().intValue());
         assertThat(result).extractingJsonPathValue("$.item.name")
                 .isEqualTo(bookingDto.getItem().getName());
-        assertThat(result).extractingJsonPathValue("$.item.description")
-                .isEqualTo(bookingDto.getItem().getDescription());
         assertThat(result).extractingJsonPathNumberValue("$.booker.id")
                 .isEqualTo(bookingDto.getBooker().getId().intValue());
-        assertThat(result).extractingJsonPathValue("$.booker.name")
-                .isEqualTo(bookingDto.getBooker().getName());
         assertThat(result).extractingJsonPathValue("$.status").isEqualTo(bookingDto.getStatus().toString());
     }
+
+    @Test
+    void serialization_withExpansions() throws IOException {
+        BookingUserDto adam = new BookingUserDto(1L, "Adam", "adam@paradise.com");
+        BookingItemDto item = new BookingItemDto(2L, "Paradise", "great garden", true, adam, null);
+        BookingDto bookingDto = new BookingDto(1L, LocalDateTime.of(2023, 10, 20, 12, 30, 15),
+                LocalDateTime.of(2023, 10, 21, 13, 35, 15), item, adam, BookingStatus.WAITING);
+        JsonContent<BookingDto> result = jacksonTester.write(bookingDto);
+
+        assertThat(result).extractingJsonPathValue("$.item.description").isEqualTo("great garden");
+        assertThat(result).extractingJsonPathValue("$.item.owner.email").isEqualTo("adam@paradise.com");
+        assertThat(result).extractingJsonPathValue("$.booker.name").isEqualTo("Adam");
+        assertThat(result).doesNotHaveJsonPath("$.item.request");
+    }
 }
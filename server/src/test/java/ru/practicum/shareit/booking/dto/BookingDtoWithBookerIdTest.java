@@ -22,8 +22,8 @@ public class BookingDtoWithBookerIdTest {
     void serialization() throws IOException {
         UserDto user = new UserDto(1L, "Adam", "adam@paradise.com");
         ItemDto item = new ItemDto(2L, "Paradise", "great garden", true, user, 2L);
-        BookingDtoWithBookerId bookingDto = new BookingDtoWithBookerId(1L, LocalDateTime.now().plusHours(1).withNano(0),
-                LocalDateTime.now().plusHours(2).withNano(0), item, user.getId(), BookingStatus.WAITING);
+        BookingDtoWithBookerId bookingDto = new BookingDtoWithBookerId(1L, LocalDateTime.of(2022, 10, 20, 12, 30, 15),
+                LocalDateTime.of(2022, 10, 20, 13, 30, 15), item, user.getId(), BookingStatus.WAITING);
         JsonContent<BookingDtoWithBookerId> result = jacksonTester.write(bookingDto);
 
         assertThat(result).hasJsonPath("$.id");
@@ -18,8 +18,8 @@ public class InputBookingDtoTest {
 
     @Test
     void serialization() throws IOException {
-        InputBookingDto bookingDto = new InputBookingDto(LocalDateTime.now().plusHours(1).withNano(0),
-                LocalDateTime.now().plusHours(2).withNano(0), 1L);
+        InputBookingDto bookingDto = new InputBookingDto(LocalDateTime.of(2022, 10, 20, 12, 30, 15),
+                LocalDateTime.of(2022, 10, 20, 13, 30, 15), 1L);
         JsonContent<InputBookingDto> result = jacksonTester.write(bookingDto);
 
         assertThat(result).hasJsonPath("$.start");
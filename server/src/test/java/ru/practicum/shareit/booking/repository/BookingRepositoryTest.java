@@ -1,21 +1,26 @@
 package ru.practicum.shareit.booking.repository;
 
 import lombok.RequiredArgsConstructor;
+import org.hibernate.Hibernate;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.test.context.jdbc.Sql;
 import org.springframework.test.context.jdbc.SqlGroup;
+import ru.practicum.shareit.booking.dto.BookingExpansion;
+import ru.practicum.shareit.booking.dto.BookingShort;
+import ru.practicum.shareit.booking.dto.BookingState;
 import ru.practicum.shareit.booking.dto.BookingStatus;
+import ru.practicum.shareit.booking.dto.BookingView;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.Cursor;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Optional;
 import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -66,10 +71,12 @@ class BookingRepositoryTest {
             firstUser,
             BookingStatus.WAITING);
     private final Set<Long> setIds = Set.of(3L, 5L);
+    private final LocalDateTime now = LocalDateTime.of(2022, 11, 15, 12, 0);
 
     @Test
-    void handleGetBookingsByOwnerId() {
-        List<Booking> result = bookingRepository.getBookingsByOwnerId(firstUser.getId(), Pageable.unpaged());
+    void handleFindBookings_byOwner() {
+        List<Booking> result = findBookings(
+                BookingSpecifications.ofItemsOwnedBy(firstUser.getId()), BookingState.ALL, now);
 
         assertThat(result).isNotEmpty();
         assertThat(result.get(0).getId()).isEqualTo(booking.getId());
@@ -80,12 +87,9 @@ class BookingRepositoryTest {
     }
 
     @Test
-    void handleGetBookingsByUserItemsWithState() {
-        List<Booking> result = bookingRepository.getBookingsByUserItemsWithState(
-                firstUser.getId(),
-                BookingStatus.WAITING,
-                Pageable.unpaged()
-        );
+    void handleFindBookings_byOwnerAndWaiting() {
+        List<Booking> result = findBookings(
+                BookingSpecifications.ofItemsOwnedBy(firstUser.getId()), BookingState.WAITING, now);
 
         assertThat(result).isNotEmpty();
         assertThat(result.get(0).getId()).isEqualTo(booking.getId());
@@ -96,8 +100,9 @@ class BookingRepositoryTest {
     }
 
     @Test
-    void handleGetBookingsByOwnerIdCurrent() {
-        List<Booking> result = bookingRepository.getBookingsByOwnerIdCurrent(secondUser.getId(), Pageable.unpaged());
+    void handleFindBookings_byOwnerAndCurrent() {
+        List<Booking> result = findBookings(
+                BookingSpecifications.ofItemsOwnedBy(secondUser.getId()), BookingState.CURRENT, now);
 
         assertThat(result).isNotEmpty();
         assertThat(result.get(0).getId()).isEqualTo(bookingCurrent.getId());
@@ -107,8 +112,9 @@ class BookingRepositoryTest {
     }
 
     @Test
-    void handleGetBookingsByOwnerIdPast() {
-        List<Booking> result = bookingRepository.getBookingsByOwnerIdPast(secondUser.getId(), Pageable.unpaged());
+    void handleFindBookings_byOwnerAndPast() {
+        List<Booking> result = findBookings(
+                BookingSpecifications.ofItemsOwnedBy(secondUser.getId()), BookingState.PAST, now);
 
         assertThat(result).isNotEmpty();
         assertThat(result.get(0).getId()).isEqualTo(bookingPast.getId());
@@ -118,8 +124,9 @@ class BookingRepositoryTest {
     }
 
     @Test
-    void handleGetBookingsByOwnerIdFuture() {
-        List<Booking> result = bookingRepository.getBookingsByOwnerIdFuture(firstUser.getId(), Pageable.unpaged());
+    void handleFindBookings_byOwnerAndFuture() {
+        List<Booking> result = findBookings(
+                BookingSpecifications.ofItemsOwnedBy(firstUser.getId()), BookingState.FUTURE, now);
 
         assertThat(result).isNotEmpty();
         assertThat(result.get(0).getId()).isEqualTo(booking.getId());
@@ -130,44 +137,85 @@ class BookingRepositoryTest {
     }
 
     @Test
-    void handleGetPastOrCurrentBookingByItemId() {
-        Optional<Booking> result = bookingRepository.getPastOrCurrentBookingByItemId(apple.getId());
+    void handleFindLastBookingsByItemIds() {
+        List<BookingShort> result = bookingRepository.findLastBookingsByItemIds(
+                setIds,
+                LocalDateTime.of(2022, 11, 15, 12, 0));
 
-        assertThat(result).isNotEmpty();
-        assertThat(result.get().getId()).isEqualTo(bookingCurrent.getId());
-        assertThat(result.get().getStart()).isEqualTo(bookingCurrent.getStart());
-        assertThat(result.get().getEnd()).isEqualTo(bookingCurrent.getEnd());
-        assertThat(result.get().getStatus()).isEqualTo(bookingCurrent.getStatus());
+        assertThat(result).hasSize(1);
+        assertThat(result.get(0).getId()).isEqualTo(bookingCurrent.getId());
+        assertThat(result.get(0).getItemId()).isEqualTo(apple.getId());
+        assertThat(result.get(0).getBookerId()).isEqualTo(bookingCurrent.getBooker().getId());
+        assertThat(result.get(0).getStart()).isEqualTo(bookingCurrent.getStart());
+        assertThat(result.get(0).getEnd()).isEqualTo(bookingCurrent.getEnd());
+        assertThat(result.get(0).getStatus()).isEqualTo(bookingCurrent.getStatus());
     }
 
     @Test
-    void handleGetBookingsByItem_IdInOrderByEndAsc() {
-        List<Booking> result = bookingRepository.getBookingsByItem_IdInOrderByEndAsc(setIds);
+    void handleFindNextBookingsByItemIds() {
+        List<BookingShort> result = bookingRepository.findNextBookingsByItemIds(
+                setIds,
+                LocalDateTime.of(2022, 11, 15, 12, 0));
 
-        assertThat(result).isNotEmpty();
-        assertThat(result.get(0).getId()).isEqualTo(bookingPast.getId());
-        assertThat(result.get(1).getId()).isEqualTo(bookingCurrent.getId());
-        assertThat(result.get(2).getId()).isEqualTo(booking.getId());
+        assertThat(result).hasSize(1);
+        assertThat(result.get(0).getId()).isEqualTo(booking.getId());
+        assertThat(result.get(0).getItemId()).isEqualTo(paradise.getId());
+        assertThat(result.get(0).getBookerId()).isEqualTo(booking.getBooker().getId());
+        assertThat(result.get(0).getStart()).isEqualTo(booking.getStart());
+        assertThat(result.get(0).getEnd()).isEqualTo(booking.getEnd());
+        assertThat(result.get(0).getStatus()).isEqualTo(booking.getStatus());
     }
 
     @Test
-    void handleGetFutureBookingByItemId() {
-        Optional<Booking> result = bookingRepository.getFutureBookingByItemId(paradise.getId());
+    void handleFindLastAndNextBookingsByItemIds_perItem() {
+        LocalDateTime now = LocalDateTime.of(2021, 1, 1, 0, 0);
 
-        assertThat(result).isNotEmpty();
-        assertThat(result.get().getId()).isEqualTo(booking.getId());
-        assertThat(result.get().getStart()).isEqualTo(booking.getStart());
-        assertThat(result.get().getEnd()).isEqualTo(booking.getEnd());
-        assertThat(result.get().getBooker().getId()).isEqualTo(booking.getBooker().getId());
-        assertThat(result.get().getBooker().getName()).isEqualTo(booking.getBooker().getName());
-        assertThat(result.get().getBooker().getEmail()).isEqualTo(booking.getBooker().getEmail());
-        assertThat(result.get().getStatus()).isEqualTo(booking.getStatus());
+        assertThat(bookingRepository.findLastBookingsByItemIds(setIds, now)).isEmpty();
+        assertThat(bookingRepository.findNextBookingsByItemIds(setIds, now))
+                .extracting(BookingShort::getId)
+                .containsExactlyInAnyOrder(booking.getId(), bookingPast.getId());
+    }
+
+    @Test
+    void handleFindBookings_byKeyset() {
+        Specification<Booking> bookedByFirstUser = BookingSpecifications.bookedBy(firstUser.getId());
+        List<Booking> firstPage = bookingRepository.findBookings(
+                bookedByFirstUser.and(BookingSpecifications.after(Cursor.first())), Set.of(), 0, 1);
+        List<Booking> secondPage = bookingRepository.findBookings(
+                bookedByFirstUser.and(BookingSpecifications.after(BookingSpecifications.cursorOf(firstPage.get(0)))),
+                Set.of(), 0, 1);
+
+        assertThat(firstPage).extracting(Booking::getId).containsExactly(bookingCurrent.getId());
+        assertThat(secondPage).extracting(Booking::getId).containsExactly(bookingPast.getId());
+    }
+
+    @Test
+    void handleFindBookings_byOwnerAndState() {
+        List<Booking> result = bookingRepository.findBookings(
+                BookingSpecifications.ofItemsOwnedBy(secondUser.getId())
+                        .and(BookingSpecifications.inState(BookingState.PAST, LocalDateTime.of(2022, 11, 15, 12, 0))),
+                Set.of(BookingExpansion.ITEM_OWNER), 0, 10);
+
+        assertThat(result).extracting(Booking::getId).containsExactly(bookingPast.getId());
+        assertThat(Hibernate.isInitialized(result.get(0).getItem().getOwner())).isTrue();
+    }
+
+    @Test
+    void handleFindBookingViews_byOwner() {
+        List<BookingView> result = bookingRepository.findBookingViews(
+                BookingSpecifications.ofItemsOwnedBy(secondUser.getId()), 0, 10);
+
+        assertThat(result).extracting(BookingView::getId)
+                .containsExactly(bookingCurrent.getId(), bookingPast.getId());
+        assertThat(result.get(0).getBookerId()).isEqualTo(firstUser.getId());
+        assertThat(result.get(0).getItemName()).isEqualTo(apple.getName());
     }
 
     @Test
-    void handleFindBookingsByBooker_Id() {
-        List<Booking> result = bookingRepository.findBookingsByBooker_Id(secondUser.getId(), Pageable.unpaged());
-        // or first?
+    void handleFindBookings_byBooker() {
+        List<Booking> result = findBookings(
+                BookingSpecifications.bookedBy(secondUser.getId()), BookingState.ALL, now);
+
         assertThat(result).isNotEmpty();
         assertThat(result.get(0).getId()).isEqualTo(booking.getId());
         assertThat(result.get(0).getStart()).isEqualTo(booking.getStart());
@@ -179,13 +227,10 @@ class BookingRepositoryTest {
     }
 
     @Test
-    void handleFindBookingsByBooker_IdAndStartIsBeforeAndEndIsAfter() {
-        List<Booking> result = bookingRepository.findBookingsByBooker_IdAndStartIsBeforeAndEndIsAfter(
-                secondUser.getId(),
-                LocalDateTime.of(2023, 10, 25, 18, 30, 0),
-                LocalDateTime.of(2023, 10, 20, 19, 30, 0),
-                Pageable.unpaged()
-        );
+    void handleFindBookings_byBookerAndCurrent() {
+        List<Booking> result = findBookings(
+                BookingSpecifications.bookedBy(secondUser.getId()), BookingState.CURRENT,
+                LocalDateTime.of(2023, 10, 20, 19, 30));
 
         assertThat(result).isNotEmpty();
         assertThat(result.get(0).getId()).isEqualTo(booking.getId());
@@ -198,12 +243,10 @@ class BookingRepositoryTest {
     }
 
     @Test
-    void handleFindBookingsByBooker_IdAndEndIsBefore() {
-        List<Booking> result = bookingRepository.findBookingsByBooker_IdAndEndIsBefore(
-                secondUser.getId(),
-                LocalDateTime.of(2024, 10, 22, 12, 30, 0),
-                Pageable.unpaged()
-        );
+    void handleFindBookings_byBookerAndPast() {
+        List<Booking> result = findBookings(
+                BookingSpecifications.bookedBy(secondUser.getId()), BookingState.PAST,
+                LocalDateTime.of(2024, 10, 22, 12, 30));
 
         assertThat(result).isNotEmpty();
         assertThat(result.get(0).getId()).isEqualTo(booking.getId());
@@ -216,12 +259,9 @@ class BookingRepositoryTest {
     }
 
     @Test
-    void findBookingsByBooker_IdAndStartIsAfter() {
-        List<Booking> result = bookingRepository.findBookingsByBooker_IdAndStartIsAfter(
-                secondUser.getId(),
-                LocalDateTime.of(2021, 10, 19, 12, 30, 0),
-                Pageable.unpaged()
-        );
+    void handleFindBookings_byBookerAndFuture() {
+        List<Booking> result = findBookings(
+                BookingSpecifications.bookedBy(secondUser.getId()), BookingState.FUTURE, now);
 
         assertThat(result).isNotEmpty();
         assertThat(result.get(0).getId()).isEqualTo(booking.getId());
@@ -234,12 +274,9 @@ class BookingRepositoryTest {
     }
 
     @Test
-    void handleFindBookingsByBooker_IdAndStatus() {
-        List<Booking> result = bookingRepository.findBookingsByBooker_IdAndStatus(
-                secondUser.getId(),
-                BookingStatus.WAITING,
-                Pageable.unpaged()
-        );
+    void handleFindBookings_byBookerAndWaiting() {
+        List<Booking> result = findBookings(
+                BookingSpecifications.bookedBy(secondUser.getId()), BookingState.WAITING, now);
 
         assertThat(result).isNotEmpty();
         assertThat(result.get(0).getId()).isEqualTo(booking.getId());
@@ -268,4 +305,17 @@ class BookingRepositoryTest {
         assertThat(result.get(0).getBooker().getEmail()).isEqualTo(booking.getBooker().getEmail());
         assertThat(result.get(0).getStatus()).isEqualTo(booking.getStatus());
     }
+
+    @Test
+    void handleFindBookingViews_byOffset() {
+        List<BookingView> result = bookingRepository.findBookingViews(
+                BookingSpecifications.ofItemsOwnedBy(secondUser.getId()), 1, 10);
+
+        assertThat(result).extracting(BookingView::getId).containsExactly(bookingPast.getId());
+    }
+
+    private List<Booking> findBookings(Specification<Booking> bookings, BookingState state, LocalDateTime now) {
+        return bookingRepository.findBookings(
+                bookings.and(BookingSpecifications.inState(state, now)), Set.of(), 0, 10);
+    }
 }
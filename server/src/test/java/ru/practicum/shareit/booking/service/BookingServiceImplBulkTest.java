@@ -0,0 +1,135 @@
+package ru.practicum.shareit.booking.service;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.jdbc.SqlGroup;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingDecision;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingState;
+import ru.practicum.shareit.booking.dto.BookingStatus;
+import ru.practicum.shareit.booking.dto.BulkBookingResult;
+import ru.practicum.shareit.booking.dto.InputBookingDto;
+import ru.practicum.shareit.exception.SubstanceNotFoundException;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.context.jdbc.Sql.ExecutionPhase.BEFORE_TEST_METHOD;
+
+// a separate database, the batches draw whole blocks of booking ids from the sequence
+@Transactional
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:shareit-bulk")
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class BookingServiceImplBulkTest {
+    private final BookingService bookService;
+
+    @Test
+    @SqlGroup({
+            @Sql(value = {"booking-service-test-before-with-overlapping-bookings.sql"},
+                    executionPhase = BEFORE_TEST_METHOD)
+    })
+    void handleAddBookings_withResultPerEntry() {
+        List<BulkBookingResult> results = bookService.addBookings(3L, List.of(
+                new InputBookingDto(LocalDateTime.of(2030, 11, 1, 12, 0), LocalDateTime.of(2030, 11, 2, 12, 0), 3L),
+                new InputBookingDto(LocalDateTime.of(2030, 10, 20, 10, 0), LocalDateTime.of(2030, 10, 22, 10, 0), 3L),
+                new InputBookingDto(LocalDateTime.of(2030, 11, 1, 12, 0), LocalDateTime.of(2030, 11, 2, 12, 0), 99L),
+                new InputBookingDto(LocalDateTime.of(2030, 12, 1, 12, 0), LocalDateTime.of(2030, 12, 2, 12, 0), 3L)
+        ));
+
+        assertThat(results).extracting(BulkBookingResult::getIndex).containsExactly(0, 1, 2, 3);
+        assertThat(results).extracting(BulkBookingResult::getStatus).containsExactly(200, 409, 404, 200);
+        assertNull(results.get(1).getBooking());
+        assertEquals("There isn't item with id 99 in database.", results.get(2).getError());
+        assertEquals(BookingStatus.WAITING, results.get(0).getBooking().getStatus());
+        assertThat(bookService.getUserBookings(3L, BookingState.ALL, 0, 10, Set.of()))
+                .extracting(BookingDto::getId)
+                .contains(results.get(0).getBooking().getId(), results.get(3).getBooking().getId());
+    }
+
+    @Test
+    @SqlGroup({
+            @Sql(value = {"booking-service-test-before-with-overlapping-bookings.sql"},
+                    executionPhase = BEFORE_TEST_METHOD)
+    })
+    void handleAddBookings_withBookerIsOwner() {
+        List<BulkBookingResult> results = bookService.addBookings(1L, List.of(
+                new InputBookingDto(LocalDateTime.of(2030, 11, 1, 12, 0), LocalDateTime.of(2030, 11, 2, 12, 0), 3L)
+        ));
+
+        assertEquals(404, results.get(0).getStatus());
+    }
+
+    @Test
+    @SqlGroup({
+            @Sql(value = {"booking-service-test-before-with-overlapping-bookings.sql"},
+                    executionPhase = BEFORE_TEST_METHOD)
+    })
+    void handleAddBookings_withUserDoesNotExist() {
+        List<InputBookingDto> inputBookingDtos = List.of(
+                new InputBookingDto(LocalDateTime.of(2030, 11, 1, 12, 0), LocalDateTime.of(2030, 11, 2, 12, 0), 3L)
+        );
+
+        assertThrows(SubstanceNotFoundException.class, () -> bookService.addBookings(53L, inputBookingDtos));
+    }
+
+    @Test
+    @SqlGroup({
+            @Sql(value = {"booking-service-test-before-with-overlapping-bookings.sql"},
+                    executionPhase = BEFORE_TEST_METHOD)
+    })
+    void handleChangeBookingStatuses_withResultPerEntry() {
+        List<BulkBookingResult> results = bookService.changeBookingStatuses(1L, List.of(
+                new BookingDecision(8L, true),
+                new BookingDecision(99L, true)
+        ));
+
+        assertThat(results).extracting(BulkBookingResult::getStatus).containsExactly(409, 404);
+        assertEquals(404, bookService.changeBookingStatuses(2L, List.of(new BookingDecision(8L, false)))
+                .get(0).getStatus());
+        assertEquals(400, bookService.changeBookingStatuses(1L, List.of(new BookingDecision(7L, true)))
+                .get(0).getStatus());
+    }
+
+    @Test
+    @SqlGroup({
+            @Sql(value = {"booking-service-test-before-with-overlapping-bookings.sql"},
+                    executionPhase = BEFORE_TEST_METHOD)
+    })
+    void handleChangeBookingStatuses_rejectionFreesPeriod() {
+        List<BulkBookingResult> results = bookService.changeBookingStatuses(1L, List.of(
+                new BookingDecision(8L, true),
+                new BookingDecision(7L, false)
+        ));
+
+        assertThat(results).extracting(BulkBookingResult::getStatus).containsExactly(200, 200);
+        assertEquals(BookingStatus.APPROVED, bookService.getBooking(1L, 8L, Set.of()).getStatus());
+        assertEquals(BookingStatus.REJECTED, bookService.getBooking(1L, 7L, Set.of()).getStatus());
+    }
+
+    @Test
+    @SqlGroup({
+            @Sql(value = {"booking-service-test-before-with-overlapping-bookings.sql"},
+                    executionPhase = BEFORE_TEST_METHOD)
+    })
+    void handleChangeBookingStatuses_overlappingApprovalsInOneBatch() {
+        long other = bookService.addBookings(2L, List.of(
+                new InputBookingDto(LocalDateTime.of(2030, 10, 21, 0, 0), LocalDateTime.of(2030, 10, 23, 0, 0), 3L)
+        )).get(0).getBooking().getId();
+
+        List<BulkBookingResult> results = bookService.changeBookingStatuses(1L, List.of(
+                new BookingDecision(7L, false),
+                new BookingDecision(8L, true),
+                new BookingDecision(other, true)
+        ));
+
+        assertThat(results).extracting(BulkBookingResult::getStatus).containsExactly(200, 200, 409);
+        assertEquals(BookingStatus.WAITING, bookService.getBooking(1L, other, Set.of()).getStatus());
+    }
+}
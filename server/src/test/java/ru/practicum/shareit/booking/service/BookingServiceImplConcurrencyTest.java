@@ -0,0 +1,84 @@
+package ru.practicum.shareit.booking.service;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.booking.dto.InputBookingDto;
+import ru.practicum.shareit.exception.ConflictException;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// not transactional, every approval has to commit on its own; a separate database keeps generated ids of other tests
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:shareit-concurrency")
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class BookingServiceImplConcurrencyTest {
+    private static final int BOOKERS = 8;
+
+    private final BookingService bookingService;
+    private final ItemService itemService;
+    private final UserService userService;
+    private final JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM bookings");
+        jdbcTemplate.update("DELETE FROM items");
+        jdbcTemplate.update("DELETE FROM users");
+    }
+
+    @Test
+    void handleChangeBookingStatus_concurrentApprovalsOfSamePeriod() throws Exception {
+        long ownerId = userService.addUser(new UserDto(null, "owner", "owner@shareit.ru")).getId();
+        long itemId = itemService.createItem(ownerId,
+                new ItemDto(null, "hot item", "everybody wants it", true, null, null)).getId();
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        List<Long> bookingIds = new ArrayList<>();
+        for (int i = 0; i < BOOKERS; i++) {
+            long bookerId = userService.addUser(new UserDto(null, "booker" + i, "booker" + i + "@shareit.ru")).getId();
+            bookingIds.add(bookingService.addBooking(bookerId,
+                    new InputBookingDto(start.plusHours(i), start.plusDays(1).plusHours(i), itemId)).getId());
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(BOOKERS);
+        CountDownLatch ready = new CountDownLatch(1);
+        List<Future<Boolean>> approvals = new ArrayList<>();
+        for (long bookingId : bookingIds) {
+            approvals.add(executor.submit(() -> {
+                ready.await();
+                try {
+                    bookingService.changeBookingStatus(ownerId, bookingId, true);
+                    return true;
+                } catch (ConflictException e) {
+                    return false;
+                }
+            }));
+        }
+        ready.countDown();
+        int approved = 0;
+        for (Future<Boolean> approval : approvals) {
+            if (approval.get()) {
+                approved++;
+            }
+        }
+        executor.shutdown();
+
+        assertEquals(1, approved);
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM bookings WHERE status = 'APPROVED'", Integer.class));
+    }
+}
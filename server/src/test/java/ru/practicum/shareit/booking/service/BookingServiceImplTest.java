@@ -8,25 +8,31 @@ import org.springframework.test.context.jdbc.Sql;
 import org.springframework.test.context.jdbc.SqlGroup;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingExpansion;
 import ru.practicum.shareit.booking.dto.BookingState;
 import ru.practicum.shareit.booking.dto.BookingStatus;
 import ru.practicum.shareit.booking.dto.InputBookingDto;
+import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.ForbiddenException;
 import ru.practicum.shareit.exception.NotAvailableException;
 import ru.practicum.shareit.exception.SubstanceNotFoundException;
+import ru.practicum.shareit.pagination.Cursor;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.springframework.test.context.jdbc.Sql.ExecutionPhase.BEFORE_TEST_METHOD;
 
 @Transactional
-@SpringBootTest
+@SpringBootTest(properties = "shareit.clock.fixed=2022-11-15T12:00:00")
 @RequiredArgsConstructor(onConstructor_ = @Autowired)
 class BookingServiceImplTest {
     private final BookingService bookService;
+    private final LocalDateTime now = LocalDateTime.of(2022, 11, 15, 12, 0);
 
     @Test
     @SqlGroup({
@@ -34,8 +40,8 @@ class BookingServiceImplTest {
     })
     void handleAddBooking_ByDefault() {
         InputBookingDto inputBookingDto = new InputBookingDto(
-                LocalDateTime.now().plusMonths(1),
-                LocalDateTime.now().plusMonths(2),
+                now.plusMonths(1),
+                now.plusMonths(2),
                 5L
         );
 
@@ -53,8 +59,8 @@ class BookingServiceImplTest {
     })
     void handleAddBooking_withItemIsNotAvailable() {
         InputBookingDto newBookingDto = new InputBookingDto(
-                LocalDateTime.now(),
-                LocalDateTime.now().plusDays(4),
+                now,
+                now.plusDays(4),
                 3L
         );
 
@@ -72,8 +78,8 @@ class BookingServiceImplTest {
     void handleAddBooking_withUserDoesNotExist() {
         long userId = 53L;
         InputBookingDto newBookingDto = new InputBookingDto(
-                LocalDateTime.now(),
-                LocalDateTime.now().plusDays(4),
+                now,
+                now.plusDays(4),
                 3L
         );
 
@@ -89,8 +95,8 @@ class BookingServiceImplTest {
     })
     void handleAddBooking_withItemDoesNotExist() {
         InputBookingDto newBookingDto = new InputBookingDto(
-                LocalDateTime.now(),
-                LocalDateTime.now().plusDays(4),
+                now,
+                now.plusDays(4),
                 51L
         );
 
@@ -107,8 +113,8 @@ class BookingServiceImplTest {
     })
     void handleAddBooking_BookerIsOwner() {
         InputBookingDto newBookingDto = new InputBookingDto(
-                LocalDateTime.now(),
-                LocalDateTime.now().plusDays(4),
+                now,
+                now.plusDays(4),
                 3L
         );
 
@@ -124,7 +130,7 @@ class BookingServiceImplTest {
             @Sql(value = {"booking-service-test-before-with-one-booking.sql"}, executionPhase = BEFORE_TEST_METHOD)
     })
     void handleGetBooking_withUserIsOwner() {
-        BookingDto actual = bookService.getBooking(1L, 7L);
+        BookingDto actual = bookService.getBooking(1L, 7L, Set.of());
 
         assertThat(actual).isNotNull();
         assertEquals(7L, actual.getId());
@@ -134,6 +140,36 @@ class BookingServiceImplTest {
         assertEquals(1L, actual.getBooker().getId());
     }
 
+    @Test
+    @SqlGroup({
+            @Sql(value = {"booking-service-test-before-with-one-booking.sql"}, executionPhase = BEFORE_TEST_METHOD)
+    })
+    void handleGetBooking_withExpand() {
+        BookingDto actual = bookService.getBooking(1L, 7L, BookingExpansion.parse("booker,item,item.request"));
+
+        assertEquals("Adam", actual.getBooker().getName());
+        assertEquals("great garden without people", actual.getItem().getDescription());
+        assertNull(actual.getItem().getOwner());
+        assertEquals(4L, actual.getItem().getRequest().getId());
+        assertEquals("Eva", actual.getItem().getRequest().getRequester().getName());
+    }
+
+    @Test
+    @SqlGroup({
+            @Sql(value = {"booking-service-test-before-with-one-booking.sql"}, executionPhase = BEFORE_TEST_METHOD)
+    })
+    void handleGetUserBookings_withCursorAndExpand() {
+        BookingDto plain = bookService.getUserBookings(1L, BookingState.ALL, Cursor.first(), 10, Set.of())
+                .getContent().get(0);
+        BookingDto expanded = bookService.getUserBookings(1L, BookingState.ALL, Cursor.first(), 10,
+                Set.of(BookingExpansion.ITEM_OWNER)).getContent().get(0);
+
+        assertEquals("Paradise", plain.getItem().getName());
+        assertNull(plain.getItem().getOwner());
+        assertNull(plain.getBooker().getName());
+        assertEquals("adam@paradise.comm", expanded.getItem().getOwner().getEmail());
+    }
+
     @Test
     @SqlGroup({
             @Sql(value = {"booking-service-test-before-with-one-booking.sql"}, executionPhase = BEFORE_TEST_METHOD)
@@ -142,7 +178,7 @@ class BookingServiceImplTest {
         long randomId = 50L;
 
         assertThrows(SubstanceNotFoundException.class,
-                () -> bookService.getBooking(randomId, 7L));
+                () -> bookService.getBooking(randomId, 7L, Set.of()));
     }
 
     @Test
@@ -150,7 +186,7 @@ class BookingServiceImplTest {
             @Sql(value = {"booking-service-test-before-with-one-booking.sql"}, executionPhase = BEFORE_TEST_METHOD)
     })
     void handleGetBooking_withUserIsBooker() {
-        BookingDto actual = bookService.getBooking(1L, 7L);
+        BookingDto actual = bookService.getBooking(1L, 7L, Set.of());
 
         assertThat(actual).isNotNull();
         assertEquals(7L, actual.getId());
@@ -169,7 +205,7 @@ class BookingServiceImplTest {
 
         assertThrows(
                 SubstanceNotFoundException.class,
-                () -> bookService.getBooking(1L, bookingId),
+                () -> bookService.getBooking(1L, bookingId, Set.of()),
                 "Expected getBooking() to throw SubstanceNotFoundException because the booking does not exist."
         );
     }
@@ -184,7 +220,7 @@ class BookingServiceImplTest {
 
         assertThrows(
                 SubstanceNotFoundException.class,
-                () -> bookService.getUserBookings(randomId, BookingState.ALL, 0, 10)
+                () -> bookService.getUserBookings(randomId, BookingState.ALL, 0, 10, Set.of())
         );
     }
 
@@ -193,7 +229,7 @@ class BookingServiceImplTest {
             @Sql(value = {"booking-service-test-before-with-one-booking.sql"}, executionPhase = BEFORE_TEST_METHOD)
     })
     void handleGetUserBookings_withStateIsWaiting() {
-        List<BookingDto> actual = bookService.getUserBookings(1L, BookingState.WAITING, 0, 1);
+        List<BookingDto> actual = bookService.getUserBookings(1L, BookingState.WAITING, 0, 1, Set.of());
 
         assertEquals(actual.get(0).getId(), 7L);
         assertEquals(actual.get(0).getStatus(), BookingStatus.WAITING);
@@ -206,7 +242,7 @@ class BookingServiceImplTest {
             @Sql(value = {"booking-service-test-before-with-rejected-booking.sql"}, executionPhase = BEFORE_TEST_METHOD)
     })
     void handleGetUserBookings_withStateIsRejected() {
-        List<BookingDto> actual = bookService.getUserBookings(1L, BookingState.REJECTED, 0, 1);
+        List<BookingDto> actual = bookService.getUserBookings(1L, BookingState.REJECTED, 0, 1, Set.of());
 
         assertEquals(actual.get(0).getId(), 7L);
         assertEquals(actual.get(0).getStatus(), BookingStatus.REJECTED);
@@ -219,14 +255,14 @@ class BookingServiceImplTest {
             @Sql(value = {"booking-service-test-before-with-current-booking.sql"}, executionPhase = BEFORE_TEST_METHOD)
     })
     void handleGetUserBookings_withStateIsCurrent() {
-        List<BookingDto> actual = bookService.getUserBookings(1L, BookingState.CURRENT, 0, 1);
+        List<BookingDto> actual = bookService.getUserBookings(1L, BookingState.CURRENT, 0, 1, Set.of());
 
         assertEquals(actual.get(0).getId(), 7L);
         assertEquals(actual.get(0).getStatus(), BookingStatus.WAITING);
         assertEquals(actual.get(0).getItem().getId(), 3L);
         assertEquals(actual.get(0).getBooker().getId(), 1L);
-        assertTrue(actual.get(0).getStart().isBefore(LocalDateTime.now()));
-        assertTrue(actual.get(0).getEnd().isAfter(LocalDateTime.now()));
+        assertTrue(actual.get(0).getStart().isBefore(now));
+        assertTrue(actual.get(0).getEnd().isAfter(now));
     }
 
     @Test
@@ -234,14 +270,14 @@ class BookingServiceImplTest {
             @Sql(value = {"booking-service-test-before-with-past-booking.sql"}, executionPhase = BEFORE_TEST_METHOD)
     })
     void handleGetUserBookings_withStateIsPast() {
-        List<BookingDto> actual = bookService.getUserBookings(1L, BookingState.PAST, 0, 1);
+        List<BookingDto> actual = bookService.getUserBookings(1L, BookingState.PAST, 0, 1, Set.of());
 
         assertEquals(actual.get(0).getId(), 7L);
         assertEquals(actual.get(0).getStatus(), BookingStatus.WAITING);
         assertEquals(actual.get(0).getItem().getId(), 3L);
         assertEquals(actual.get(0).getBooker().getId(), 1L);
-        assertTrue(actual.get(0).getStart().isBefore(LocalDateTime.now()));
-        assertTrue(actual.get(0).getEnd().isBefore(LocalDateTime.now()));
+        assertTrue(actual.get(0).getStart().isBefore(now));
+        assertTrue(actual.get(0).getEnd().isBefore(now));
     }
 
     @Test
@@ -249,14 +285,14 @@ class BookingServiceImplTest {
             @Sql(value = {"booking-service-test-before-with-future-booking.sql"}, executionPhase = BEFORE_TEST_METHOD)
     })
     void handleGetUserBookings_withStateIsFuture() {
-        List<BookingDto> actual = bookService.getUserBookings(1L, BookingState.FUTURE, 0, 1);
+        List<BookingDto> actual = bookService.getUserBookings(1L, BookingState.FUTURE, 0, 1, Set.of());
 
         assertEquals(actual.get(0).getId(), 7L);
         assertEquals(actual.get(0).getStatus(), BookingStatus.WAITING);
         assertEquals(actual.get(0).getItem().getId(), 3L);
         assertEquals(actual.get(0).getBooker().getId(), 1L);
-        assertTrue(actual.get(0).getStart().isAfter(LocalDateTime.now()));
-        assertTrue(actual.get(0).getEnd().isAfter(LocalDateTime.now()));
+        assertTrue(actual.get(0).getStart().isAfter(now));
+        assertTrue(actual.get(0).getEnd().isAfter(now));
     }
 
     @Test
@@ -264,7 +300,7 @@ class BookingServiceImplTest {
             @Sql(value = {"booking-service-test-before-with-one-booking.sql"}, executionPhase = BEFORE_TEST_METHOD)
     })
     void handleGetUserBookings_withStateIsAll() {
-        List<BookingDto> actual = bookService.getUserBookings(1L, BookingState.ALL, 0, 1);
+        List<BookingDto> actual = bookService.getUserBookings(1L, BookingState.ALL, 0, 1, Set.of());
 
         assertThat(actual).isNotNull();
         assertEquals(7L, actual.get(0).getId());
@@ -279,7 +315,7 @@ class BookingServiceImplTest {
             @Sql(value = {"booking-service-test-before-with-one-booking.sql"}, executionPhase = BEFORE_TEST_METHOD)
     })
     void handleGetOwnerBookingList_withStateIsWaiting() {
-        List<BookingDto> actual = bookService.getOwnerBookingList(1L, BookingState.WAITING, 0, 1);
+        List<BookingDto> actual = bookService.getOwnerBookingList(1L, BookingState.WAITING, 0, 1, Set.of());
 
         assertEquals(actual.get(0).getId(), 7L);
         assertEquals(actual.get(0).getStatus(), BookingStatus.WAITING);
@@ -292,7 +328,7 @@ class BookingServiceImplTest {
             @Sql(value = {"booking-service-test-before-with-rejected-booking.sql"}, executionPhase = BEFORE_TEST_METHOD)
     })
     void handleGetOwnerBookingList_withStateIsRejected() {
-        List<BookingDto> actual = bookService.getOwnerBookingList(1L, BookingState.REJECTED, 0, 1);
+        List<BookingDto> actual = bookService.getOwnerBookingList(1L, BookingState.REJECTED, 0, 1, Set.of());
 
         assertEquals(actual.get(0).getId(), 7L);
         assertEquals(actual.get(0).getStatus(), BookingStatus.REJECTED);
@@ -305,14 +341,14 @@ class BookingServiceImplTest {
             @Sql(value = {"booking-service-test-before-with-current-booking.sql"}, executionPhase = BEFORE_TEST_METHOD)
     })
     void handleGetOwnerBookingList_withStateIsCurrent() {
-        List<BookingDto> actual = bookService.getOwnerBookingList(1L, BookingState.CURRENT, 0, 1);
+        List<BookingDto> actual = bookService.getOwnerBookingList(1L, BookingState.CURRENT, 0, 1, Set.of());
 
         assertEquals(actual.get(0).getId(), 7L);
         assertEquals(actual.get(0).getStatus(), BookingStatus.WAITING);
         assertEquals(actual.get(0).getItem().getId(), 3L);
         assertEquals(actual.get(0).getBooker().getId(), 1L);
-        assertTrue(actual.get(0).getStart().isBefore(LocalDateTime.now()));
-        assertTrue(actual.get(0).getEnd().isAfter(LocalDateTime.now()));
+        assertTrue(actual.get(0).getStart().isBefore(now));
+        assertTrue(actual.get(0).getEnd().isAfter(now));
     }
 
     @Test
@@ -320,14 +356,14 @@ class BookingServiceImplTest {
             @Sql(value = {"booking-service-test-before-with-past-booking.sql"}, executionPhase = BEFORE_TEST_METHOD)
     })
     void handleGetOwnerBookingList_withStateIsPast() {
-        List<BookingDto> actual = bookService.getOwnerBookingList(1L, BookingState.PAST, 0, 1);
+        List<BookingDto> actual = bookService.getOwnerBookingList(1L, BookingState.PAST, 0, 1, Set.of());
 
         assertEquals(actual.get(0).getId(), 7L);
         assertEquals(actual.get(0).getStatus(), BookingStatus.WAITING);
         assertEquals(actual.get(0).getItem().getId(), 3L);
         assertEquals(actual.get(0).getBooker().getId(), 1L);
-        assertTrue(actual.get(0).getStart().isBefore(LocalDateTime.now()));
-        assertTrue(actual.get(0).getEnd().isBefore(LocalDateTime.now()));
+        assertTrue(actual.get(0).getStart().isBefore(now));
+        assertTrue(actual.get(0).getEnd().isBefore(now));
     }
 
     @Test
@@ -335,14 +371,14 @@ class BookingServiceImplTest {
             @Sql(value = {"booking-service-test-before-with-future-booking.sql"}, executionPhase = BEFORE_TEST_METHOD)
     })
     void handleGetOwnerBookingList_withStateIsFuture() {
-        List<BookingDto> actual = bookService.getOwnerBookingList(1L, BookingState.FUTURE, 0, 1);
+        List<BookingDto> actual = bookService.getOwnerBookingList(1L, BookingState.FUTURE, 0, 1, Set.of());
 
         assertEquals(actual.get(0).getId(), 7L);
         assertEquals(actual.get(0).getStatus(), BookingStatus.WAITING);
         assertEquals(actual.get(0).getItem().getId(), 3L);
         assertEquals(actual.get(0).getBooker().getId(), 1L);
-        assertTrue(actual.get(0).getStart().isAfter(LocalDateTime.now()));
-        assertTrue(actual.get(0).getEnd().isAfter(LocalDateTime.now()));
+        assertTrue(actual.get(0).getStart().isAfter(now));
+        assertTrue(actual.get(0).getEnd().isAfter(now));
     }
 
     @Test
@@ -350,7 +386,7 @@ class BookingServiceImplTest {
             @Sql(value = {"booking-service-test-before-with-one-booking.sql"}, executionPhase = BEFORE_TEST_METHOD)
     })
     void handleGetOwnerBookingList_withStateIsAll() {
-        List<BookingDto> actual = bookService.getOwnerBookingList(1L, BookingState.ALL, 0, 1);
+        List<BookingDto> actual = bookService.getOwnerBookingList(1L, BookingState.ALL, 0, 1, Set.of());
 
         assertThat(actual).isNotNull();
         assertEquals(7L, actual.get(0).getId());
@@ -407,5 +443,68 @@ class BookingServiceImplTest {
         );
     }
 
+    @Test
+    @SqlGroup({
+            @Sql(value = {"booking-service-test-before-with-overlapping-bookings.sql"},
+                    executionPhase = BEFORE_TEST_METHOD)
+    })
+    void handleAddBooking_overlapsApprovedBooking() {
+        InputBookingDto overlapping = new InputBookingDto(
+                LocalDateTime.of(2030, 10, 20, 10, 0),
+                LocalDateTime.of(2030, 10, 22, 10, 0),
+                3L
+        );
 
+        assertThrows(ConflictException.class, () -> bookService.addBooking(3L, overlapping));
+    }
+
+    @Test
+    @SqlGroup({
+            @Sql(value = {"booking-service-test-before-with-overlapping-bookings.sql"},
+                    executionPhase = BEFORE_TEST_METHOD)
+    })
+    void handleChangeBookingStatus_overlapsApprovedBooking() {
+        assertThrows(ConflictException.class, () -> bookService.changeBookingStatus(1L, 8L, true));
+        assertEquals(BookingStatus.REJECTED, bookService.changeBookingStatus(1L, 8L, false).getStatus());
+    }
+
+    @Test
+    @SqlGroup({
+            @Sql(value = {"booking-service-test-before-with-overlapping-bookings.sql"},
+                    executionPhase = BEFORE_TEST_METHOD)
+    })
+    void handleExportOwnerBookings() {
+        List<BookingDto> exported = new ArrayList<>();
+
+        bookService.exportOwnerBookings(1L, Set.of(BookingExpansion.ITEM_OWNER), exported::add);
+
+        assertThat(exported).extracting(BookingDto::getId).containsExactly(8L, 7L);
+        assertEquals(exported.get(0).getBooker().getId(), 3L);
+        assertEquals(exported.get(1).getItem().getOwner().getId(), 1L);
+    }
+
+    @Test
+    @SqlGroup({
+            @Sql(value = {"booking-service-test-before-with-overlapping-bookings.sql"},
+                    executionPhase = BEFORE_TEST_METHOD)
+    })
+    void handleExportUserBookings() {
+        List<BookingDto> exported = new ArrayList<>();
+
+        bookService.exportUserBookings(2L, Set.of(), exported::add);
+
+        assertThat(exported).extracting(BookingDto::getId).containsExactly(7L);
+        assertNull(exported.get(0).getItem().getOwner());
+    }
+
+    @Test
+    @SqlGroup({
+            @Sql(value = {"booking-service-test-before-with-overlapping-bookings.sql"},
+                    executionPhase = BEFORE_TEST_METHOD)
+    })
+    void handleExportUserBookings_withUserDoesNotExist() {
+        assertThrows(SubstanceNotFoundException.class,
+                () -> bookService.exportUserBookings(53L, Set.of(), booking -> {
+                }));
+    }
 }
@@ -0,0 +1,94 @@
+package ru.practicum.shareit.datasource;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.RequiredArgsConstructor;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.sql.Connection;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
+
+// the first replica is a second in-memory database, the second one does not exist
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:shareit-primary",
+        "shareit.datasource.replicas[0].url=" + ReplicaRoutingDataSourceTest.REPLICA_URL,
+        "shareit.datasource.replicas[1].url=jdbc:h2:mem:shareit-missing;IFEXISTS=TRUE"
+})
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class ReplicaRoutingDataSourceTest {
+    static final String REPLICA_URL = "jdbc:h2:mem:shareit-replica;DB_CLOSE_DELAY=-1";
+
+    private final UserService userService;
+    private final ReplicaRoutingDataSource routingDataSource;
+    private final HikariDataSource primaryDataSource;
+
+    @BeforeAll
+    static void migrateReplica() {
+        Flyway.configure()
+                .dataSource(REPLICA_URL, "test", "test")
+                .locations("classpath:db/migration/common", "classpath:db/migration/h2")
+                .placeholders(Map.of("id_allocation_size", "50"))
+                .load()
+                .migrate();
+        replica().update("INSERT INTO users (user_id, name, email) VALUES (1, 'Replicated', 'replica@shareit.ru')");
+    }
+
+    @Test
+    void handleReadOnlyTransaction_readsReplica() {
+        List<UserDto> users = userService.getAllUsers();
+
+        assertThat(users).extracting(UserDto::getName).containsExactly("Replicated");
+        assertTrue(routingDataSource.isReplicaHealthy(0));
+        assertFalse(routingDataSource.isReplicaHealthy(1));
+    }
+
+    @Test
+    void handleWriteTransaction_writesPrimary() {
+        UserDto user = userService.addUser(new UserDto(null, "Primary", "primary@shareit.ru"));
+
+        assertEquals(1, new JdbcTemplate(primaryDataSource)
+                .queryForObject("SELECT COUNT(*) FROM users WHERE user_id = ?", Integer.class, user.getId()));
+        assertEquals(0, replica()
+                .queryForObject("SELECT COUNT(*) FROM users WHERE email = 'primary@shareit.ru'", Integer.class));
+    }
+
+    @Test
+    void handleReadOnlyTransaction_withReplicasDown() throws Exception {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName("replica-down");
+        config.setJdbcUrl("jdbc:h2:mem:shareit-down;IFEXISTS=TRUE");
+        config.setConnectionTimeout(250);
+        config.setInitializationFailTimeout(-1);
+        try (ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource(primaryDataSource,
+                List.of(new HikariDataSource(config)))) {
+            TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+            try (Connection connection = dataSource.getConnection()) {
+                assertEquals(primaryDataSource.getJdbcUrl(), connection.getMetaData().getURL());
+            } finally {
+                TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+            }
+            assertFalse(dataSource.isReplicaHealthy(0));
+
+            dataSource.checkReplicas();
+
+            assertFalse(dataSource.isReplicaHealthy(0));
+        }
+    }
+
+    private static JdbcTemplate replica() {
+        return new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "test", "test"));
+    }
+}
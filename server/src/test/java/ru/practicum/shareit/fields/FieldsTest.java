@@ -0,0 +1,66 @@
+package ru.practicum.shareit.fields;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FieldsTest {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ItemDto paradise = new ItemDto(1L, "paradise", "a place", true, null, null);
+
+    @Test
+    void handleParse_blank() {
+        assertEquals(Fields.all(), Fields.parse(null, ItemDto.class));
+        assertEquals(Fields.all(), Fields.parse(" ", ItemDto.class));
+        assertTrue(Fields.all().includes("description"));
+    }
+
+    @Test
+    void handleParse_keepsId() {
+        Fields fields = Fields.parse("name, available", ItemDto.class);
+
+        assertTrue(fields.includes("id"));
+        assertTrue(fields.includes("name"));
+        assertTrue(fields.includesAny("description", "available"));
+        assertFalse(fields.includesAny("description", "requestId"));
+    }
+
+    @Test
+    void handleParse_unknownField() {
+        assertThrows(IllegalArgumentException.class, () -> Fields.parse("name,rating", ItemDto.class));
+    }
+
+    @Test
+    void handleSelect() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.add("X-Next-Cursor", "abc");
+        ResponseEntity<?> response = Fields.parse("name", ItemDto.class)
+                .select(objectMapper, new ResponseEntity<>(List.of(paradise), headers, HttpStatus.OK));
+
+        ObjectNode selected = (ObjectNode) ((List<?>) response.getBody()).get(0);
+        assertEquals(List.of("id", "name"), fieldNames(selected));
+        assertEquals("abc", response.getHeaders().getFirst("X-Next-Cursor"));
+    }
+
+    @Test
+    void handleSelect_all() {
+        ResponseEntity<List<ItemDto>> response = ResponseEntity.ok(List.of(paradise));
+
+        assertSame(response, Fields.all().select(objectMapper, response));
+    }
+
+    private static List<String> fieldNames(ObjectNode node) {
+        List<String> names = new ArrayList<>();
+        node.fieldNames().forEachRemaining(names::add);
+        return names;
+    }
+}
@@ -10,11 +10,14 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.booking.dto.BookingDtoWithBookerId;
 import ru.practicum.shareit.booking.dto.BookingStatus;
+import ru.practicum.shareit.fields.Fields;
 import ru.practicum.shareit.item.ItemController;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoWithBookingsAndComments;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.pagination.Cursor;
+import ru.practicum.shareit.pagination.CursorPage;
 import ru.practicum.shareit.user.dto.UserDto;
 
 import java.nio.charset.StandardCharsets;
@@ -24,6 +27,7 @@ import java.util.List;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -234,7 +238,7 @@ public class ItemControllerTest {
     @Test
     void handleGetAllItemsByUser() throws Exception {
         Mockito
-                .when(itemService.getAllItemsByUserId(anyLong(), anyInt(), anyInt()))
+                .when(itemService.getAllItemsByUserId(anyLong(), anyInt(), anyInt(), any()))
                 .thenReturn(List.of(paradiseWithCommentsAndBookings));
 
         mvc.perform(
@@ -318,7 +322,44 @@ public class ItemControllerTest {
                 );
 
         Mockito.verify(itemService, Mockito.times(1))
-                .getAllItemsByUserId(2L, 0, 1);
+                .getAllItemsByUserId(2L, 0, 1, Fields.all());
+    }
+
+    @Test
+    void handleGetAllItemsByUser_withFields() throws Exception {
+        Mockito
+                .when(itemService.getAllItemsByUserId(anyLong(), anyInt(), anyInt(), any()))
+                .thenReturn(List.of(paradiseWithCommentsAndBookings));
+
+        mvc.perform(
+                        get("/items")
+                                .header("X-Sharer-User-Id", secondUser.getId())
+                                .param("from", "0")
+                                .param("size", "1")
+                                .param("fields", "name,available")
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.[0].id", is(paradiseWithCommentsAndBookings.getId()), Long.class))
+                .andExpect(jsonPath("$.[0].name", is(paradiseWithCommentsAndBookings.getName())))
+                .andExpect(jsonPath("$.[0].available", is(paradiseWithCommentsAndBookings.getAvailable())))
+                .andExpect(jsonPath("$.[0].description").doesNotExist())
+                .andExpect(jsonPath("$.[0].comments").doesNotExist())
+                .andExpect(jsonPath("$.[0].lastBooking").doesNotExist());
+
+        Mockito.verify(itemService, Mockito.times(1))
+                .getAllItemsByUserId(2L, 0, 1, Fields.parse("name,available", ItemDtoWithBookingsAndComments.class));
+    }
+
+    @Test
+    void handleGetAllItemsByUser_withUnknownField() throws Exception {
+        mvc.perform(
+                        get("/items")
+                                .header("X-Sharer-User-Id", secondUser.getId())
+                                .param("fields", "rating")
+                )
+                .andExpect(status().isBadRequest());
+
+        Mockito.verifyNoInteractions(itemService);
     }
 
     @Test
@@ -392,4 +433,26 @@ public class ItemControllerTest {
         Mockito.verify(itemService, Mockito.times(1))
                 .searchItems("table", 0, 1);
     }
+
+    @Test
+    void handleSearchItem_withCursor() throws Exception {
+        Mockito
+                .when(itemService.searchItems(anyString(), any(Cursor.class), anyInt()))
+                .thenReturn(new CursorPage<>(List.of(paradiseDto), null));
+
+        mvc.perform(
+                        get("/items/search")
+                                .param("text", "table")
+                                .param("size", "1")
+                                .param("cursor", Cursor.of(2L).encode())
+                                .characterEncoding(StandardCharsets.UTF_8)
+                                .contentType(MediaType.APPLICATION_JSON)
+                )
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(CursorPage.NEXT_CURSOR_HEADER))
+                .andExpect(jsonPath("$.[0].id", is(paradiseDto.getId()), Long.class));
+
+        Mockito.verify(itemService, Mockito.times(1))
+                .searchItems("table", Cursor.of(2L), 1);
+    }
 }
@@ -18,7 +18,8 @@ public class CommentDtoTest {
 
     @Test
     void serialization() throws IOException {
-        CommentDto comment = new CommentDto(1L, "hello world", 1L, 1L, "God", LocalDateTime.now());
+        CommentDto comment = new CommentDto(1L, "hello world", 1L, 1L, "God",
+                LocalDateTime.of(2022, 10, 20, 12, 30, 15));
         JsonContent<CommentDto> result = jacksonTester.write(comment);
 
         assertThat(result).hasJsonPath("$.id");
@@ -0,0 +1,153 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.testcontainers.DockerClientFactory;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ExtendWith(MockitoExtension.class)
+public class FullTextItemSearchTest {
+    @Mock
+    private ItemRepository mockItemRepository;
+    @InjectMocks
+    private FullTextItemSearch itemSearch;
+
+    @Test
+    void handleSearch_byDefault() {
+        Item apple = new Item(1L, "apple", "great fruit", true, new User(1L, "Adam", "adam@paradise.com"), null);
+        Mockito
+                .when(mockItemRepository.searchItemIds("great:* & fru:*", PageRequest.of(0, 10)))
+                .thenReturn(List.of(apple.getId()));
+        Mockito
+                .when(mockItemRepository.findAllByIdInOrder(List.of(apple.getId())))
+                .thenReturn(List.of(apple));
+        List<Item> actual = itemSearch.search("Great, FRU", PageRequest.of(0, 10));
+
+        assertEquals(List.of(apple), actual);
+    }
+
+    @Test
+    void handleSearch_withoutWords() {
+        List<Item> actual = itemSearch.search("&|!:*", PageRequest.of(0, 10));
+
+        assertTrue(actual.isEmpty());
+        Mockito.verifyNoInteractions(mockItemRepository);
+    }
+
+    static boolean dockerAvailable() {
+        return DockerClientFactory.instance().isDockerAvailable();
+    }
+
+    // the test profile searches with the trigram index on H2, these cases pin where Postgres full-text search differs
+    @Nested
+    @DataJpaTest(properties = {
+            "spring.datasource.driverClassName=org.testcontainers.jdbc.ContainerDatabaseDriver",
+            "spring.datasource.url=jdbc:tc:postgresql:14-alpine:///shareit",
+            "shareit.item-search=fulltext"
+    })
+    @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+    @Import(FullTextItemSearch.class)
+    @EnabledIf("ru.practicum.shareit.item.search.FullTextItemSearchTest#dockerAvailable")
+    class OnPostgres {
+        @Autowired
+        private UserRepository userRepository;
+        @Autowired
+        private ItemRepository itemRepository;
+        @Autowired
+        private FullTextItemSearch fullTextItemSearch;
+        private User owner;
+
+        @BeforeEach
+        void setUp() {
+            owner = userRepository.saveAndFlush(new User(null, "Adam", "adam@paradise.com"));
+        }
+
+        @Test
+        void handleSearch_byWordPrefix() {
+            Item apple = save(new Item(null, "apple", "great fruit", true, owner, null));
+            save(new Item(null, "fig leaf", "leaf of fig tree", true, owner, null));
+
+            assertEquals(List.of(apple.getId()), ids(fullTextItemSearch.search("FRU", Pageable.unpaged())));
+        }
+
+        @Test
+        void handleSearch_notByInnerSubstring() {
+            save(new Item(null, "apple", "great fruit", true, owner, null));
+
+            assertTrue(fullTextItemSearch.search("ruit", Pageable.unpaged()).isEmpty());
+            assertTrue(fullTextItemSearch.search("eat fr", Pageable.unpaged()).isEmpty());
+        }
+
+        @Test
+        void handleSearch_withWordsInAnyOrder() {
+            Item apple = save(new Item(null, "apple", "great fruit", true, owner, null));
+
+            assertEquals(List.of(apple.getId()), ids(fullTextItemSearch.search("fruit great", Pageable.unpaged())));
+            assertEquals(List.of(apple.getId()), ids(fullTextItemSearch.search("app, gre", Pageable.unpaged())));
+        }
+
+        @Test
+        void handleSearch_withEveryWordRequired() {
+            save(new Item(null, "apple", "great fruit", true, owner, null));
+            save(new Item(null, "pear", "juicy", true, owner, null));
+
+            assertTrue(fullTextItemSearch.search("fru pear", Pageable.unpaged()).isEmpty());
+        }
+
+        @Test
+        void handleSearch_skipsUnavailableItems() {
+            save(new Item(null, "apple", "great fruit", false, owner, null));
+
+            assertTrue(fullTextItemSearch.search("fruit", Pageable.unpaged()).isEmpty());
+        }
+
+        @Test
+        void handleSearch_withNameMatchesFirst() {
+            Item apple = save(new Item(null, "apple", "great fruit", true, owner, null));
+            Item basket = save(new Item(null, "fruit basket", "wicker", true, owner, null));
+
+            assertEquals(List.of(basket.getId(), apple.getId()),
+                    ids(fullTextItemSearch.search("fruit", PageRequest.of(0, 10))));
+        }
+
+        @Test
+        void handleSearch_afterIdInIdOrder() {
+            Item apple = save(new Item(null, "apple", "great fruit", true, owner, null));
+            Item basket = save(new Item(null, "fruit basket", "wicker", true, owner, null));
+            Item cherry = save(new Item(null, "cherry", "small fruit", true, owner, null));
+
+            assertEquals(List.of(apple.getId(), basket.getId()), ids(fullTextItemSearch.search("fruit", 0, 2)));
+            assertEquals(List.of(cherry.getId()), ids(fullTextItemSearch.search("fruit", basket.getId(), 2)));
+        }
+
+        private Item save(Item item) {
+            return itemRepository.saveAndFlush(item);
+        }
+
+        private List<Long> ids(List<Item> items) {
+            return items.stream().map(Item::getId).collect(Collectors.toList());
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+@Import(TrigramItemSearch.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class TrigramItemSearchTest {
+    private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final TrigramItemSearch itemSearch;
+    private final PlatformTransactionManager transactionManager;
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(new User(null, "Adam", "adam@paradise.com"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        itemRepository.findAll().forEach(item -> itemSearch.remove(item.getId()));
+        itemRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void handleSearch_bySubstringOfDescription() {
+        Item apple = save(new Item(null, "apple", "great fruit", true, owner, null));
+        save(new Item(null, "fig leaf", "leaf of fig tree", true, owner, null));
+
+        List<Item> result = itemSearch.search("fru", Pageable.unpaged());
+
+        assertEquals(1, result.size());
+        assertEquals(apple.getId(), result.get(0).getId());
+        assertEquals(apple.getName(), result.get(0).getName());
+    }
+
+    // unlike the full-text search on Postgres, see FullTextItemSearchTest.OnPostgres
+    @Test
+    void handleSearch_byWholeTextAsSubstring() {
+        Item apple = save(new Item(null, "apple", "great fruit", true, owner, null));
+
+        assertEquals(List.of(apple.getId()), ids(itemSearch.search("ruit", Pageable.unpaged())));
+        assertEquals(List.of(apple.getId()), ids(itemSearch.search("eat fr", Pageable.unpaged())));
+        assertTrue(itemSearch.search("fruit great", Pageable.unpaged()).isEmpty());
+    }
+
+    @Test
+    void handleSearch_ignoresCase() {
+        Item apple = save(new Item(null, "Apple", "great fruit", true, owner, null));
+
+        assertEquals(List.of(apple.getId()), ids(itemSearch.search("aPPLe", Pageable.unpaged())));
+        assertEquals(List.of(apple.getId()), ids(itemSearch.search("AP", Pageable.unpaged())));
+    }
+
+    @Test
+    void handleSearch_skipsUnavailableItems() {
+        save(new Item(null, "apple", "great fruit", false, owner, null));
+
+        assertTrue(itemSearch.search("apple", Pageable.unpaged()).isEmpty());
+    }
+
+    @Test
+    void handleSearch_pagedInIdOrder() {
+        Item first = save(new Item(null, "red apple", "fruit", true, owner, null));
+        Item second = save(new Item(null, "green apple", "fruit", true, owner, null));
+        Item third = save(new Item(null, "apple pie", "cake", true, owner, null));
+
+        assertEquals(List.of(first.getId(), second.getId()), ids(itemSearch.search("apple", PageRequest.of(0, 2))));
+        assertEquals(List.of(third.getId()), ids(itemSearch.search("apple", PageRequest.of(1, 2))));
+    }
+
+    @Test
+    void handleSearch_afterId() {
+        Item first = save(new Item(null, "red apple", "fruit", true, owner, null));
+        Item second = save(new Item(null, "green apple", "fruit", true, owner, null));
+        save(new Item(null, "pear", "fruit", true, owner, null));
+        Item third = save(new Item(null, "apple pie", "cake", true, owner, null));
+
+        assertEquals(List.of(first.getId(), second.getId()), ids(itemSearch.search("apple", 0, 2)));
+        assertEquals(List.of(third.getId()), ids(itemSearch.search("apple", second.getId(), 2)));
+        assertEquals(List.of(second.getId()), ids(itemSearch.search("gr", first.getId(), 1)));
+    }
+
+    @Test
+    void handleSearch_afterUpdate() {
+        Item item = save(new Item(null, "apple", "great fruit", true, owner, null));
+        item.setName("pear");
+        save(item);
+
+        assertTrue(itemSearch.search("apple", Pageable.unpaged()).isEmpty());
+        assertEquals(List.of(item.getId()), ids(itemSearch.search("pear", Pageable.unpaged())));
+    }
+
+    @Test
+    void handleSearch_afterRemove() {
+        Item item = save(new Item(null, "apple", "great fruit", true, owner, null));
+        itemRepository.deleteById(item.getId());
+        itemSearch.remove(item.getId());
+
+        assertTrue(itemSearch.search("apple", Pageable.unpaged()).isEmpty());
+    }
+
+    @Test
+    void handleSearch_afterRollback() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.executeWithoutResult(status -> {
+            save(new Item(null, "apple", "great fruit", true, owner, null));
+            status.setRollbackOnly();
+        });
+
+        assertTrue(itemSearch.search("apple", Pageable.unpaged()).isEmpty());
+    }
+
+    @Test
+    void handleRebuild() {
+        Item apple = itemRepository.save(new Item(null, "apple", "great fruit", true, owner, null));
+        itemSearch.rebuild();
+
+        assertEquals(List.of(apple.getId()), ids(itemSearch.search("fruit", Pageable.unpaged())));
+    }
+
+    private Item save(Item item) {
+        Item saved = itemRepository.save(item);
+        itemSearch.index(saved);
+        return saved;
+    }
+
+    private List<Long> ids(List<Item> items) {
+        return items.stream().map(Item::getId).collect(Collectors.toList());
+    }
+}
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.item.service;
 
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -8,6 +9,7 @@ import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.PageRequest;
 import ru.practicum.shareit.booking.dto.BookingDtoWithBookerId;
+import ru.practicum.shareit.booking.dto.BookingShort;
 import ru.practicum.shareit.booking.dto.BookingStatus;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.repository.BookingRepository;
@@ -15,6 +17,7 @@ import ru.practicum.shareit.booking.service.BookingMapper;
 import ru.practicum.shareit.exception.ForbiddenException;
 import ru.practicum.shareit.exception.NotAvailableException;
 import ru.practicum.shareit.exception.SubstanceNotFoundException;
+import ru.practicum.shareit.fields.Fields;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoWithBookingsAndComments;
@@ -22,13 +25,22 @@ import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearch;
+import ru.practicum.shareit.item.summary.ItemBookingSummary;
+import ru.practicum.shareit.item.summary.ItemBookingSummaryService;
+import ru.practicum.shareit.item.summary.ItemWithBookingSummary;
+import ru.practicum.shareit.item.summary.SummarizedBooking;
+import ru.practicum.shareit.pagination.Cursor;
+import ru.practicum.shareit.pagination.CursorPage;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
+import java.time.Clock;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -81,6 +93,22 @@ public class ItemServiceImplTest {
             firstUser,
             BookingStatus.APPROVED
     );
+    private final BookingShort lastBookingShort = new BookingShort(
+            lastBooking.getId(),
+            paradise.getId(),
+            firstUser.getId(),
+            lastBooking.getStart(),
+            lastBooking.getEnd(),
+            lastBooking.getStatus()
+    );
+    private final BookingShort nextBookingShort = new BookingShort(
+            nextBooking.getId(),
+            paradise.getId(),
+            firstUser.getId(),
+            nextBooking.getStart(),
+            nextBooking.getEnd(),
+            nextBooking.getStatus()
+    );
     private final ItemDtoWithBookingsAndComments paradiseDtoWithBookingsAndComments = new ItemDtoWithBookingsAndComments(
             paradise.getId(),
             paradise.getName(),
@@ -117,8 +145,21 @@ public class ItemServiceImplTest {
     private CommentRepository mockCommentRepository;
     @Mock
     private ItemRequestRepository mockItemRequestRepository;
+    @Mock
+    private ItemSearch mockItemSearch;
+    @Mock
+    private ItemBookingSummaryService mockBookingSummaryService;
+    @Mock
+    private Clock mockClock;
     @InjectMocks
     private ItemServiceImpl itemService;
+    private final LocalDateTime now = LocalDateTime.of(2022, 10, 26, 12, 0);
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(mockClock.getZone()).thenReturn(ZoneId.systemDefault());
+        lenient().when(mockClock.instant()).thenReturn(now.atZone(ZoneId.systemDefault()).toInstant());
+    }
 
     @Test
     void handleCreateItem_byDefault() {
@@ -134,6 +175,12 @@ public class ItemServiceImplTest {
         ItemDto actual = itemService.createItem(firstUser.getId(), paradiseDto);
 
         assertEquals(paradiseDto, actual);
+        Mockito
+                .verify(mockItemSearch, Mockito.times(1))
+                .index(paradise);
+        Mockito
+                .verify(mockBookingSummaryService, Mockito.times(1))
+                .addItem(paradise);
     }
 
     @Test
@@ -185,14 +232,11 @@ public class ItemServiceImplTest {
                 .when(mockItemRepository.findById(paradise.getId()))
                 .thenReturn(Optional.of(paradise));
         Mockito
-                .when(mockUserRepository.existsById(secondUser.getId()))
-                .thenReturn(true);
+                .when(mockUserRepository.findById(secondUser.getId()))
+                .thenReturn(Optional.of(secondUser));
         Mockito
-                .when(mockBookingRepository.getPastOrCurrentBookingByItemId(paradise.getId()))
-                .thenReturn(Optional.of(lastBooking));
-        Mockito
-                .when(mockBookingRepository.getFutureBookingByItemId(paradise.getId()))
-                .thenReturn(Optional.of(nextBooking));
+                .when(mockBookingSummaryService.getSummary(eq(paradise.getId()), any(LocalDateTime.class)))
+                .thenReturn(paradiseSummary());
 
         ItemDtoWithBookingsAndComments actual = itemService.getItemDtoWithBookingsAndComments(
                 secondUser.getId(), paradise.getId());
@@ -238,16 +282,13 @@ public class ItemServiceImplTest {
                         BookingStatus.APPROVED)
         );
         lenient()
-                .when(mockUserRepository.existsById(secondUserDto.getId()))
-                .thenReturn(true);
+                .when(mockUserRepository.findById(secondUser.getId()))
+                .thenReturn(Optional.of(secondUser));
         Mockito
                 .when(mockItemRepository.findById(paradise.getId())).thenReturn(Optional.of(paradise));
         Mockito
-                .when(mockBookingRepository.getPastOrCurrentBookingByItemId(paradiseDto.getId()))
-                .thenReturn(Optional.of(lastBooking));
-        Mockito
-                .when(mockBookingRepository.getFutureBookingByItemId(paradiseDto.getId()))
-                .thenReturn(Optional.of(nextBooking));
+                .when(mockBookingSummaryService.getSummary(eq(paradiseDto.getId()), any(LocalDateTime.class)))
+                .thenReturn(paradiseSummary());
         Mockito
                 .when(mockCommentRepository.findCommentsByItem_Id(paradiseDto.getId()))
                 .thenReturn(Collections.emptyList());
@@ -274,8 +315,8 @@ public class ItemServiceImplTest {
                 null
         );
         lenient()
-                .when(mockUserRepository.existsById(firstUserDto.getId()))
-                .thenReturn(true);
+                .when(mockUserRepository.findById(firstUser.getId()))
+                .thenReturn(Optional.of(firstUser));
         Mockito
                 .when(mockItemRepository.findById(paradise.getId()))
                 .thenReturn(Optional.of(paradise));
@@ -293,11 +334,11 @@ public class ItemServiceImplTest {
     @Test
     void handleGetAllItemsByUserId_byDefault() {
         Mockito
-                .when(mockItemRepository.findByOwnerIdOrderById(secondUser.getId(), PageRequest.of(0, 1)))
-                .thenReturn(List.of(paradise));
+                .when(mockItemRepository.findWithBookingSummaryByOwnerId(secondUser.getId(), PageRequest.of(0, 1)))
+                .thenReturn(List.of(rowOf(paradise, ItemBookingSummary.empty(paradise.getId()))));
         lenient()
-                .when(mockBookingRepository.getBookingsByItem_IdInOrderByEndAsc(itemIds))
-                .thenReturn(List.of(lastBooking, nextBooking));
+                .when(mockBookingSummaryService.complete(eq(itemIds), any(), any(LocalDateTime.class)))
+                .thenReturn(Map.of(paradise.getId(), paradiseSummary()));
         ItemDtoWithBookingsAndComments expected = new ItemDtoWithBookingsAndComments(
                 paradise.getId(),
                 paradise.getName(),
@@ -309,11 +350,103 @@ public class ItemServiceImplTest {
                 null,
                 null
         );
-        List<ItemDtoWithBookingsAndComments> actual = itemService.getAllItemsByUserId(secondUser.getId(), 0, 1);
+        List<ItemDtoWithBookingsAndComments> actual = itemService.getAllItemsByUserId(secondUser.getId(), 0, 1,
+                Fields.all());
+
+        assertEquals(List.of(expected), actual);
+    }
+
+    @Test
+    void handleGetAllItemsByUserId_withBookingsAndComments() {
+        Set<Long> paradiseIds = Set.of(paradise.getId());
+        ItemBookingSummary stored = paradiseSummary();
+        Mockito
+                .when(mockItemRepository.findWithBookingSummaryByOwnerId(secondUser.getId(), PageRequest.of(0, 1)))
+                .thenReturn(List.of(rowOf(paradise, stored)));
+        Mockito
+                .when(mockCommentRepository.findCommentsByItem_IdIn(paradiseIds))
+                .thenReturn(List.of(comment));
+        Mockito
+                .when(mockBookingSummaryService.complete(eq(paradiseIds), eq(List.of(stored)),
+                        any(LocalDateTime.class)))
+                .thenReturn(Map.of(paradise.getId(), stored));
+        ItemDtoWithBookingsAndComments expected = new ItemDtoWithBookingsAndComments(
+                paradise.getId(),
+                paradise.getName(),
+                paradise.getDescription(),
+                paradise.isAvailable(),
+                secondUserDto,
+                paradise.getRequest().getId(),
+                List.of(commentDto),
+                BookingMapper.toBookingDtoWithBookerID(lastBooking),
+                BookingMapper.toBookingDtoWithBookerID(nextBooking)
+        );
+        List<ItemDtoWithBookingsAndComments> actual = itemService.getAllItemsByUserId(secondUser.getId(), 0, 1,
+                Fields.all());
 
         assertEquals(List.of(expected), actual);
     }
 
+    @Test
+    void handleGetAllItemsByUserId_withFieldsWithoutBookingsAndComments() {
+        Mockito
+                .when(mockItemRepository.findByOwnerIdOrderById(secondUser.getId(), PageRequest.of(0, 1)))
+                .thenReturn(List.of(paradise));
+
+        List<ItemDtoWithBookingsAndComments> actual = itemService.getAllItemsByUserId(secondUser.getId(), 0, 1,
+                Fields.parse("name,description", ItemDtoWithBookingsAndComments.class));
+
+        assertEquals(paradise.getName(), actual.get(0).getName());
+        assertEquals(List.of(), actual.get(0).getComments());
+        Mockito.verify(mockItemRepository, Mockito.never()).findWithBookingSummaryByOwnerId(any(), any());
+        Mockito.verifyNoInteractions(mockBookingSummaryService, mockCommentRepository);
+    }
+
+    @Test
+    void handleGetAllItemsByUserId_withFieldsWithBookingsOnly() {
+        ItemBookingSummary stored = paradiseSummary();
+        Mockito
+                .when(mockItemRepository.findWithBookingSummaryByOwnerId(secondUser.getId(), PageRequest.of(0, 1)))
+                .thenReturn(List.of(rowOf(paradise, stored)));
+        Mockito
+                .when(mockBookingSummaryService.complete(any(), any(), any(LocalDateTime.class)))
+                .thenReturn(Map.of(paradise.getId(), stored));
+
+        List<ItemDtoWithBookingsAndComments> actual = itemService.getAllItemsByUserId(secondUser.getId(), 0, 1,
+                Fields.parse("nextBooking", ItemDtoWithBookingsAndComments.class));
+
+        assertEquals(BookingMapper.toBookingDtoWithBookerID(nextBooking), actual.get(0).getNextBooking());
+        Mockito.verifyNoInteractions(mockCommentRepository);
+    }
+
+    @Test
+    void handleGetAllItemsByUserId_withoutItems() {
+        Mockito
+                .when(mockItemRepository.findWithBookingSummaryByOwnerId(firstUser.getId(), PageRequest.of(0, 1)))
+                .thenReturn(Collections.emptyList());
+
+        List<ItemDtoWithBookingsAndComments> actual = itemService.getAllItemsByUserId(firstUser.getId(), 0, 1,
+                Fields.all());
+
+        assertEquals(Collections.emptyList(), actual);
+        Mockito.verifyNoInteractions(mockBookingSummaryService, mockCommentRepository);
+    }
+
+    @Test
+    void handleGetAllItemsByUserId_withCursor() {
+        Item apple = new Item(9L, "Apple", "very tasty fruit", true, secondUser, null);
+        Mockito
+                .when(mockItemRepository.findWithBookingSummaryByOwnerIdAfter(
+                        secondUser.getId(), 1L, PageRequest.ofSize(2)))
+                .thenReturn(List.of(rowOf(paradise, null), rowOf(apple, null)));
+        CursorPage<ItemDtoWithBookingsAndComments> actual = itemService.getAllItemsByUserId(
+                secondUser.getId(), Cursor.of(1L), 1, Fields.all());
+
+        assertEquals(1, actual.getContent().size());
+        assertEquals(paradise.getId(), actual.getContent().get(0).getId());
+        assertEquals(Cursor.of(paradise.getId()).encode(), actual.getNextCursor());
+    }
+
     @Test
     void handleUpdateItem_byDefault() {
         Item figLeaf = new Item(5L,
@@ -345,6 +478,9 @@ public class ItemServiceImplTest {
         ItemDto actual = itemService.updateItem(firstUser.getId(), figLeaf.getId(), update);
 
         assertEquals(expected, actual);
+        Mockito
+                .verify(mockItemSearch, Mockito.times(1))
+                .index(figLeaf);
     }
 
     @Test
@@ -423,6 +559,9 @@ public class ItemServiceImplTest {
         Mockito
                 .verify(mockItemRepository, Mockito.times(1))
                 .deleteById(apple.getId());
+        Mockito
+                .verify(mockItemSearch, Mockito.times(1))
+                .remove(apple.getId());
     }
 
     @Test
@@ -448,7 +587,7 @@ public class ItemServiceImplTest {
     @Test
     void handleSearchItems_byDefault() {
         Mockito
-                .when(mockItemRepository.searchItems("table", PageRequest.of(0, 1)))
+                .when(mockItemSearch.search("table", PageRequest.of(0, 1)))
                 .thenReturn(List.of(paradise));
         List<ItemDto> actual = itemService.searchItems("table", 0, 1);
 
@@ -460,6 +599,7 @@ public class ItemServiceImplTest {
         List<ItemDto> actual = itemService.searchItems("", 0, 1);
 
         assertEquals(Collections.emptyList(), actual);
+        Mockito.verifyNoInteractions(mockItemSearch);
     }
 
     @Test
@@ -474,7 +614,7 @@ public class ItemServiceImplTest {
                 .when(mockBookingRepository.findBookingsByItem_IdAndBooker_IdAndEndIsBefore(
                                 eq(paradise.getId()),
                                 eq(firstUser.getId()),
-                                any(LocalDateTime.class)
+                                eq(now)
                         )
                 )
                 .thenReturn(List.of(lastBooking));
@@ -541,4 +681,25 @@ public class ItemServiceImplTest {
                 () -> itemService.addComment(firstUser.getId(), paradise.getId(), commentDto)
         );
     }
+
+    private ItemBookingSummary paradiseSummary() {
+        ItemBookingSummary summary = ItemBookingSummary.empty(paradise.getId());
+        summary.setLast(SummarizedBooking.of(lastBookingShort));
+        summary.setNext(SummarizedBooking.of(nextBookingShort));
+        return summary;
+    }
+
+    private static ItemWithBookingSummary rowOf(Item item, ItemBookingSummary summary) {
+        return new ItemWithBookingSummary() {
+            @Override
+            public Item getItem() {
+                return item;
+            }
+
+            @Override
+            public ItemBookingSummary getSummary() {
+                return summary;
+            }
+        };
+    }
 }
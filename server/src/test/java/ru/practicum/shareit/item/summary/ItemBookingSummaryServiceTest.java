@@ -0,0 +1,116 @@
+package ru.practicum.shareit.item.summary;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingShort;
+import ru.practicum.shareit.booking.dto.BookingStatus;
+import ru.practicum.shareit.booking.dto.InputBookingDto;
+import ru.practicum.shareit.booking.service.BookingService;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Transactional
+@SpringBootTest
+@Sql("item-booking-summary-test-before.sql")
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class ItemBookingSummaryServiceTest {
+    private final ItemBookingSummaryService summaryService;
+    private final ItemBookingSummaryRepository summaryRepository;
+    private final BookingService bookingService;
+    private final LocalDateTime now = LocalDateTime.of(2022, 10, 10, 12, 0);
+
+    @Test
+    void handleGetSummary_withFreshRow() {
+        ItemBookingSummary summary = summaryService.getSummary(1L, now);
+
+        assertEquals(101L, summary.lastBooking().map(BookingShort::getId).orElseThrow());
+        assertEquals(102L, summary.nextBooking().map(BookingShort::getId).orElseThrow());
+    }
+
+    @Test
+    void handleGetSummary_withStaleRow() {
+        ItemBookingSummary summary = summaryService.getSummary(2L, now);
+
+        assertEquals(104L, summary.lastBooking().map(BookingShort::getId).orElseThrow());
+        assertEquals(Optional.empty(), summary.nextBooking());
+        assertEquals(103L, summaryRepository.findById(2L).orElseThrow().getLast().getBookingId());
+    }
+
+    @Test
+    void handleGetSummary_withoutRow() {
+        ItemBookingSummary summary = summaryService.getSummary(3L, now);
+
+        assertEquals(105L, summary.lastBooking().map(BookingShort::getId).orElseThrow());
+        assertEquals(Optional.empty(), summary.nextBooking());
+        assertFalse(summaryRepository.existsById(3L));
+    }
+
+    @Test
+    void handleComplete_keepsFreshRows() {
+        Map<Long, ItemBookingSummary> summaries = summaryService.complete(Set.of(1L, 2L, 3L),
+                summaryRepository.findAllById(Set.of(1L, 2L)), now);
+
+        assertEquals(3, summaries.size());
+        assertEquals(102L, summaries.get(1L).getNext().getBookingId());
+        assertNull(summaries.get(2L).getNext());
+        assertEquals(105L, summaries.get(3L).getLast().getBookingId());
+    }
+
+    @Test
+    void handleAddBooking_withEarlierNextBooking() {
+        BookingDto booking = bookingService.addBooking(2L, new InputBookingDto(
+                LocalDateTime.of(2099, 9, 1, 10, 0), LocalDateTime.of(2099, 9, 2, 10, 0), 1L));
+
+        ItemBookingSummary summary = summaryRepository.findById(1L).orElseThrow();
+        assertEquals(101L, summary.getLast().getBookingId());
+        assertEquals(booking.getId(), summary.getNext().getBookingId());
+        assertEquals(BookingStatus.WAITING, summary.getNext().getStatus());
+    }
+
+    @Test
+    void handleAddBooking_withLaterNextBooking() {
+        bookingService.addBooking(2L, new InputBookingDto(
+                LocalDateTime.of(2099, 11, 1, 10, 0), LocalDateTime.of(2099, 11, 2, 10, 0), 1L));
+
+        assertEquals(102L, summaryRepository.findById(1L).orElseThrow().getNext().getBookingId());
+    }
+
+    @Test
+    void handleAddBooking_withoutRow() {
+        BookingDto booking = bookingService.addBooking(3L, new InputBookingDto(
+                LocalDateTime.of(2099, 9, 1, 10, 0), LocalDateTime.of(2099, 9, 2, 10, 0), 3L));
+
+        ItemBookingSummary summary = summaryRepository.findById(3L).orElseThrow();
+        assertEquals(105L, summary.getLast().getBookingId());
+        assertEquals(booking.getId(), summary.getNext().getBookingId());
+    }
+
+    @Test
+    void handleChangeBookingStatus() {
+        bookingService.changeBookingStatus(1L, 102L, false);
+
+        ItemBookingSummary summary = summaryRepository.findById(1L).orElseThrow();
+        assertEquals(BookingStatus.REJECTED, summary.getNext().getStatus());
+        assertEquals(BookingStatus.APPROVED, summary.getLast().getStatus());
+    }
+
+    @Test
+    void handleRollForward() {
+        assertEquals(1, summaryService.rollForward(now, 10));
+
+        ItemBookingSummary summary = summaryRepository.findById(2L).orElseThrow();
+        assertEquals(104L, summary.getLast().getBookingId());
+        assertNull(summary.getNext());
+        assertEquals(0, summaryService.rollForward(now, 10));
+    }
+}
@@ -0,0 +1,52 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@Transactional
+@SpringBootTest
+@AutoConfigureMockMvc
+@Sql("/ru/practicum/shareit/statement-count-test-before.sql")
+class StatementCountFilterTest {
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private MeterRegistry registry;
+
+    // the same count StatementCountTest expects from Hibernate's statistics
+    @Test
+    void handleGet_recordsStatementsByUriTemplate() throws Exception {
+        DistributionSummary statements = registry.summary(StatementCountFilter.METRIC_NAME,
+                "method", "GET", "uri", "/items/{itemId}");
+        long count = statements.count();
+        double total = statements.totalAmount();
+
+        mvc.perform(get("/items/1").header("X-Sharer-User-Id", 1)).andExpect(status().isOk());
+
+        assertEquals(count + 1, statements.count());
+        assertEquals(total + 4, statements.totalAmount());
+    }
+
+    @Test
+    void handleGet_timesRepositoryMethods() throws Exception {
+        mvc.perform(get("/users/1").header("X-Sharer-User-Id", 1)).andExpect(status().isOk());
+
+        Timer findById = registry.find("spring.data.repository.invocations")
+                .tags("repository", "UserRepository", "method", "findById")
+                .timer();
+        assertNotNull(findById);
+        assertTrue(findById.count() > 0);
+    }
+}
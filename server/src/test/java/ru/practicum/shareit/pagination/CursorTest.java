@@ -0,0 +1,50 @@
+package ru.practicum.shareit.pagination;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CursorTest {
+    @Test
+    void handleEncodeAndDecode() {
+        LocalDateTime start = LocalDateTime.of(2022, 10, 20, 12, 30);
+        Cursor decoded = Cursor.decode(Cursor.of(start, 4L).encode());
+
+        assertFalse(decoded.isFirst());
+        assertEquals(start, decoded.getDateTime(0));
+        assertEquals(4L, decoded.getLong(1));
+    }
+
+    @Test
+    void handleDecode_blank() {
+        assertTrue(Cursor.decode("").isFirst());
+        assertTrue(Cursor.decode(null).isFirst());
+    }
+
+    @Test
+    void handleDecode_invalid() {
+        assertThrows(IllegalArgumentException.class, () -> Cursor.decode("%%%"));
+        assertThrows(IllegalArgumentException.class, () -> Cursor.decode(Cursor.of("x").encode()).getLong(0));
+        assertThrows(IllegalArgumentException.class, () -> Cursor.decode(Cursor.of(1L).encode()).getLong(1));
+    }
+
+    @Test
+    void handleCursorPage_withNextPage() {
+        CursorPage<Long> page = CursorPage.of(List.of(1L, 2L, 3L), 2, Cursor::of, rows -> rows);
+
+        assertEquals(List.of(1L, 2L), page.getContent());
+        assertEquals(2L, Cursor.decode(page.getNextCursor()).getLong(0));
+    }
+
+    @Test
+    void handleCursorPage_lastPage() {
+        CursorPage<Long> page = CursorPage.of(List.of(1L, 2L), 2, Cursor::of, rows -> rows);
+
+        assertEquals(List.of(1L, 2L), page.getContent());
+        assertNull(page.getNextCursor());
+        assertNull(page.toResponse().getHeaders().getFirst(CursorPage.NEXT_CURSOR_HEADER));
+    }
+}
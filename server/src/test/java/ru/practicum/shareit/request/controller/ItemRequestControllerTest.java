@@ -8,8 +8,11 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.fields.Fields;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoForRequests;
+import ru.practicum.shareit.pagination.Cursor;
+import ru.practicum.shareit.pagination.CursorPage;
 import ru.practicum.shareit.request.ItemRequestController;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestDtoWithItems;
@@ -24,6 +27,7 @@ import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -132,7 +136,7 @@ public class ItemRequestControllerTest {
     @Test
     void handleGetAllRequests_byDefault() throws Exception {
         Mockito
-                .when(itemRequestService.getAllRequests(anyLong(), anyInt(), anyInt()))
+                .when(itemRequestService.getAllRequests(anyLong(), anyInt(), anyInt(), any()))
                 .thenReturn(List.of(paradiseRequestWithItems));
 
         mvc.perform(
@@ -167,7 +171,63 @@ public class ItemRequestControllerTest {
                 );
 
         Mockito.verify(itemRequestService, Mockito.times(1))
-                .getAllRequests(1L, 0, 1);
+                .getAllRequests(1L, 0, 1, Fields.all());
     }
 
+    @Test
+    void handleGetAllRequests_withCursor() throws Exception {
+        Cursor next = Cursor.of(paradiseRequestWithItems.getCreated(), paradiseRequestWithItems.getId());
+        Mockito
+                .when(itemRequestService.getAllRequests(anyLong(), any(Cursor.class), anyInt(), any()))
+                .thenReturn(new CursorPage<>(List.of(paradiseRequestWithItems), next.encode()));
+
+        mvc.perform(
+                        get("/requests/all")
+                                .header("X-Sharer-User-Id", firstUser.getId())
+                                .param("size", "1")
+                                .param("cursor", "")
+                                .characterEncoding(StandardCharsets.UTF_8)
+                                .contentType(MediaType.APPLICATION_JSON)
+                )
+                .andExpect(status().isOk())
+                .andExpect(header().string(CursorPage.NEXT_CURSOR_HEADER, next.encode()))
+                .andExpect(jsonPath("$.[0].id", is(paradiseRequestWithItems.getId()), Long.class));
+
+        Mockito.verify(itemRequestService, Mockito.times(1))
+                .getAllRequests(1L, Cursor.first(), 1, Fields.all());
+    }
+
+    @Test
+    void handleGetAllRequests_withFields() throws Exception {
+        Fields fields = Fields.parse("description", ItemRequestDtoWithItems.class);
+        Mockito
+                .when(itemRequestService.getAllRequests(anyLong(), anyInt(), anyInt(), any()))
+                .thenReturn(List.of(paradiseRequestWithItems));
+
+        mvc.perform(
+                        get("/requests/all")
+                                .header("X-Sharer-User-Id", firstUser.getId())
+                                .param("fields", "description")
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.[0].id", is(paradiseRequestWithItems.getId()), Long.class))
+                .andExpect(jsonPath("$.[0].description", is(paradiseRequestWithItems.getDescription())))
+                .andExpect(jsonPath("$.[0].created").doesNotExist())
+                .andExpect(jsonPath("$.[0].items").doesNotExist());
+
+        Mockito.verify(itemRequestService, Mockito.times(1))
+                .getAllRequests(1L, 0, 10, fields);
+    }
+
+    @Test
+    void handleGetAllRequests_withUnknownField() throws Exception {
+        mvc.perform(
+                        get("/requests/all")
+                                .header("X-Sharer-User-Id", firstUser.getId())
+                                .param("fields", "requester")
+                )
+                .andExpect(status().isBadRequest());
+
+        Mockito.verifyNoInteractions(itemRequestService);
+    }
 }
@@ -24,7 +24,7 @@ public class ItemRequestDtoTest {
                 1L,
                 "great garden without people",
                 user,
-                LocalDateTime.now().plusHours(1).withNano(0));
+                LocalDateTime.of(2022, 10, 20, 12, 30, 15));
         JsonContent<ItemRequestDto> result = jacksonTester.write(item);
 
         assertThat(result).hasJsonPath("$.id");
@@ -25,7 +25,7 @@ public class ItemRequestDtoWithItemsTest {
         ItemRequestDtoWithItems itemDto = new ItemRequestDtoWithItems(
                 1L,
                 "list of items",
-                LocalDateTime.now().plusHours(1).withNano(0),
+                LocalDateTime.of(2022, 10, 20, 12, 30, 15),
                 itemDtos);
         JsonContent<ItemRequestDtoWithItems> result = jacksonTester.write(itemDto);
 
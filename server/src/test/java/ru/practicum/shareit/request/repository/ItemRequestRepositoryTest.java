@@ -4,6 +4,7 @@ import lombok.RequiredArgsConstructor;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.test.context.jdbc.Sql;
 import org.springframework.test.context.jdbc.SqlGroup;
@@ -68,4 +69,18 @@ public class ItemRequestRepositoryTest {
         assertEquals(result.get(0).getRequester().getId(), request.getRequester().getId());
         assertEquals(result.get(0).getCreated(), request.getCreated());
     }
+
+    @Test
+    void handleFindByRequesterIdNot_byKeyset() {
+        List<ItemRequest> firstPage = requestRepository.findByRequesterIdNotOrderByCreatedDescIdDesc(
+                3L, PageRequest.ofSize(1));
+        List<ItemRequest> secondPage = requestRepository.findByRequesterIdNotAfter(
+                3L, firstPage.get(0).getCreated(), firstPage.get(0).getId(), PageRequest.ofSize(1));
+        List<ItemRequest> lastPage = requestRepository.findByRequesterIdNotAfter(
+                3L, secondPage.get(0).getCreated(), secondPage.get(0).getId(), PageRequest.ofSize(1));
+
+        assertThat(firstPage).extracting(ItemRequest::getId).containsExactly(secondRequest.getId());
+        assertThat(secondPage).extracting(ItemRequest::getId).containsExactly(request.getId());
+        assertThat(lastPage).isEmpty();
+    }
 }
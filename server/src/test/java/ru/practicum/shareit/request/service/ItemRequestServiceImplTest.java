@@ -9,6 +9,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import ru.practicum.shareit.exception.SubstanceNotFoundException;
+import ru.practicum.shareit.fields.Fields;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoForRequests;
 import ru.practicum.shareit.item.model.Item;
@@ -151,12 +152,31 @@ public class ItemRequestServiceImplTest {
         Mockito
                 .when(mockItemRepository.getByRequestIdIn(anyList()))
                 .thenReturn(List.of(paradise));
-        List<ItemRequestDtoWithItems> actual = itemRequestService.getAllRequests(secondUser.getId(), 0, 1);
+        List<ItemRequestDtoWithItems> actual = itemRequestService.getAllRequests(secondUser.getId(), 0, 1,
+                Fields.all());
 
         assertThat(actual).isNotEmpty();
         assertEquals(List.of(paradiseRequestWithItems), actual);
     }
 
+    @Test
+    void handleGetAllRequests_withFieldsWithoutItems() {
+        Mockito
+                .when(mockRequestRepository.findByRequesterIdNot(
+                                secondUser.getId(),
+                                PageRequest.of(0, 1, Sort.by(Sort.Direction.DESC, "created"))
+                        )
+                )
+                .thenReturn(List.of(paradiseRequest));
+
+        List<ItemRequestDtoWithItems> actual = itemRequestService.getAllRequests(secondUser.getId(), 0, 1,
+                Fields.parse("description", ItemRequestDtoWithItems.class));
+
+        assertEquals(paradiseRequest.getDescription(), actual.get(0).getDescription());
+        assertEquals(List.of(), actual.get(0).getItems());
+        Mockito.verifyNoInteractions(mockItemRepository);
+    }
+
     @Test
     void handleGetRequest_byDefault() {
         Mockito
@@ -0,0 +1,17 @@
+INSERT INTO users (user_id, name, email)
+VALUES (1, 'Adam', 'adam@paradise.comm');
+
+INSERT INTO users (user_id, name, email)
+VALUES (2, 'Eva', 'eva@paradise.com');
+
+INSERT INTO users (user_id, name, email)
+VALUES (3, 'Cain', 'cain@paradise.com');
+
+INSERT INTO items (item_id, name, description, available, owner_id, request_id)
+VALUES (3, 'Paradise', 'great garden without people', true, 1, null);
+
+INSERT INTO bookings (booking_id, start_date, end_date, item_id, booker_id, status)
+VALUES (7, '2030-10-19 12:30:00', '2030-10-20 13:35:00', 3, 2, 'APPROVED');
+
+INSERT INTO bookings (booking_id, start_date, end_date, item_id, booker_id, status)
+VALUES (8, '2030-10-20 12:00:00', '2030-10-21 12:00:00', 3, 3, 'WAITING');
@@ -0,0 +1,45 @@
+INSERT INTO users (user_id, name, email)
+VALUES (1, 'Adam', 'adam@paradise.com');
+
+INSERT INTO users (user_id, name, email)
+VALUES (2, 'Eva', 'eva@paradise.com');
+
+INSERT INTO users (user_id, name, email)
+VALUES (3, 'Cain', 'cain@paradise.com');
+
+INSERT INTO items (item_id, name, description, available, owner_id, request_id)
+VALUES (1, 'Spade', 'sharp spade', true, 1, null);
+
+INSERT INTO items (item_id, name, description, available, owner_id, request_id)
+VALUES (2, 'Stone', 'big flat stone', true, 1, null);
+
+INSERT INTO items (item_id, name, description, available, owner_id, request_id)
+VALUES (3, 'Fig leaf', 'fits everybody', true, 1, null);
+
+INSERT INTO bookings (booking_id, start_date, end_date, item_id, booker_id, status)
+VALUES (101, '2020-10-01 10:00:00', '2020-10-02 10:00:00', 1, 2, 'APPROVED');
+
+INSERT INTO bookings (booking_id, start_date, end_date, item_id, booker_id, status)
+VALUES (102, '2099-10-01 10:00:00', '2099-10-02 10:00:00', 1, 3, 'WAITING');
+
+INSERT INTO bookings (booking_id, start_date, end_date, item_id, booker_id, status)
+VALUES (103, '2020-10-05 10:00:00', '2020-10-06 10:00:00', 2, 2, 'APPROVED');
+
+INSERT INTO bookings (booking_id, start_date, end_date, item_id, booker_id, status)
+VALUES (104, '2021-10-01 10:00:00', '2021-10-02 10:00:00', 2, 3, 'APPROVED');
+
+INSERT INTO bookings (booking_id, start_date, end_date, item_id, booker_id, status)
+VALUES (105, '2020-11-01 10:00:00', '2020-11-02 10:00:00', 3, 2, 'APPROVED');
+
+INSERT INTO item_booking_summary (item_id,
+                                  last_booking_id, last_booker_id, last_start_date, last_end_date, last_status,
+                                  next_booking_id, next_booker_id, next_start_date, next_end_date, next_status)
+VALUES (1, 101, 2, '2020-10-01 10:00:00', '2020-10-02 10:00:00', 'APPROVED',
+        102, 3, '2099-10-01 10:00:00', '2099-10-02 10:00:00', 'WAITING');
+
+-- written before booking 104 started
+INSERT INTO item_booking_summary (item_id,
+                                  last_booking_id, last_booker_id, last_start_date, last_end_date, last_status,
+                                  next_booking_id, next_booker_id, next_start_date, next_end_date, next_status)
+VALUES (2, 103, 2, '2020-10-05 10:00:00', '2020-10-06 10:00:00', 'APPROVED',
+        104, 3, '2021-10-01 10:00:00', '2021-10-02 10:00:00', 'APPROVED');
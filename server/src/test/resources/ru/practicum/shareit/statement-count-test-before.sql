@@ -0,0 +1,80 @@
+INSERT INTO users (user_id, name, email)
+VALUES (1, 'Adam', 'adam@paradise.com');
+
+INSERT INTO users (user_id, name, email)
+VALUES (2, 'Eva', 'eva@paradise.com');
+
+INSERT INTO users (user_id, name, email)
+VALUES (3, 'Cain', 'cain@paradise.com');
+
+INSERT INTO users (user_id, name, email)
+VALUES (4, 'Abel', 'abel@paradise.com');
+
+INSERT INTO requests (request_id, description, requester_id, created)
+VALUES (1, 'something to dig with', 2, '2022-10-01 10:00:00');
+
+INSERT INTO requests (request_id, description, requester_id, created)
+VALUES (2, 'something to sit on', 3, '2022-10-02 10:00:00');
+
+INSERT INTO items (item_id, name, description, available, owner_id, request_id)
+VALUES (1, 'Spade', 'sharp spade', true, 1, 1);
+
+INSERT INTO items (item_id, name, description, available, owner_id, request_id)
+VALUES (2, 'Stone', 'big flat stone', true, 1, 2);
+
+INSERT INTO items (item_id, name, description, available, owner_id, request_id)
+VALUES (3, 'Fig leaf', 'fits everybody', true, 1, null);
+
+INSERT INTO items (item_id, name, description, available, owner_id, request_id)
+VALUES (4, 'Apple', 'do not eat', true, 2, null);
+
+INSERT INTO bookings (booking_id, start_date, end_date, item_id, booker_id, status)
+VALUES (101, '2020-10-01 10:00:00', '2020-10-02 10:00:00', 1, 2, 'APPROVED');
+
+INSERT INTO bookings (booking_id, start_date, end_date, item_id, booker_id, status)
+VALUES (102, '2020-10-03 10:00:00', '2020-10-04 10:00:00', 2, 3, 'APPROVED');
+
+INSERT INTO bookings (booking_id, start_date, end_date, item_id, booker_id, status)
+VALUES (103, '2099-10-01 10:00:00', '2099-10-02 10:00:00', 3, 4, 'WAITING');
+
+INSERT INTO bookings (booking_id, start_date, end_date, item_id, booker_id, status)
+VALUES (104, '2099-10-03 10:00:00', '2099-10-04 10:00:00', 1, 3, 'WAITING');
+
+INSERT INTO bookings (booking_id, start_date, end_date, item_id, booker_id, status)
+VALUES (105, '2020-10-05 10:00:00', '2020-10-06 10:00:00', 4, 1, 'APPROVED');
+
+INSERT INTO bookings (booking_id, start_date, end_date, item_id, booker_id, status)
+VALUES (106, '2020-10-07 10:00:00', '2099-10-07 10:00:00', 2, 4, 'APPROVED');
+
+INSERT INTO bookings (booking_id, start_date, end_date, item_id, booker_id, status)
+VALUES (107, '2099-11-01 10:00:00', '2099-11-02 10:00:00', 3, 2, 'REJECTED');
+
+INSERT INTO item_booking_summary (item_id,
+                                  last_booking_id, last_booker_id, last_start_date, last_end_date, last_status,
+                                  next_booking_id, next_booker_id, next_start_date, next_end_date, next_status)
+VALUES (1, 101, 2, '2020-10-01 10:00:00', '2020-10-02 10:00:00', 'APPROVED',
+        104, 3, '2099-10-03 10:00:00', '2099-10-04 10:00:00', 'WAITING');
+
+INSERT INTO item_booking_summary (item_id,
+                                  last_booking_id, last_booker_id, last_start_date, last_end_date, last_status,
+                                  next_booking_id, next_booker_id, next_start_date, next_end_date, next_status)
+VALUES (2, 106, 4, '2020-10-07 10:00:00', '2099-10-07 10:00:00', 'APPROVED',
+        null, null, null, null, null);
+
+INSERT INTO item_booking_summary (item_id,
+                                  last_booking_id, last_booker_id, last_start_date, last_end_date, last_status,
+                                  next_booking_id, next_booker_id, next_start_date, next_end_date, next_status)
+VALUES (3, null, null, null, null, null,
+        103, 4, '2099-10-01 10:00:00', '2099-10-02 10:00:00', 'WAITING');
+
+INSERT INTO item_booking_summary (item_id,
+                                  last_booking_id, last_booker_id, last_start_date, last_end_date, last_status,
+                                  next_booking_id, next_booker_id, next_start_date, next_end_date, next_status)
+VALUES (4, 105, 1, '2020-10-05 10:00:00', '2020-10-06 10:00:00', 'APPROVED',
+        null, null, null, null, null);
+
+INSERT INTO comments (comment_id, text, item_id, author_id, created)
+VALUES (1, 'digs well', 1, 2, '2020-10-03 10:00:00');
+
+INSERT INTO comments (comment_id, text, item_id, author_id, created)
+VALUES (2, 'too heavy', 2, 3, '2020-10-05 10:00:00');
@@ -0,0 +1,74 @@
+package ru.practicum.shareit.virtualthreads;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.reflect.InvocationTargetException;
+import java.time.Duration;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+// a virtual thread blocking inside synchronized or native code holds its carrier thread,
+// enough of those and the few carriers stall every request;
+// RecordingStream needs Java 14, so like VirtualThreads it is only reached through reflection
+@Slf4j
+public class PinnedThreadMonitor implements AutoCloseable {
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int STACK_DEPTH = 10;
+
+    private final AutoCloseable stream;
+    private final Timer pinned;
+
+    public PinnedThreadMonitor(MeterRegistry registry, Duration threshold) {
+        pinned = Timer.builder("shareit.virtual-threads.pinned")
+                .description("Virtual threads pinned to their carrier longer than the threshold")
+                .register(registry);
+        stream = openStream(threshold, this::report);
+    }
+
+    private static AutoCloseable openStream(Duration threshold, Consumer<RecordedEvent> action) {
+        try {
+            Class<?> streamType = Class.forName("jdk.jfr.consumer.RecordingStream");
+            AutoCloseable stream = (AutoCloseable) streamType.getConstructor().newInstance();
+            Class<?> settingsType = Class.forName("jdk.jfr.EventSettings");
+            Object settings = streamType.getMethod("enable", String.class).invoke(stream, PINNED_EVENT);
+            settings = settingsType.getMethod("withThreshold", Duration.class).invoke(settings, threshold);
+            settingsType.getMethod("withStackTrace").invoke(settings);
+            streamType.getMethod("onEvent", String.class, Consumer.class).invoke(stream, PINNED_EVENT, action);
+            streamType.getMethod("startAsync").invoke(stream);
+            return stream;
+        } catch (ClassNotFoundException | NoSuchMethodException | InstantiationException | IllegalAccessException
+                 | InvocationTargetException e) {
+            throw new IllegalStateException("JFR event streaming is not available on " + Runtime.version(), e);
+        }
+    }
+
+    private void report(RecordedEvent event) {
+        pinned.record(event.getDuration());
+        log.warn("Virtual thread pinned for {} ms at{}{}", event.getDuration().toMillis(),
+                System.lineSeparator(), stackOf(event));
+    }
+
+    private static String stackOf(RecordedEvent event) {
+        if (event.getStackTrace() == null) {
+            return "\t<no stack trace>";
+        }
+        return event.getStackTrace().getFrames().stream()
+                .limit(STACK_DEPTH)
+                .map(PinnedThreadMonitor::frameOf)
+                .collect(Collectors.joining(System.lineSeparator()));
+    }
+
+    private static String frameOf(RecordedFrame frame) {
+        return "\t" + frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                + ":" + frame.getLineNumber();
+    }
+
+    @Override
+    public void close() throws Exception {
+        stream.close();
+    }
+}
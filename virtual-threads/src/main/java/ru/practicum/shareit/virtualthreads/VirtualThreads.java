@@ -0,0 +1,29 @@
+package ru.practicum.shareit.virtualthreads;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// the images run Java 11, so virtual threads are looked up at runtime, they need Java 21
+public final class VirtualThreads {
+    private VirtualThreads() {
+    }
+
+    public static boolean isSupported() {
+        return Runtime.version().feature() >= 21;
+    }
+
+    public static ExecutorService newPerTaskExecutor() {
+        if (!isSupported()) {
+            throw new IllegalStateException(
+                    "shareit.virtual-threads.enabled needs Java 21 or newer, running on " + Runtime.version());
+        }
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException("Virtual threads are not available on " + Runtime.version(), e);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package ru.practicum.shareit.virtualthreads;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+
+// Tomcat hands every request to a fresh virtual thread instead of its worker pool,
+// the pools behind the requests are sized in the virtual-threads profile
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "shareit.virtual-threads.enabled", havingValue = "true")
+public class VirtualThreadsConfig {
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService requestExecutor() {
+        log.info("Handling requests on virtual threads");
+        return VirtualThreads.newPerTaskExecutor();
+    }
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandler(ExecutorService requestExecutor) {
+        return protocolHandler -> protocolHandler.setExecutor(requestExecutor);
+    }
+
+    @Bean(destroyMethod = "close")
+    public PinnedThreadMonitor pinnedThreadMonitor(
+            MeterRegistry registry,
+            @Value("${shareit.virtual-threads.pinned-threshold:20ms}") Duration threshold) {
+        return new PinnedThreadMonitor(registry, threshold);
+    }
+}
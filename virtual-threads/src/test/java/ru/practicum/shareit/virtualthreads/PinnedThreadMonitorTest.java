@@ -0,0 +1,22 @@
+package ru.practicum.shareit.virtualthreads;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+class PinnedThreadMonitorTest {
+    @Test
+    void handleOpenAndClose() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+        try (PinnedThreadMonitor monitor = new PinnedThreadMonitor(registry, Duration.ofMillis(20))) {
+            assertNotNull(monitor);
+        }
+
+        assertEquals(0, registry.get("shareit.virtual-threads.pinned").timer().count());
+    }
+}
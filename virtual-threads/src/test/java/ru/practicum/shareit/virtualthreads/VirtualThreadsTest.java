@@ -0,0 +1,33 @@
+package ru.practicum.shareit.virtualthreads;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class VirtualThreadsTest {
+    @Test
+    void handleNewPerTaskExecutor() throws Exception {
+        assumeTrue(VirtualThreads.isSupported());
+        ExecutorService executor = VirtualThreads.newPerTaskExecutor();
+
+        boolean virtual = executor.submit(() -> (Boolean) Thread.class.getMethod("isVirtual")
+                .invoke(Thread.currentThread())).get();
+
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(1, TimeUnit.SECONDS));
+        assertTrue(virtual);
+    }
+
+    @Test
+    void handleNewPerTaskExecutor_unsupportedRuntime() {
+        assumeFalse(VirtualThreads.isSupported());
+
+        IllegalStateException e = assertThrows(IllegalStateException.class, VirtualThreads::newPerTaskExecutor);
+        assertTrue(e.getMessage().contains("Java 21"));
+    }
+}